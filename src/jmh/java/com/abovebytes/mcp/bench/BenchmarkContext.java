@@ -0,0 +1,52 @@
+package com.abovebytes.mcp.bench;
+
+import com.abovebytes.mcp.McpServerApplication;
+import com.abovebytes.mcp.search.CourseSearchIndex;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Starts the application against an in-memory H2 database (MySQL mode) with the MCP transport
+ * disabled, seeds it and waits for the search index. One context per JMH fork.
+ */
+public final class BenchmarkContext {
+
+    public static final int COURSES = Integer.getInteger("bench.courses", 100_000);
+    public static final int USERS = Integer.getInteger("bench.users", 50_000);
+    public static final int ENROLLMENTS = Integer.getInteger("bench.enrollments", 1_000_000);
+
+    private static ConfigurableApplicationContext context;
+
+    private BenchmarkContext() {
+    }
+
+    public static synchronized ConfigurableApplicationContext get() throws InterruptedException {
+        if (context == null) {
+            context = new SpringApplicationBuilder(McpServerApplication.class)
+                    .web(WebApplicationType.NONE)
+                    .properties(
+                            "spring.datasource.url=jdbc:h2:mem:bench;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                            "spring.datasource.username=sa",
+                            "spring.datasource.password=",
+                            "spring.jpa.hibernate.ddl-auto=create",
+                            "spring.ai.mcp.server.enabled=false",
+                            "mcp.audit.enabled=false",
+                            "logging.level.root=WARN")
+                    .run();
+            long start = System.nanoTime();
+            new BenchmarkDataSeeder(context.getBean(JdbcTemplate.class)).seed(COURSES, USERS, ENROLLMENTS);
+            System.out.printf("Seeded %d courses, %d users, %d enrollments in %d ms%n",
+                    COURSES, USERS, ENROLLMENTS, (System.nanoTime() - start) / 1_000_000);
+
+            // The startup build may have run before seeding; keep asking until one sees every course
+            CourseSearchIndex searchIndex = context.getBean(CourseSearchIndex.class);
+            while (!searchIndex.isReady() || searchIndex.size() < COURSES) {
+                searchIndex.rebuildAsync();
+                Thread.sleep(100);
+            }
+        }
+        return context;
+    }
+}
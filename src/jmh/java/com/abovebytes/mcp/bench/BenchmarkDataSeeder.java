@@ -0,0 +1,114 @@
+package com.abovebytes.mcp.bench;
+
+import com.abovebytes.mcp.models.Level;
+import com.abovebytes.mcp.models.Provider;
+import com.abovebytes.mcp.models.RoleValue;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Seeds the benchmark database with deterministic, realistically shaped data through JDBC batches.
+ * Course {@code i} is titled "Course i ..." and user {@code i} has email "user{i}@bench.local" so
+ * benchmarks can pick existing keys without querying.
+ */
+public class BenchmarkDataSeeder {
+
+    static final String[] WORDS = {
+            "java", "spring", "boot", "python", "data", "science", "machine", "learning", "cloud", "kubernetes",
+            "docker", "react", "angular", "typescript", "sql", "database", "security", "network", "linux", "devops",
+            "testing", "architecture", "microservices", "design", "patterns", "algorithms", "structures", "golang",
+            "rust", "performance", "concurrency", "streams", "analytics", "statistics", "visualization", "mobile",
+            "android", "kotlin", "swift", "web", "api", "graphql", "rest", "messaging", "kafka", "observability"};
+
+    private static final int BATCH = 5_000;
+
+    private final JdbcTemplate jdbc;
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    public BenchmarkDataSeeder(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    public void seed(int courses, int users, int enrollments) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        insertCourses(courses, now);
+        insertUsers(users, now);
+        insertEnrollments(enrollments, courses, users, now);
+    }
+
+    public static String title(int i) {
+        return "Course " + i + " " + WORDS[i % WORDS.length] + " " + WORDS[(i / WORDS.length) % WORDS.length];
+    }
+
+    public static String email(int i) {
+        return "user" + i + "@bench.local";
+    }
+
+    private void insertCourses(int count, Timestamp now) {
+        String sql = "INSERT INTO course (course_name, course_name_key, course_url, description, provider, language, level,"
+                + " duration_minutes, rating, active, deleted, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        Provider[] providers = Provider.values();
+        Level[] levels = Level.values();
+        String[] languages = {"en", "fr", "es", "de"};
+        List<Object[]> batch = new ArrayList<>(BATCH);
+        for (int i = 1; i <= count; i++) {
+            String title = title(i);
+            batch.add(new Object[]{title, title.toLowerCase(Locale.ROOT), "https://courses.abovebytes.com/bench-" + i,
+                    description(), providers[i % providers.length].name(), languages[i % languages.length],
+                    levels[i % levels.length].name(), 30 + random.nextInt(330), 1.0 + random.nextInt(41) / 10.0,
+                    i % 10 != 0, false, now});
+            if (batch.size() == BATCH) {
+                jdbc.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) jdbc.batchUpdate(sql, batch);
+    }
+
+    private void insertUsers(int count, Timestamp now) {
+        String sql = "INSERT INTO app_user (full_name, email, email_key, role, active, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+        List<Object[]> batch = new ArrayList<>(BATCH);
+        for (int i = 1; i <= count; i++) {
+            // One instructor for every 20 users
+            RoleValue role = i % 20 == 0 ? RoleValue.INSTRUCTOR : RoleValue.STUDENT;
+            batch.add(new Object[]{"Bench User " + i, email(i), email(i), role.name(), true, now});
+            if (batch.size() == BATCH) {
+                jdbc.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) jdbc.batchUpdate(sql, batch);
+    }
+
+    private void insertEnrollments(int count, int courses, int users, Timestamp now) {
+        String sql = "INSERT INTO enrollments (student_id, teacher_id, course_id, enrolled_at, active) VALUES (?, ?, ?, ?, ?)";
+        List<Object[]> batch = new ArrayList<>(BATCH);
+        for (int i = 0; i < count; i++) {
+            long student = 1 + random.nextInt(users);
+            long teacher = 20L * (1 + random.nextInt(Math.max(1, users / 20)));
+            long course = 1 + random.nextInt(courses);
+            batch.add(new Object[]{student, teacher, course, now, true});
+            if (batch.size() == BATCH) {
+                jdbc.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) jdbc.batchUpdate(sql, batch);
+    }
+
+    private String description() {
+        int words = 40 + random.nextInt(160);
+        StringBuilder sb = new StringBuilder(words * 8);
+        for (int w = 0; w < words; w++) {
+            if (w > 0) sb.append(' ');
+            sb.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return sb.toString();
+    }
+}
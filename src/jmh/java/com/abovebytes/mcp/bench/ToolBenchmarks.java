@@ -0,0 +1,194 @@
+package com.abovebytes.mcp.bench;
+
+import com.abovebytes.mcp.entities.Course;
+import com.abovebytes.mcp.entities.User;
+import com.abovebytes.mcp.models.CourseDto;
+import com.abovebytes.mcp.models.CourseSearchHit;
+import com.abovebytes.mcp.models.CursorPage;
+import com.abovebytes.mcp.models.EnrollmentView;
+import com.abovebytes.mcp.models.Provider;
+import com.abovebytes.mcp.repositories.CourseRepository;
+import com.abovebytes.mcp.repositories.UserRepository;
+import com.abovebytes.mcp.services.CourseService;
+import com.abovebytes.mcp.services.EnrollmentService;
+import com.abovebytes.mcp.services.UserService;
+import com.abovebytes.mcp.utils.CursorUtils;
+import com.abovebytes.mcp.utils.KeyUtils;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tool methods called directly on the service beans (no MCP transport), plus the raw repository
+ * lookups behind them and JSON serialization of typical results.
+ * Run with {@code -prof gc} (the default in the benchmark profile) to get allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ToolBenchmarks {
+
+    /** Keys an agent keeps asking about within one conversation. */
+    private static final int HOT_KEYS = 100;
+
+    private static final AtomicLong ADDED = new AtomicLong();
+
+    private CourseService courseService;
+    private UserService userService;
+    private EnrollmentService enrollmentService;
+    private CourseRepository courseRepository;
+    private UserRepository userRepository;
+    private ObjectMapper objectMapper;
+
+    private CursorPage<Course> coursePage;
+    private CursorPage<EnrollmentView> enrollmentPage;
+
+    @State(Scope.Thread)
+    public static class Keys {
+        final SplittableRandom random = new SplittableRandom();
+
+        int anyCourse() {
+            return 1 + random.nextInt(BenchmarkContext.COURSES);
+        }
+
+        int hotCourse() {
+            return 1 + random.nextInt(HOT_KEYS);
+        }
+
+        int anyUser() {
+            return 1 + random.nextInt(BenchmarkContext.USERS);
+        }
+
+        int hotUser() {
+            return 1 + random.nextInt(HOT_KEYS);
+        }
+    }
+
+    @Setup
+    public void setUp() throws InterruptedException {
+        ConfigurableApplicationContext context = BenchmarkContext.get();
+        courseService = context.getBean(CourseService.class);
+        userService = context.getBean(UserService.class);
+        enrollmentService = context.getBean(EnrollmentService.class);
+        courseRepository = context.getBean(CourseRepository.class);
+        userRepository = context.getBean(UserRepository.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+        coursePage = CursorUtils.page(courseRepository.findByCourseIdGreaterThanOrderByCourseIdAsc(0L, CursorUtils.limit(50)), 50, Course::getCourseId);
+        enrollmentPage = enrollmentService.listEnrollmentsTool(null, 50);
+    }
+
+    /* =============================
+       POINT LOOKUPS
+       ============================= */
+
+    @Benchmark
+    public String courseByTitleCached(Keys keys) {
+        return courseService.getCourseByTitleTool(BenchmarkDataSeeder.title(keys.hotCourse()), null, null);
+    }
+
+    @Benchmark
+    public Optional<Course> courseByTitleRepository(Keys keys) {
+        return courseRepository.findByCourseNameKeyAndDeletedFalse(KeyUtils.normalize(BenchmarkDataSeeder.title(keys.anyCourse())));
+    }
+
+    @Benchmark
+    public String userByEmailCached(Keys keys) {
+        return userService.getUserByEmailTool(BenchmarkDataSeeder.email(keys.hotUser()), null);
+    }
+
+    @Benchmark
+    public Optional<User> userByEmailRepository(Keys keys) {
+        return userRepository.findByEmailKey(BenchmarkDataSeeder.email(keys.anyUser()));
+    }
+
+    /* =============================
+       SEARCH AND LISTS
+       ============================= */
+
+    @Benchmark
+    public List<CourseSearchHit> searchByDescription(Keys keys) {
+        String[] words = BenchmarkDataSeeder.WORDS;
+        return courseService.searchByDescriptionTool(words[keys.random.nextInt(words.length)] + " "
+                + words[keys.random.nextInt(words.length)], 10, null, null);
+    }
+
+    @Benchmark
+    public String listCoursesFirstPage() {
+        return courseService.listCoursesTool(null, 50, null, null);
+    }
+
+    @Benchmark
+    public String listCoursesFirstPageProjected() {
+        return courseService.listCoursesTool(null, 50, List.of("courseId", "courseName"), null);
+    }
+
+    @Benchmark
+    public CursorPage<CourseDto> listCoursesCompactFirstPage() {
+        return courseService.listCoursesCompactTool(null, 50);
+    }
+
+    @Benchmark
+    public CursorPage<EnrollmentView> enrollmentsByStudent(Keys keys) {
+        return enrollmentService.getByStudentTool(BenchmarkDataSeeder.email(keys.anyUser()), null, 50);
+    }
+
+    @Benchmark
+    public CursorPage<EnrollmentView> enrollmentsByCourse(Keys keys) {
+        return enrollmentService.getByCourseTool(BenchmarkDataSeeder.title(keys.anyCourse()), null, 50);
+    }
+
+    /* =============================
+       WRITES
+       ============================= */
+
+    @Benchmark
+    public Course addCourse() {
+        return courseService.addCourse("Bench added " + ADDED.incrementAndGet(), "benchmark course",
+                Provider.Udemy, com.abovebytes.mcp.models.Level.Beginner);
+    }
+
+    @Benchmark
+    public Object addCourseDuplicate(Keys keys) {
+        int i = keys.anyCourse();
+        Provider provider = Provider.values()[i % Provider.values().length];
+        com.abovebytes.mcp.models.Level level = com.abovebytes.mcp.models.Level.values()[i % com.abovebytes.mcp.models.Level.values().length];
+        try {
+            return courseService.addCourse(BenchmarkDataSeeder.title(i), "duplicate", provider, level);
+        } catch (IllegalStateException expected) {
+            return expected;
+        }
+    }
+
+    /* =============================
+       SERIALIZATION
+       ============================= */
+
+    @Benchmark
+    public byte[] serializeCoursePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(coursePage);
+    }
+
+    @Benchmark
+    public byte[] serializeEnrollmentPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(enrollmentPage);
+    }
+}
@@ -0,0 +1,221 @@
+package com.abovebytes.mcp.loadtest;
+
+import com.abovebytes.mcp.client.McpClients;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.modelcontextprotocol.client.McpSyncClient;
+import io.modelcontextprotocol.spec.McpSchema;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * End-to-end MCP load generator. Drives {@code tools/call} against a server spawned over STDIO
+ * ({@code --jar}) or already running with the "http" profile ({@code --url}).
+ * <pre>
+ * --jar=target/local-mcp-server.jar | --url=http://localhost:8080 [--clients=4] [--pid=1234]
+ * --concurrency=16          workers issuing calls (closed loop unless --rate is given)
+ * --rate=500                target calls/s across all workers (open loop)
+ * --duration=60s --warmup=10s
+ * --mix=courses_get_by_title:80,courses_search_by_description:10,enrollments_by_student:5,courses_add:5
+ * --out=target/loadtest-result.json
+ * </pre>
+ * The leading {@code --} is optional, which keeps the options usable from {@code -Dexec.args}.
+ * With {@code --rate}, latency is measured from each call's scheduled start so queueing behind a
+ * slow server is reported instead of hidden (no coordinated omission).
+ * STDIO sessions process one request at a time, so every client there is its own server process
+ * unless {@code --clients=1}; over HTTP clients share one server and workers share the clients.
+ */
+public class LoadGenerator {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    public static void main(String[] argv) throws Exception {
+        Map<String, String> options = parse(argv);
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "8"));
+        int clientCount = Integer.parseInt(options.getOrDefault("clients", options.containsKey("url") ? "4" : "1"));
+        double rate = Double.parseDouble(options.getOrDefault("rate", "0"));
+        Duration duration = duration(options.getOrDefault("duration", "60s"));
+        Duration warmup = duration(options.getOrDefault("warmup", "10s"));
+        String mixSpec = options.getOrDefault("mix", ToolMix.DEFAULT_MIX);
+        Path out = Path.of(options.getOrDefault("out", "target/loadtest-result.json"));
+
+        List<McpSyncClient> clients = new ArrayList<>();
+        for (int i = 0; i < clientCount; i++) {
+            clients.add(options.containsKey("url")
+                    ? McpClients.http(options.get("url"))
+                    : McpClients.stdio(require(options, "jar"), List.of(), List.of()));
+        }
+        Long pid = options.containsKey("pid")
+                ? Long.valueOf(options.get("pid"))
+                : RssSampler.findSpawnedServer().orElse(null);
+
+        ToolMix mix = new ToolMix(mixSpec, discover(clients.get(0), "courses_list", "courseName"),
+                discover(clients.get(0), "users_list", "email"));
+        System.out.printf("Mix %s, %d workers, %d clients, rate %s, %s + %s warm-up%n",
+                mix.tools(), concurrency, clientCount, rate > 0 ? rate + "/s" : "unbounded", duration, warmup);
+
+        Report report = new Report();
+        RssSampler rss = pid != null ? new RssSampler(pid) : null;
+        long start = System.nanoTime();
+        long warmupEnd = start + warmup.toNanos();
+        long end = warmupEnd + duration.toNanos();
+        AtomicLong ticket = new AtomicLong();
+        long intervalNanos = rate > 0 ? (long) (1_000_000_000L / rate) : 0;
+
+        CountDownLatch done = new CountDownLatch(concurrency);
+        for (int w = 0; w < concurrency; w++) {
+            McpSyncClient client = clients.get(w % clients.size());
+            SplittableRandom random = new SplittableRandom(w);
+            Thread worker = new Thread(() -> {
+                try {
+                    runWorker(client, mix, random, report, start, end, intervalNanos, ticket);
+                } finally {
+                    done.countDown();
+                }
+            }, "load-" + w);
+            worker.setDaemon(true);
+            worker.start();
+        }
+
+        long now;
+        while ((now = System.nanoTime()) < warmupEnd) {
+            TimeUnit.NANOSECONDS.sleep(warmupEnd - now);
+        }
+        report.reset();
+        long measuredStart = System.nanoTime();
+        done.await();
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - measuredStart);
+
+        Map<String, Object> config = new LinkedHashMap<>(options);
+        config.put("mix", mixSpec);
+        Map<String, Object> result = report.toMap(config, elapsedMillis, rss != null ? rss.samples() : List.of());
+        if (rss != null) {
+            rss.close();
+        }
+        if (out.getParent() != null) {
+            Files.createDirectories(out.getParent());
+        }
+        MAPPER.writeValue(out.toFile(), result);
+        System.out.println(MAPPER.writeValueAsString(result.get("overall")));
+        System.out.printf("Full report written to %s%n", out);
+
+        clients.forEach(McpSyncClient::closeGracefully);
+    }
+
+    private static void runWorker(McpSyncClient client, ToolMix mix, SplittableRandom random, Report report,
+                                  long start, long end, long intervalNanos, AtomicLong ticket) {
+        while (true) {
+            long intended;
+            if (intervalNanos > 0) {
+                intended = start + ticket.getAndIncrement() * intervalNanos;
+                if (intended >= end) {
+                    return;
+                }
+                long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    try {
+                        TimeUnit.NANOSECONDS.sleep(wait);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            } else {
+                intended = System.nanoTime();
+                if (intended >= end) {
+                    return;
+                }
+            }
+            String tool = mix.next(random);
+            boolean failed;
+            try {
+                McpSchema.CallToolResult result = client.callTool(
+                        new McpSchema.CallToolRequest(tool, mix.arguments(tool, random)));
+                failed = Boolean.TRUE.equals(result.isError());
+            } catch (RuntimeException e) {
+                failed = true;
+            }
+            report.record(tool, System.nanoTime() - intended, failed);
+        }
+    }
+
+    /**
+     * Read up to a few pages of a keyset-paginated list tool and collect one field from each item,
+     * so generated lookups target rows that exist.
+     */
+    private static List<String> discover(McpSyncClient client, String tool, String field) {
+        List<String> values = new ArrayList<>();
+        String cursor = null;
+        for (int page = 0; page < 10; page++) {
+            Map<String, Object> args = new HashMap<>();
+            args.put("pageSize", 200);
+            if (cursor != null) {
+                args.put("cursor", cursor);
+            }
+            McpSchema.CallToolResult result = client.callTool(new McpSchema.CallToolRequest(tool, args));
+            if (Boolean.TRUE.equals(result.isError()) || result.content().isEmpty()
+                    || !(result.content().get(0) instanceof McpSchema.TextContent text)) {
+                break;
+            }
+            try {
+                JsonNode body = MAPPER.readTree(text.text());
+                body.path("items").forEach(item -> {
+                    if (item.hasNonNull(field)) {
+                        values.add(item.get(field).asText());
+                    }
+                });
+                cursor = body.path("nextCursor").isTextual() ? body.get("nextCursor").asText() : null;
+            } catch (Exception e) {
+                break;
+            }
+            if (cursor == null) {
+                break;
+            }
+        }
+        return values;
+    }
+
+    static Duration duration(String value) {
+        String v = value.trim().toLowerCase();
+        if (v.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(v.substring(0, v.length() - 2)));
+        }
+        if (v.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(v.substring(0, v.length() - 1)));
+        }
+        if (v.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(v.substring(0, v.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(v));
+    }
+
+    static Map<String, String> parse(String[] argv) {
+        Map<String, String> options = new LinkedHashMap<>();
+        Arrays.stream(argv)
+                .map(a -> a.startsWith("--") ? a.substring(2) : a)
+                .filter(a -> a.contains("="))
+                .forEach(a -> options.put(a.substring(0, a.indexOf('=')), a.substring(a.indexOf('=') + 1)));
+        return options;
+    }
+
+    static String require(Map<String, String> options, String key) {
+        String value = options.get(key);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing --" + key + "=...");
+        }
+        return value;
+    }
+}
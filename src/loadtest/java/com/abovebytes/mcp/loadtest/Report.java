@@ -0,0 +1,72 @@
+package com.abovebytes.mcp.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-tool latency histograms (microseconds, 3 significant digits) and error counts for a run,
+ * rendered as a JSON-friendly map.
+ */
+class Report {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final Map<String, Recorder> recorders = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+    private final Map<String, Histogram> totals = new ConcurrentHashMap<>();
+
+    void record(String tool, long latencyNanos, boolean failed) {
+        long micros = Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_TRACKABLE_MICROS);
+        recorders.computeIfAbsent(tool, t -> new Recorder(HIGHEST_TRACKABLE_MICROS, 3)).recordValue(micros);
+        if (failed) {
+            errors.computeIfAbsent(tool, t -> new LongAdder()).increment();
+        }
+    }
+
+    /**
+     * Drop everything recorded so far (end of the warm-up period).
+     */
+    void reset() {
+        recorders.values().forEach(Recorder::reset);
+        errors.clear();
+    }
+
+    Map<String, Object> toMap(Map<String, Object> config, long elapsedMillis, List<RssSampler.Sample> rss) {
+        Histogram all = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+        Map<String, Object> tools = new LinkedHashMap<>();
+        recorders.forEach((tool, recorder) -> {
+            Histogram h = totals.computeIfAbsent(tool, t -> new Histogram(HIGHEST_TRACKABLE_MICROS, 3));
+            h.add(recorder.getIntervalHistogram());
+            all.add(h);
+            tools.put(tool, summary(h, errors.getOrDefault(tool, new LongAdder()).sum(), elapsedMillis));
+        });
+        long totalErrors = errors.values().stream().mapToLong(LongAdder::sum).sum();
+
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("config", config);
+        out.put("elapsedMillis", elapsedMillis);
+        out.put("overall", summary(all, totalErrors, elapsedMillis));
+        out.put("tools", tools);
+        out.put("rssKb", rss);
+        return out;
+    }
+
+    private static Map<String, Object> summary(Histogram h, long errorCount, long elapsedMillis) {
+        Map<String, Object> s = new LinkedHashMap<>();
+        s.put("calls", h.getTotalCount());
+        s.put("errors", errorCount);
+        s.put("throughputPerSec", elapsedMillis == 0 ? 0 : h.getTotalCount() * 1000.0 / elapsedMillis);
+        s.put("p50Ms", h.getValueAtPercentile(50) / 1000.0);
+        s.put("p99Ms", h.getValueAtPercentile(99) / 1000.0);
+        s.put("p999Ms", h.getValueAtPercentile(99.9) / 1000.0);
+        s.put("maxMs", h.getMaxValue() / 1000.0);
+        return s;
+    }
+}
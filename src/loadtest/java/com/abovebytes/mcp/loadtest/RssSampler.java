@@ -0,0 +1,82 @@
+package com.abovebytes.mcp.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Samples the resident set size of the server process once a second,
+ * from /proc on Linux and through {@code ps} elsewhere.
+ */
+class RssSampler implements AutoCloseable {
+
+    record Sample(long elapsedMillis, long rssKb) {
+    }
+
+    private final long pid;
+    private final long start = System.currentTimeMillis();
+    private final List<Sample> samples = new ArrayList<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "rss-sampler");
+        t.setDaemon(true);
+        return t;
+    });
+
+    RssSampler(long pid) {
+        this.pid = pid;
+        scheduler.scheduleAtFixedRate(this::sample, 0, 1, TimeUnit.SECONDS);
+    }
+
+    /**
+     * The java process spawned by the STDIO transport is the only java child of this JVM.
+     */
+    static Optional<Long> findSpawnedServer() {
+        return ProcessHandle.current().children()
+                .filter(p -> p.info().command().map(c -> c.endsWith("java")).orElse(false))
+                .map(ProcessHandle::pid)
+                .findFirst();
+    }
+
+    synchronized List<Sample> samples() {
+        return List.copyOf(samples);
+    }
+
+    private void sample() {
+        long rss = readRssKb();
+        if (rss >= 0) {
+            synchronized (this) {
+                samples.add(new Sample(System.currentTimeMillis() - start, rss));
+            }
+        }
+    }
+
+    private long readRssKb() {
+        Path status = Path.of("/proc", Long.toString(pid), "status");
+        try {
+            if (Files.exists(status)) {
+                for (String line : Files.readAllLines(status)) {
+                    if (line.startsWith("VmRSS:")) {
+                        return Long.parseLong(line.replaceAll("[^0-9]", ""));
+                    }
+                }
+                return -1;
+            }
+            Process ps = new ProcessBuilder("ps", "-o", "rss=", "-p", Long.toString(pid)).start();
+            String out = new String(ps.getInputStream().readAllBytes()).trim();
+            return out.isEmpty() ? -1 : Long.parseLong(out);
+        } catch (IOException | NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
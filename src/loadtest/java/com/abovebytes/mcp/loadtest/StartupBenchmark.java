@@ -0,0 +1,95 @@
+package com.abovebytes.mcp.loadtest;
+
+import com.abovebytes.mcp.client.McpClients;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.modelcontextprotocol.client.McpSyncClient;
+import io.modelcontextprotocol.spec.McpSchema;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cold-start benchmark for the STDIO server: spawns the jar the way an MCP client does, once per run,
+ * and measures the time from process start to the {@code initialize} response and to the first
+ * {@code tools/list} response.
+ * <pre>
+ * --jar=target/local-mcp-server.jar [--runs=10]
+ * --jvm="-XX:SharedArchiveFile=target/cds/application.jsa"   JVM options, space separated
+ * --args="--spring.profiles.active=fast"                     server arguments, space separated
+ * --out=target/startup-result.json
+ * </pre>
+ * Run it once per configuration (plain, fast profile, fast profile plus the AppCDS archive) and compare.
+ */
+public class StartupBenchmark {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    public static void main(String[] argv) throws Exception {
+        Map<String, String> options = LoadGenerator.parse(argv);
+        String jar = LoadGenerator.require(options, "jar");
+        int runs = Integer.parseInt(options.getOrDefault("runs", "10"));
+        List<String> jvmArgs = split(options.get("jvm"));
+        List<String> serverArgs = split(options.get("args"));
+        Path out = Path.of(options.getOrDefault("out", "target/startup-result.json"));
+
+        long[] initialize = new long[runs];
+        long[] firstToolsList = new long[runs];
+        int tools = 0;
+        for (int run = 0; run < runs; run++) {
+            long start = System.nanoTime();
+            McpSyncClient client = McpClients.stdio(jar, jvmArgs, serverArgs);
+            initialize[run] = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            McpSchema.ListToolsResult result = client.listTools();
+            firstToolsList[run] = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            tools = result.tools().size();
+            client.closeGracefully();
+            System.out.printf("Run %d: initialize %d ms, first tools/list %d ms (%d tools)%n",
+                    run + 1, initialize[run], firstToolsList[run], tools);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("config", options);
+        result.put("tools", tools);
+        result.put("initializeMs", summary(initialize));
+        result.put("firstToolsListMs", summary(firstToolsList));
+        if (out.getParent() != null) {
+            Files.createDirectories(out.getParent());
+        }
+        MAPPER.writeValue(out.toFile(), result);
+        System.out.println(MAPPER.writeValueAsString(result));
+    }
+
+    private static Map<String, Long> summary(long[] millis) {
+        long[] sorted = millis.clone();
+        Arrays.sort(sorted);
+        Map<String, Long> summary = new LinkedHashMap<>();
+        summary.put("min", sorted[0]);
+        summary.put("p50", percentile(sorted, 0.50));
+        summary.put("p90", percentile(sorted, 0.90));
+        summary.put("max", sorted[sorted.length - 1]);
+        return summary;
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1)];
+    }
+
+    private static List<String> split(String value) {
+        List<String> parts = new ArrayList<>();
+        if (value != null) {
+            for (String part : value.trim().split("\\s+")) {
+                if (!part.isEmpty()) {
+                    parts.add(part);
+                }
+            }
+        }
+        return parts;
+    }
+}
@@ -0,0 +1,85 @@
+package com.abovebytes.mcp.loadtest;
+
+import com.abovebytes.mcp.models.Level;
+import com.abovebytes.mcp.models.Provider;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Weighted mix of tool calls, e.g. {@code courses_get_by_title:80,courses_search_by_description:10,...},
+ * and the arguments each call is sent with. Keys are drawn from titles and emails discovered on the
+ * server before the run so lookups hit existing rows.
+ */
+class ToolMix {
+
+    static final String DEFAULT_MIX =
+            "courses_get_by_title:80,courses_search_by_description:10,enrollments_by_student:5,courses_add:5";
+
+    private static final String[] SEARCH_TERMS = {"java", "spring", "python", "data", "cloud", "security", "web", "api"};
+    private static final AtomicLong WRITES = new AtomicLong();
+
+    private final List<String> tools = new ArrayList<>();
+    private final int[] cumulativeWeights;
+    private final List<String> titles;
+    private final List<String> emails;
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+
+    ToolMix(String spec, List<String> titles, List<String> emails) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String part : spec.split(",")) {
+            String[] kv = part.trim().split(":");
+            weights.put(kv[0], kv.length > 1 ? Integer.parseInt(kv[1]) : 1);
+        }
+        cumulativeWeights = new int[weights.size()];
+        int total = 0;
+        int i = 0;
+        for (Map.Entry<String, Integer> e : weights.entrySet()) {
+            tools.add(e.getKey());
+            total += e.getValue();
+            cumulativeWeights[i++] = total;
+        }
+        this.titles = titles.isEmpty() ? List.of("MCP Internals") : titles;
+        this.emails = emails.isEmpty() ? List.of("nobody@example.com") : emails;
+    }
+
+    List<String> tools() {
+        return tools;
+    }
+
+    String next(SplittableRandom random) {
+        int r = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (r < cumulativeWeights[i]) {
+                return tools.get(i);
+            }
+        }
+        return tools.get(tools.size() - 1);
+    }
+
+    Map<String, Object> arguments(String tool, SplittableRandom random) {
+        return switch (tool) {
+            case "courses_get_by_title" -> Map.of("title", pick(titles, random));
+            case "courses_search_by_description" -> Map.of("text", SEARCH_TERMS[random.nextInt(SEARCH_TERMS.length)], "topK", 10);
+            case "enrollments_by_student", "enrollments_by_teacher" -> Map.of(
+                    tool.endsWith("student") ? "studentEmail" : "teacherEmail", pick(emails, random));
+            case "enrollments_by_course" -> Map.of("courseTitle", pick(titles, random));
+            case "users_get_by_email" -> Map.of("email", pick(emails, random));
+            case "courses_add" -> Map.of(
+                    "title", "Load " + runId + " " + WRITES.incrementAndGet(),
+                    "description", "Course created by the MCP load generator",
+                    "provider", Provider.values()[random.nextInt(Provider.values().length)].name(),
+                    "level", Level.values()[random.nextInt(Level.values().length)].name());
+            case "courses_list", "users_list", "enrollments_list" -> Map.of("pageSize", 50);
+            default -> Map.of();
+        };
+    }
+
+    private static String pick(List<String> values, SplittableRandom random) {
+        return values.get(random.nextInt(values.size()));
+    }
+}
@@ -0,0 +1,57 @@
+package com.abovebytes.mcp.audit;
+
+import com.abovebytes.mcp.metrics.ToolMetricsAspect;
+import com.abovebytes.mcp.utils.McpSessionUtils;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Hands every tool and prompt invocation to {@link AuditLog}. Only references are captured on the
+ * calling thread; serialization happens on the audit writer thread.
+ */
+@Aspect
+@Component
+@Order(ToolMetricsAspect.ORDER - 10)
+public class AuditAspect {
+
+    private final AuditLog auditLog;
+
+    public AuditAspect(AuditLog auditLog) {
+        this.auditLog = auditLog;
+    }
+
+    @Around("@annotation(org.springaicommunity.mcp.annotation.McpTool) || @annotation(org.springaicommunity.mcp.annotation.McpPrompt)")
+    public Object audit(ProceedingJoinPoint pjp) throws Throwable {
+        long ts = System.currentTimeMillis();
+        long start = System.nanoTime();
+        String error = null;
+        try {
+            return pjp.proceed();
+        } catch (Throwable t) {
+            error = t.getMessage() == null ? t.getClass().getSimpleName() : t.getMessage();
+            throw t;
+        } finally {
+            auditLog.offer(new AuditEvent(ts, McpSessionUtils.currentSessionId(), ToolMetricsAspect.toolName(pjp),
+                    arguments(pjp), (System.nanoTime() - start) / 1_000, error == null ? "ok" : "error", error));
+        }
+    }
+
+    private static Map<String, Object> arguments(ProceedingJoinPoint pjp) {
+        String[] names = ((MethodSignature) pjp.getSignature()).getParameterNames();
+        Object[] values = pjp.getArgs();
+        Map<String, Object> args = new LinkedHashMap<>();
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                args.put(names != null ? names[i] : "arg" + i, values[i]);
+            }
+        }
+        return args;
+    }
+}
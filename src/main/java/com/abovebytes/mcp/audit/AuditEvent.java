@@ -0,0 +1,23 @@
+package com.abovebytes.mcp.audit;
+
+import java.util.Map;
+
+/**
+ * One tool invocation as written to the audit log (one NDJSON line).
+ *
+ * @param ts             epoch millis when the call started
+ * @param session        MCP session the call belongs to ("stdio" for a STDIO server)
+ * @param tool           tool or prompt name
+ * @param args           arguments by parameter name
+ * @param durationMicros wall time of the call
+ * @param outcome        "ok" or "error"
+ * @param error          exception message when outcome is "error"
+ */
+public record AuditEvent(long ts,
+                         String session,
+                         String tool,
+                         Map<String, Object> args,
+                         long durationMicros,
+                         String outcome,
+                         String error) {
+}
@@ -0,0 +1,141 @@
+package com.abovebytes.mcp.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Append-only NDJSON audit log of tool invocations.
+ * <p>
+ * Callers only {@link #offer(AuditEvent)} into a fixed-size ring buffer; a single background thread
+ * drains it in batches, serializes and writes. Nothing on the request path touches the disk or blocks:
+ * when the buffer is full the event is dropped and counted in {@link #dropped()}.
+ */
+@Component
+public class AuditLog {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditLog.class);
+    private static final int BATCH = 512;
+
+    private final boolean enabled;
+    private final Path directory;
+    private final ArrayBlockingQueue<AuditEvent> buffer;
+    private final ObjectMapper objectMapper;
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+
+    private volatile boolean running;
+    private Thread writer;
+    private Path file;
+
+    public AuditLog(@Value("${mcp.audit.enabled:true}") boolean enabled,
+                    @Value("${mcp.audit.directory:${java.io.tmpdir}/mcp-audit}") Path directory,
+                    @Value("${mcp.audit.buffer-size:8192}") int bufferSize,
+                    ObjectMapper objectMapper) {
+        this.enabled = enabled;
+        this.directory = directory;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        this.objectMapper = objectMapper;
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        Files.createDirectories(directory);
+        String stamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        file = directory.resolve("audit-" + stamp + "-" + ProcessHandle.current().pid() + ".ndjson");
+        running = true;
+        writer = new Thread(this::drainLoop, "mcp-audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+        log.info("Audit log: {}", file);
+    }
+
+    public boolean offer(AuditEvent event) {
+        if (!running) {
+            return false;
+        }
+        if (!buffer.offer(event)) {
+            dropped.incrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    public long dropped() {
+        return dropped.get();
+    }
+
+    public long written() {
+        return written.get();
+    }
+
+    public Path file() {
+        return file;
+    }
+
+    private void drainLoop() {
+        List<AuditEvent> batch = new ArrayList<>(BATCH);
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND), 64 * 1024)) {
+            while (running || !buffer.isEmpty()) {
+                AuditEvent first = buffer.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                buffer.drainTo(batch, BATCH - 1);
+                for (AuditEvent event : batch) {
+                    write(out, event);
+                }
+                out.flush();
+                written.addAndGet(batch.size());
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            log.warn("Audit log writer stopped", e);
+            running = false;
+        }
+    }
+
+    private void write(OutputStream out, AuditEvent event) throws IOException {
+        try {
+            out.write(objectMapper.writeValueAsBytes(event));
+        } catch (IOException e) {
+            // Arguments that cannot be serialized must not lose the rest of the record
+            out.write(objectMapper.writeValueAsBytes(new AuditEvent(event.ts(), event.session(), event.tool(),
+                    null, event.durationMicros(), event.outcome(), event.error())));
+        }
+        out.write('\n');
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.abovebytes.mcp.audit;
+
+import com.abovebytes.mcp.client.McpClients;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.modelcontextprotocol.client.McpSyncClient;
+import io.modelcontextprotocol.spec.McpSchema;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replays a captured audit log against a server.
+ * <pre>
+ * java -cp local-mcp-server.jar -Dloader.main=com.abovebytes.mcp.audit.AuditReplayer \
+ *      org.springframework.boot.loader.launch.PropertiesLauncher \
+ *      --file=/tmp/mcp-audit/audit-....ndjson (--jar=target/local-mcp-server.jar | --url=http://localhost:8080)
+ *      [--session=stdio] [--speed=1.0]
+ * </pre>
+ * {@code --speed} scales the original gaps between calls (2.0 = twice as fast); 0 replays back to back.
+ * Calls are issued in the original order on a single client.
+ */
+public class AuditReplayer {
+
+    public static void main(String[] argv) throws Exception {
+        Map<String, String> options = parse(argv);
+        Path file = Path.of(require(options, "file"));
+        String session = options.get("session");
+        double speed = Double.parseDouble(options.getOrDefault("speed", "1.0"));
+
+        List<AuditEvent> events = read(file, session);
+        System.out.printf("Replaying %d calls from %s%n", events.size(), file);
+
+        try (McpSyncClient client = options.containsKey("url")
+                ? McpClients.http(options.get("url"))
+                : McpClients.stdio(require(options, "jar"), List.of(), List.of())) {
+            replay(client, events, speed);
+        }
+    }
+
+    static List<AuditEvent> read(Path file, String session) throws IOException {
+        ObjectMapper mapper = new ObjectMapper().findAndRegisterModules();
+        List<AuditEvent> events = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                AuditEvent event = mapper.readValue(line, AuditEvent.class);
+                if (session == null || session.equals(event.session())) {
+                    events.add(event);
+                }
+            }
+        }
+        return events;
+    }
+
+    private static void replay(McpSyncClient client, List<AuditEvent> events, double speed) throws InterruptedException {
+        long errors = 0;
+        long totalMicros = 0;
+        long replayStart = System.nanoTime();
+        long firstTs = events.isEmpty() ? 0 : events.get(0).ts();
+        for (AuditEvent event : events) {
+            if (speed > 0) {
+                long dueNanos = (long) ((event.ts() - firstTs) * 1_000_000 / speed);
+                long waitNanos = dueNanos - (System.nanoTime() - replayStart);
+                if (waitNanos > 0) {
+                    Thread.sleep(waitNanos / 1_000_000, (int) (waitNanos % 1_000_000));
+                }
+            }
+            long start = System.nanoTime();
+            boolean failed;
+            try {
+                McpSchema.CallToolResult result = client.callTool(new McpSchema.CallToolRequest(event.tool(),
+                        event.args() == null ? Map.of() : event.args()));
+                failed = Boolean.TRUE.equals(result.isError());
+            } catch (RuntimeException e) {
+                failed = true;
+            }
+            long micros = (System.nanoTime() - start) / 1_000;
+            totalMicros += micros;
+            if (failed) {
+                errors++;
+            }
+            System.out.printf("%-32s %8d us (captured %8d us) %s%n", event.tool(), micros, event.durationMicros(),
+                    failed ? "ERROR" : "ok");
+        }
+        System.out.printf("Done: %d calls, %d errors, mean %d us%n", events.size(), errors,
+                events.isEmpty() ? 0 : totalMicros / events.size());
+    }
+
+    private static Map<String, String> parse(String[] argv) {
+        Map<String, String> options = new HashMap<>();
+        Arrays.stream(argv)
+                .filter(a -> a.startsWith("--") && a.contains("="))
+                .forEach(a -> options.put(a.substring(2, a.indexOf('=')), a.substring(a.indexOf('=') + 1)));
+        return options;
+    }
+
+    private static String require(Map<String, String> options, String name) {
+        String value = options.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing --" + name + "=...");
+        }
+        return value;
+    }
+}
@@ -0,0 +1,122 @@
+package com.abovebytes.mcp.cache;
+
+import com.abovebytes.mcp.repositories.CourseRepository;
+import com.abovebytes.mcp.repositories.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Row counts served by the count and health tools without a COUNT(*) per call: live
+ * (not soft-deleted) courses and active users.
+ * <p>
+ * Each counter is loaded from the database on first use, adjusted by the write tools as they
+ * commit, and recounted once {@code mcp.counters.resync-interval} has elapsed so writes made
+ * outside the tools (SQL console, imports) are picked up.
+ */
+@Component
+public class CatalogCounters {
+
+    private final Counter courses;
+    private final Counter activeUsers;
+
+    public CatalogCounters(CourseRepository courseRepository,
+                           UserRepository userRepository,
+                           @Value("${mcp.counters.resync-interval:5m}") Duration resyncInterval) {
+        this.courses = new Counter(courseRepository::countByDeletedFalse, resyncInterval);
+        this.activeUsers = new Counter(userRepository::countByActiveTrue, resyncInterval);
+    }
+
+    public long courses() {
+        return courses.get();
+    }
+
+    public long activeUsers() {
+        return activeUsers.get();
+    }
+
+    public void coursesAdded(long delta) {
+        onCommit(() -> courses.add(delta));
+    }
+
+    public void coursesRemoved(long delta) {
+        onCommit(() -> courses.add(-delta));
+    }
+
+    public void activeUsersAdded(long delta) {
+        onCommit(() -> activeUsers.add(delta));
+    }
+
+    public void activeUsersRemoved(long delta) {
+        onCommit(() -> activeUsers.add(-delta));
+    }
+
+    /**
+     * Recount on next read, after writes that bypass the per-row deltas (bulk imports).
+     */
+    public void invalidate() {
+        courses.invalidate();
+        activeUsers.invalidate();
+    }
+
+    /**
+     * Apply the change once the surrounding transaction commits, or right away outside one.
+     */
+    private static void onCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+
+    private static final class Counter {
+
+        private final LongSupplier loader;
+        private final long resyncNanos;
+        private final AtomicLong value = new AtomicLong();
+        private volatile long loadedAt;
+        private volatile boolean loaded;
+
+        private Counter(LongSupplier loader, Duration resyncInterval) {
+            this.loader = loader;
+            this.resyncNanos = resyncInterval.toNanos();
+        }
+
+        long get() {
+            if (!loaded || System.nanoTime() - loadedAt > resyncNanos) {
+                reload();
+            }
+            return value.get();
+        }
+
+        void add(long delta) {
+            if (loaded && delta != 0) {
+                value.addAndGet(delta);
+            }
+        }
+
+        void invalidate() {
+            loaded = false;
+        }
+
+        private synchronized void reload() {
+            if (loaded && System.nanoTime() - loadedAt <= resyncNanos) {
+                return;
+            }
+            value.set(loader.getAsLong());
+            loadedAt = System.nanoTime();
+            loaded = true;
+        }
+    }
+}
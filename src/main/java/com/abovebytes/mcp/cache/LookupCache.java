@@ -0,0 +1,192 @@
+package com.abovebytes.mcp.cache;
+
+import com.abovebytes.mcp.entities.Course;
+import com.abovebytes.mcp.entities.User;
+import com.abovebytes.mcp.models.CacheStats;
+import com.abovebytes.mcp.repositories.CourseRepository;
+import com.abovebytes.mcp.repositories.UserRepository;
+import com.abovebytes.mcp.utils.KeyUtils;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Read-through cache in front of the course and user point lookups.
+ * Course lookups only see live (not soft-deleted) courses.
+ * <p>
+ * Titles and emails are keyed on their case-folded form. Entries are bounded by size and expire
+ * after a fixed TTL; write tools invalidate exactly the keys they touch. Misses (null results)
+ * are never cached so a newly created row is visible on the next lookup. With read replicas the
+ * eviction is repeated after {@code mcp.cache.replica-lag}, dropping any pre-write row a lagging
+ * replica served in between.
+ */
+@Component
+public class LookupCache {
+
+    private final CourseRepository courseRepository;
+    private final UserRepository userRepository;
+
+    private final Cache<Long, Course> coursesById;
+    private final Cache<String, Course> coursesByTitle;
+    private final Cache<Long, User> usersById;
+    private final Cache<String, User> usersByEmail;
+    private final Executor lagged;
+
+    public LookupCache(CourseRepository courseRepository,
+                       UserRepository userRepository,
+                       @Value("${mcp.cache.max-size:10000}") long maxSize,
+                       @Value("${mcp.cache.ttl:10m}") Duration ttl,
+                       @Value("${mcp.cache.replica-lag:0s}") Duration replicaLag) {
+        this.courseRepository = courseRepository;
+        this.userRepository = userRepository;
+        this.lagged = replicaLag.isZero() ? null : CompletableFuture.delayedExecutor(replicaLag.toMillis(), TimeUnit.MILLISECONDS);
+        this.coursesById = newCache(maxSize, ttl);
+        this.coursesByTitle = newCache(maxSize, ttl);
+        this.usersById = newCache(maxSize, ttl);
+        this.usersByEmail = newCache(maxSize, ttl);
+    }
+
+    private static <K, V> Cache<K, V> newCache(long maxSize, Duration ttl) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    /* =============================
+       LOOKUPS
+       ============================= */
+
+    public Course courseById(Long id) {
+        if (id == null) return null;
+        return coursesById.get(id, key -> courseRepository.findByCourseIdAndDeletedFalse(key).orElse(null));
+    }
+
+    public Course courseByTitle(String title) {
+        if (title == null) return null;
+        return coursesByTitle.get(KeyUtils.normalize(title), key -> courseRepository.findByCourseNameKeyAndDeletedFalse(key).orElse(null));
+    }
+
+    public User userById(Long id) {
+        if (id == null) return null;
+        return usersById.get(id, key -> userRepository.findById(key).orElse(null));
+    }
+
+    public User userByEmail(String email) {
+        if (email == null) return null;
+        return usersByEmail.get(KeyUtils.normalize(email), key -> userRepository.findByEmailKey(key).orElse(null));
+    }
+
+    /* =============================
+       INVALIDATION
+       ============================= */
+
+    public void invalidateCourse(Course course) {
+        if (course == null) return;
+        Long id = course.getCourseId();
+        String key = KeyUtils.normalize(course.getCourseName());
+        onChange(() -> {
+            if (id != null) coursesById.invalidate(id);
+            evictCourseTitle(key);
+        });
+    }
+
+    /**
+     * Drop the title entry and any id entry whose course carries that title.
+     */
+    public void invalidateCourseTitle(String title) {
+        if (title == null) return;
+        String key = KeyUtils.normalize(title);
+        onChange(() -> evictCourseTitle(key));
+    }
+
+    public void invalidateAllCourses() {
+        onChange(() -> {
+            coursesById.invalidateAll();
+            coursesByTitle.invalidateAll();
+        });
+    }
+
+    public void invalidateUser(User user) {
+        if (user == null) return;
+        Long id = user.getUserId();
+        invalidateUserEmails(List.of(user.getEmail()));
+        onChange(() -> {
+            if (id != null) usersById.invalidate(id);
+        });
+    }
+
+    /**
+     * Drop the email entries and any id entry whose user carries one of those emails.
+     */
+    public void invalidateUserEmails(Collection<String> emails) {
+        if (emails == null || emails.isEmpty()) return;
+        Set<String> keys = emails.stream().filter(Objects::nonNull).map(KeyUtils::normalize).collect(Collectors.toSet());
+        onChange(() -> {
+            usersByEmail.invalidateAll(keys);
+            usersById.asMap().values().removeIf(u -> keys.contains(KeyUtils.normalize(u.getEmail())));
+        });
+    }
+
+    private void evictCourseTitle(String key) {
+        if (key == null) return;
+        coursesByTitle.invalidate(key);
+        coursesById.asMap().values().removeIf(c -> key.equals(KeyUtils.normalize(c.getCourseName())));
+    }
+
+    /**
+     * Evict now and, inside a transaction, once more after commit so a concurrent reader
+     * cannot re-populate the cache with the pre-commit row.
+     */
+    private void onChange(Runnable eviction) {
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                    evictLater(eviction);
+                }
+            });
+        } else {
+            evictLater(eviction);
+        }
+    }
+
+    private void evictLater(Runnable eviction) {
+        if (lagged != null) {
+            lagged.execute(eviction);
+        }
+    }
+
+    /* =============================
+       STATS
+       ============================= */
+
+    public List<CacheStats> stats() {
+        return List.of(
+                stats("courses_by_id", coursesById),
+                stats("courses_by_title", coursesByTitle),
+                stats("users_by_id", usersById),
+                stats("users_by_email", usersByEmail));
+    }
+
+    private static CacheStats stats(String name, Cache<?, ?> cache) {
+        com.github.benmanes.caffeine.cache.stats.CacheStats s = cache.stats();
+        return new CacheStats(name, cache.estimatedSize(), s.hitCount(), s.missCount(), s.hitRate(), s.evictionCount());
+    }
+}
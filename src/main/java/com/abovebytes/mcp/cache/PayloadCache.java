@@ -0,0 +1,44 @@
+package com.abovebytes.mcp.cache;
+
+import com.abovebytes.mcp.models.CacheStats;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Serialized JSON of entities held by {@link LookupCache}, one entry per requested field projection.
+ * <p>
+ * Entries are keyed on the identity of the cached entity instance, so they live exactly as long as
+ * that instance: when a write invalidates the lookup entry, the next lookup loads a new instance and
+ * the old payloads become unreachable. Cached entities are never modified in place (write tools
+ * load their own copy), which is what makes their serialized form safe to reuse.
+ */
+@Component
+public class PayloadCache {
+
+    private final Cache<Object, Map<String, String>> payloads;
+
+    public PayloadCache(@Value("${mcp.cache.max-size:10000}") long maxSize) {
+        this.payloads = Caffeine.newBuilder()
+                .weakKeys()
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+    }
+
+    public String get(Object source, String variant, Supplier<String> serializer) {
+        if (source == null) return null;
+        return payloads.get(source, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(variant, v -> serializer.get());
+    }
+
+    public CacheStats stats() {
+        com.github.benmanes.caffeine.cache.stats.CacheStats s = payloads.stats();
+        return new CacheStats("payloads", payloads.estimatedSize(), s.hitCount(), s.missCount(), s.hitRate(), s.evictionCount());
+    }
+}
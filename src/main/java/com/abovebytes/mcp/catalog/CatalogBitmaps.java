@@ -0,0 +1,100 @@
+package com.abovebytes.mcp.catalog;
+
+import com.abovebytes.mcp.models.Level;
+import com.abovebytes.mcp.models.Provider;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Bitmap indexes over the snapshot, one bit per course id: live courses, every provider and level,
+ * every language (by dictionary code), active, and rating and duration buckets. A combined filter
+ * is an intersection of a few bitmaps instead of a scan over the rows.
+ * <p>
+ * Only the buckets at the edges of a numeric range need their rows checked against the exact value.
+ * Course ids must fit in an int.
+ */
+final class CatalogBitmaps {
+
+    /** Lower bounds of the rating buckets; each bucket ends where the next one starts. */
+    static final double[] RATING_BOUNDS = {0, 1, 2, 3, 3.5, 4, 4.5};
+    /** Lower bounds of the duration buckets, in minutes. */
+    static final double[] DURATION_BOUNDS = {0, 30, 60, 120, 180, 300, 600};
+
+    final BitSet live = new BitSet();
+    final BitSet active = new BitSet();
+    final BitSet[] providers = bitmaps(Provider.values().length);
+    final BitSet[] levels = bitmaps(Level.values().length);
+    final Map<Integer, BitSet> languages = new HashMap<>();
+    final BitSet[] ratings = bitmaps(RATING_BOUNDS.length);
+    final BitSet[] durations = bitmaps(DURATION_BOUNDS.length);
+
+    void add(CatalogColumns columns, int row) {
+        set(columns, row, true);
+    }
+
+    void remove(CatalogColumns columns, int row) {
+        set(columns, row, false);
+    }
+
+    private void set(CatalogColumns columns, int row, boolean value) {
+        int id = Math.toIntExact(columns.ids[row]);
+        live.set(id, value);
+        active.set(id, value && columns.active[row]);
+        if (columns.providers[row] != CatalogColumns.NULL_ORDINAL) {
+            providers[columns.providers[row]].set(id, value);
+        }
+        if (columns.levels[row] != CatalogColumns.NULL_ORDINAL) {
+            levels[columns.levels[row]].set(id, value);
+        }
+        if (columns.languages[row] != StringDictionary.NULL) {
+            BitSet language = languages.computeIfAbsent(columns.languages[row], code -> new BitSet());
+            language.set(id, value);
+            if (language.isEmpty()) {
+                languages.remove(columns.languages[row]);
+            }
+        }
+        int rating = bucket(RATING_BOUNDS, columns.ratings[row]);
+        if (rating >= 0) {
+            ratings[rating].set(id, value);
+        }
+        if (columns.durations[row] != CatalogColumns.NULL_INT) {
+            int duration = bucket(DURATION_BOUNDS, columns.durations[row]);
+            if (duration >= 0) {
+                durations[duration].set(id, value);
+            }
+        }
+    }
+
+    /**
+     * Bucket holding the value, or -1 for NaN and values below the first bound.
+     */
+    static int bucket(double[] bounds, double value) {
+        if (Double.isNaN(value) || value < bounds[0]) {
+            return -1;
+        }
+        int bucket = 0;
+        while (bucket + 1 < bounds.length && value >= bounds[bucket + 1]) {
+            bucket++;
+        }
+        return bucket;
+    }
+
+    static String label(double[] bounds, int bucket) {
+        String lower = format(bounds[bucket]);
+        return bucket + 1 < bounds.length ? lower + "-" + format(bounds[bucket + 1]) : lower + "+";
+    }
+
+    private static String format(double bound) {
+        return bound == Math.rint(bound) ? String.valueOf((long) bound) : String.valueOf(bound);
+    }
+
+    private static BitSet[] bitmaps(int count) {
+        BitSet[] bitmaps = new BitSet[count];
+        for (int i = 0; i < count; i++) {
+            bitmaps[i] = new BitSet();
+        }
+        return bitmaps;
+    }
+}
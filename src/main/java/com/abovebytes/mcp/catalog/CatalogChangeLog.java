@@ -0,0 +1,241 @@
+package com.abovebytes.mcp.catalog;
+
+import com.abovebytes.mcp.entities.CatalogChange;
+import com.abovebytes.mcp.models.CatalogEntity;
+import com.abovebytes.mcp.models.ChangeFeed;
+import com.abovebytes.mcp.repositories.CatalogChangeRepository;
+import io.modelcontextprotocol.server.McpAsyncServer;
+import io.modelcontextprotocol.server.McpSyncServer;
+import io.modelcontextprotocol.spec.McpSchema;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Append-only log of catalog changes, read back by {@code catalog_changes_since} so clients fetch
+ * what changed instead of re-listing everything.
+ * <p>
+ * The write tools call {@link #record} inside their own transaction, so a change and its log row
+ * commit or roll back together. Once committed, a {@code notifications/resources/updated} is sent for
+ * {@code catalog://version}, the entity's collection resource and, for single-row changes, the item
+ * resource. Rows older than {@code mcp.changes.retention} are pruned every {@code mcp.changes.prune-interval}.
+ */
+@Component
+public class CatalogChangeLog {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogChangeLog.class);
+
+    public static final String VERSION_URI = "catalog://version";
+    private static final int MAX_DETAIL = 500;
+
+    private final CatalogChangeRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectProvider<McpSyncServer> syncServer;
+    private final ObjectProvider<McpAsyncServer> asyncServer;
+    private final boolean notifications;
+    private final Duration retention;
+    private final Duration pruneInterval;
+    private final Duration settle;
+
+    private ScheduledExecutorService scheduler;
+
+    public CatalogChangeLog(CatalogChangeRepository repository,
+                            TransactionTemplate transactionTemplate,
+                            ObjectProvider<McpSyncServer> syncServer,
+                            ObjectProvider<McpAsyncServer> asyncServer,
+                            @Value("${mcp.changes.notifications:true}") boolean notifications,
+                            @Value("${mcp.changes.retention:7d}") Duration retention,
+                            @Value("${mcp.changes.prune-interval:1h}") Duration pruneInterval,
+                            @Value("${mcp.changes.settle:5s}") Duration settle) {
+        this.repository = repository;
+        this.transactionTemplate = transactionTemplate;
+        this.syncServer = syncServer;
+        this.asyncServer = asyncServer;
+        this.notifications = notifications;
+        this.retention = retention;
+        this.pruneInterval = pruneInterval;
+        this.settle = settle;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (retention.isZero() || retention.isNegative()) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "mcp-change-log-pruner");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::pruneSafely, pruneInterval.toMillis(), pruneInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    public static String collectionUri(CatalogEntity entity) {
+        return "catalog://" + entity.name().toLowerCase(Locale.ROOT);
+    }
+
+    public static String itemUri(CatalogEntity entity, long id) {
+        return collectionUri(entity) + "/" + id;
+    }
+
+    /**
+     * Log a change made by the current transaction. Nothing is logged when no row was affected.
+     *
+     * @param entityId the changed row when exactly one is known, otherwise null
+     * @param detail   what was targeted, for set-based changes (titles, emails, filters)
+     * @return the version of the logged change, or 0 when nothing was logged
+     */
+    public long record(CatalogEntity entity, String operation, Long entityId, String detail, long affected) {
+        if (affected <= 0) {
+            return 0L;
+        }
+        CatalogChange change = repository.save(CatalogChange.builder()
+                .entity(entity)
+                .operation(operation)
+                .entityId(entityId)
+                .detail(detail == null || detail.length() <= MAX_DETAIL ? detail : detail.substring(0, MAX_DETAIL - 3) + "...")
+                .affected(affected)
+                .changedAt(LocalDateTime.now())
+                .build());
+        Set<String> uris = new LinkedHashSet<>();
+        uris.add(VERSION_URI);
+        uris.add(collectionUri(entity));
+        if (entityId != null) {
+            uris.add(itemUri(entity, entityId));
+        }
+        onCommit(() -> notifyUpdated(uris));
+        return change.getVersion();
+    }
+
+    public long currentVersion() {
+        return repository.currentVersion();
+    }
+
+    public Optional<CatalogChange> latest(CatalogEntity entity) {
+        return repository.findFirstByEntityOrderByVersionDesc(entity);
+    }
+
+    /**
+     * Changes committed after {@code sinceVersion}, oldest first.
+     * <p>
+     * Versions are handed out when a change is written, not when it commits, so a newer change can
+     * become visible before an older one. A missing version followed by changes younger than
+     * {@code mcp.changes.settle} ends the page there: the gap is most likely a transaction still in
+     * flight, and {@code nextVersion} must not move past it. Older gaps are rolled-back writes.
+     */
+    public ChangeFeed since(long sinceVersion, int limit) {
+        long current = repository.currentVersion();
+        long oldest = repository.oldestVersion();
+        boolean resyncRequired = oldest > 0 && sinceVersion < oldest - 1;
+        List<CatalogChange> rows = repository.findByVersionGreaterThanOrderByVersionAsc(sinceVersion, PageRequest.of(0, limit + 1));
+        LocalDateTime settledBefore = LocalDateTime.now().minus(settle);
+        List<CatalogChange> changes = new ArrayList<>(Math.min(rows.size(), limit));
+        long next = sinceVersion;
+        boolean hasMore = rows.size() > limit;
+        for (CatalogChange row : rows) {
+            if (changes.size() == limit) {
+                break;
+            }
+            boolean gap = row.getVersion() != next + 1 && !(resyncRequired && changes.isEmpty());
+            if (gap && row.getChangedAt().isAfter(settledBefore)) {
+                hasMore = true;
+                break;
+            }
+            changes.add(row);
+            next = row.getVersion();
+        }
+        return new ChangeFeed(sinceVersion, next, current, changes, hasMore, resyncRequired);
+    }
+
+    /**
+     * Delete changes older than the retention, always keeping the newest one so the current
+     * version survives a quiet period.
+     *
+     * @return number of pruned changes
+     */
+    public int prune() {
+        long current = repository.currentVersion();
+        Integer pruned = transactionTemplate.execute(status ->
+                repository.deleteOlderThan(LocalDateTime.now().minus(retention), current));
+        return pruned == null ? 0 : pruned;
+    }
+
+    private void pruneSafely() {
+        try {
+            int pruned = prune();
+            if (pruned > 0) {
+                log.info("Pruned {} catalog changes older than {}", pruned, retention);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Pruning the catalog change log failed, will retry in {}", pruneInterval, e);
+        }
+    }
+
+    /**
+     * The SDK does not track resources/subscribe, so the notification goes to every connected
+     * session; clients ignore URIs they do not follow.
+     */
+    private void notifyUpdated(Set<String> uris) {
+        if (!notifications) {
+            return;
+        }
+        McpSyncServer sync = syncServer.getIfAvailable();
+        McpAsyncServer async = sync == null ? asyncServer.getIfAvailable() : null;
+        for (String uri : uris) {
+            McpSchema.ResourcesUpdatedNotification notification = new McpSchema.ResourcesUpdatedNotification(uri);
+            try {
+                if (sync != null) {
+                    sync.notifyResourcesUpdated(notification);
+                } else if (async != null) {
+                    async.notifyResourcesUpdated(notification)
+                            .subscribe(null, e -> log.debug("Resource update notification for {} failed", uri, e));
+                }
+            } catch (RuntimeException e) {
+                log.debug("Resource update notification for {} failed", uri, e);
+            }
+        }
+    }
+
+    /**
+     * Run once the surrounding transaction commits, or right away outside one.
+     */
+    private static void onCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.abovebytes.mcp.catalog;
+
+import com.abovebytes.mcp.models.Level;
+import com.abovebytes.mcp.models.Provider;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+/**
+ * Column storage for live courses, one primitive array per attribute, rows sorted by id.
+ * Nulls are encoded in-band: {@link #NULL_INT} durations, NaN ratings, -1 enum ordinals and
+ * {@link StringDictionary#NULL} string codes. Every change also updates the {@link CatalogBitmaps}.
+ * Not thread-safe; {@link CatalogSnapshot} guards it.
+ */
+final class CatalogColumns {
+
+    static final int NULL_INT = Integer.MIN_VALUE;
+    static final byte NULL_ORDINAL = -1;
+
+    private static final Provider[] PROVIDERS = Provider.values();
+    private static final Level[] LEVELS = Level.values();
+
+    final StringDictionary strings;
+    final CatalogBitmaps bitmaps = new CatalogBitmaps();
+    long[] ids;
+    int[] titles;
+    int[] urls;
+    int[] languages;
+    byte[] providers;
+    byte[] levels;
+    double[] ratings;
+    int[] durations;
+    boolean[] active;
+    int size;
+
+    CatalogColumns(int capacity, StringDictionary strings) {
+        this.strings = strings;
+        this.ids = new long[capacity];
+        this.titles = new int[capacity];
+        this.urls = new int[capacity];
+        this.languages = new int[capacity];
+        this.providers = new byte[capacity];
+        this.levels = new byte[capacity];
+        this.ratings = new double[capacity];
+        this.durations = new int[capacity];
+        this.active = new boolean[capacity];
+    }
+
+    /**
+     * Row of the course, or {@code -(insertion point) - 1} when it is not in the snapshot.
+     */
+    int indexOf(long id) {
+        return Arrays.binarySearch(ids, 0, size, id);
+    }
+
+    /**
+     * First row whose id is greater than {@code afterId}.
+     */
+    int firstAfter(long afterId) {
+        int row = indexOf(afterId);
+        return row >= 0 ? row + 1 : -row - 1;
+    }
+
+    void upsert(long id, String title, String url, Provider provider, Level level, String language,
+                Double rating, Integer durationMinutes, boolean isActive) {
+        int row = indexOf(id);
+        if (row < 0) {
+            row = -row - 1;
+            insertAt(row);
+            ids[row] = id;
+        } else {
+            bitmaps.remove(this, row);
+        }
+        titles[row] = strings.encode(title);
+        urls[row] = strings.encode(url);
+        languages[row] = strings.encode(language);
+        providers[row] = provider == null ? NULL_ORDINAL : (byte) provider.ordinal();
+        levels[row] = level == null ? NULL_ORDINAL : (byte) level.ordinal();
+        ratings[row] = rating == null ? Double.NaN : rating;
+        durations[row] = durationMinutes == null ? NULL_INT : durationMinutes;
+        active[row] = isActive;
+        bitmaps.add(this, row);
+    }
+
+    void deactivate(int row) {
+        active[row] = false;
+        bitmaps.active.clear(Math.toIntExact(ids[row]));
+    }
+
+    /**
+     * Build the bitmaps for columns filled directly (read from a snapshot file).
+     */
+    void indexAll() {
+        for (int row = 0; row < size; row++) {
+            bitmaps.add(this, row);
+        }
+    }
+
+    /**
+     * Drop every row matching the predicate in one compacting pass.
+     *
+     * @return number of rows removed
+     */
+    int removeIf(IntPredicate row) {
+        int kept = 0;
+        for (int r = 0; r < size; r++) {
+            if (row.test(r)) {
+                bitmaps.remove(this, r);
+                continue;
+            }
+            if (kept != r) {
+                ids[kept] = ids[r];
+                titles[kept] = titles[r];
+                urls[kept] = urls[r];
+                languages[kept] = languages[r];
+                providers[kept] = providers[r];
+                levels[kept] = levels[r];
+                ratings[kept] = ratings[r];
+                durations[kept] = durations[r];
+                active[kept] = active[r];
+            }
+            kept++;
+        }
+        int removed = size - kept;
+        size = kept;
+        return removed;
+    }
+
+    Provider provider(int row) {
+        return providers[row] == NULL_ORDINAL ? null : PROVIDERS[providers[row]];
+    }
+
+    Level level(int row) {
+        return levels[row] == NULL_ORDINAL ? null : LEVELS[levels[row]];
+    }
+
+    Double rating(int row) {
+        return Double.isNaN(ratings[row]) ? null : ratings[row];
+    }
+
+    Integer durationMinutes(int row) {
+        return durations[row] == NULL_INT ? null : durations[row];
+    }
+
+    /**
+     * Copy trimmed to the current size, without bitmaps, for writing to disk outside the lock.
+     */
+    CatalogColumns copy() {
+        CatalogColumns copy = new CatalogColumns(0, strings.copy());
+        copy.ids = Arrays.copyOf(ids, size);
+        copy.titles = Arrays.copyOf(titles, size);
+        copy.urls = Arrays.copyOf(urls, size);
+        copy.languages = Arrays.copyOf(languages, size);
+        copy.providers = Arrays.copyOf(providers, size);
+        copy.levels = Arrays.copyOf(levels, size);
+        copy.ratings = Arrays.copyOf(ratings, size);
+        copy.durations = Arrays.copyOf(durations, size);
+        copy.active = Arrays.copyOf(active, size);
+        copy.size = size;
+        return copy;
+    }
+
+    private void insertAt(int row) {
+        if (size == ids.length) {
+            grow(Math.max(16, size + (size >> 1)));
+        }
+        int tail = size - row;
+        System.arraycopy(ids, row, ids, row + 1, tail);
+        System.arraycopy(titles, row, titles, row + 1, tail);
+        System.arraycopy(urls, row, urls, row + 1, tail);
+        System.arraycopy(languages, row, languages, row + 1, tail);
+        System.arraycopy(providers, row, providers, row + 1, tail);
+        System.arraycopy(levels, row, levels, row + 1, tail);
+        System.arraycopy(ratings, row, ratings, row + 1, tail);
+        System.arraycopy(durations, row, durations, row + 1, tail);
+        System.arraycopy(active, row, active, row + 1, tail);
+        size++;
+    }
+
+    private void grow(int capacity) {
+        ids = Arrays.copyOf(ids, capacity);
+        titles = Arrays.copyOf(titles, capacity);
+        urls = Arrays.copyOf(urls, capacity);
+        languages = Arrays.copyOf(languages, capacity);
+        providers = Arrays.copyOf(providers, capacity);
+        levels = Arrays.copyOf(levels, capacity);
+        ratings = Arrays.copyOf(ratings, capacity);
+        durations = Arrays.copyOf(durations, capacity);
+        active = Arrays.copyOf(active, capacity);
+    }
+}
@@ -0,0 +1,643 @@
+package com.abovebytes.mcp.catalog;
+
+import com.abovebytes.mcp.entities.Course;
+import com.abovebytes.mcp.models.CourseDto;
+import com.abovebytes.mcp.models.CourseFilter;
+import com.abovebytes.mcp.models.CourseFilterResult;
+import com.abovebytes.mcp.models.CourseSelector;
+import com.abovebytes.mcp.models.CourseSort;
+import com.abovebytes.mcp.models.FilteredCourse;
+import com.abovebytes.mcp.models.Level;
+import com.abovebytes.mcp.models.Provider;
+import com.abovebytes.mcp.utils.KeyUtils;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * Read-optimized copy of the live catalog in columnar form ({@link CatalogColumns}): a few bytes
+ * per course instead of one Hibernate entity per row, and no database round trip for the summary
+ * reads ({@code courses_list_compact}, search result hydration) and the bitmap-indexed
+ * {@code courses_filter} ({@link CatalogBitmaps}).
+ * <p>
+ * Course write tools apply their change here after commit, together with the version of its change-log
+ * entry. Writes made by other server processes are picked up every
+ * {@code mcp.catalog.snapshot.resync-interval}: when the fingerprint (the newest course change in the
+ * catalog change log and the highest course id, two index lookups) moved, and the course changes since
+ * the last sync are not all ones this process already applied, the snapshot is rebuilt and saved to
+ * {@code mcp.catalog.snapshot.file}, which the next server start maps back in instead of scanning the
+ * table. Direct SQL updates that bypass the change log are only seen by the next rebuild.
+ */
+@Component
+public class CatalogSnapshot {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogSnapshot.class);
+
+    private static final int BUILD_PAGE_SIZE = 1000;
+    private static final int MAX_BUILD_ATTEMPTS = 3;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final Path file;
+    private final Duration resyncInterval;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicBoolean building = new AtomicBoolean();
+    // Bumped by every applied write, so a rebuild can tell it raced with one
+    private final AtomicLong writes = new AtomicLong();
+
+    private CatalogColumns columns = new CatalogColumns(0, new StringDictionary());
+    private volatile CatalogSnapshotFile.Fingerprint synced;
+    // Change-log versions of the writes applied here since the last sync, and the highest course id they put
+    private final Set<Long> appliedVersions = ConcurrentHashMap.newKeySet();
+    private volatile long appliedMaxId;
+    private volatile boolean ready;
+    private ScheduledExecutorService scheduler;
+
+    public CatalogSnapshot(JdbcTemplate jdbcTemplate,
+                           @Value("${mcp.catalog.snapshot.enabled:true}") boolean enabled,
+                           @Value("${mcp.catalog.snapshot.file:}") String file,
+                           @Value("${mcp.catalog.snapshot.resync-interval:30s}") Duration resyncInterval) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.file = file.isBlank() ? null : Path.of(file);
+        this.resyncInterval = resyncInterval;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        if (!enabled) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "catalog-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.execute(() -> {
+            if (!load()) {
+                rebuildSafely();
+            }
+        });
+        scheduler.scheduleWithFixedDelay(this::resync, resyncInterval.toMillis(), resyncInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return columns.size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /* =============================
+       READS
+       ============================= */
+
+    /**
+     * @return the live course, or null when it is not in the snapshot
+     */
+    public CourseDto get(long courseId) {
+        lock.readLock().lock();
+        try {
+            int row = columns.indexOf(courseId);
+            return row < 0 ? null : dto(row);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Up to {@code limit} live courses with an id greater than {@code afterId}, in id order.
+     */
+    public List<CourseDto> page(long afterId, int limit) {
+        lock.readLock().lock();
+        try {
+            int from = columns.firstAfter(afterId);
+            int to = Math.min(columns.size, from + limit);
+            List<CourseDto> rows = new ArrayList<>(Math.max(0, to - from));
+            for (int row = from; row < to; row++) {
+                rows.add(dto(row));
+            }
+            return rows;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private CourseDto dto(int row) {
+        StringDictionary strings = columns.strings;
+        return new CourseDto(columns.ids[row], strings.decode(columns.titles[row]), strings.decode(columns.urls[row]),
+                columns.provider(row), columns.level(row), strings.decode(columns.languages[row]),
+                columns.rating(row), columns.active[row]);
+    }
+
+    /* =============================
+       FACETED FILTER
+       ============================= */
+
+    /**
+     * Courses matching every constraint of the filter, the first {@code limit} of them in the
+     * requested order, and per facet the counts each value would give with the other constraints kept.
+     */
+    public CourseFilterResult filter(CourseFilter filter, CourseSort sort, boolean descending, int limit) {
+        lock.readLock().lock();
+        try {
+            CatalogBitmaps bitmaps = columns.bitmaps;
+            // One slot per facet, in the order the facets are reported; null means unconstrained
+            BitSet[] constraints = {
+                    filter.provider() == null ? null : bitmaps.providers[filter.provider().ordinal()],
+                    filter.level() == null ? null : bitmaps.levels[filter.level().ordinal()],
+                    filter.language() == null ? null : language(filter.language()),
+                    filter.active() == null ? null : filter.active() ? bitmaps.active : andNot(bitmaps.live, bitmaps.active),
+                    range(bitmaps.ratings, CatalogBitmaps.RATING_BOUNDS, filter.minRating(), filter.maxRating(),
+                            row -> columns.ratings[row]),
+                    range(bitmaps.durations, CatalogBitmaps.DURATION_BOUNDS, toDouble(filter.minDurationMinutes()),
+                            toDouble(filter.maxDurationMinutes()), row -> columns.durations[row] == CatalogColumns.NULL_INT
+                                    ? Double.NaN : columns.durations[row])
+            };
+            BitSet matches = intersect(constraints, -1);
+
+            Map<String, Map<String, Integer>> facets = new LinkedHashMap<>();
+            Map<String, BitSet> values = new LinkedHashMap<>();
+            Arrays.stream(Provider.values()).forEach(p -> values.put(p.name(), bitmaps.providers[p.ordinal()]));
+            facets.put("provider", counts(intersect(constraints, 0), values));
+            values.clear();
+            Arrays.stream(Level.values()).forEach(l -> values.put(l.name(), bitmaps.levels[l.ordinal()]));
+            facets.put("level", counts(intersect(constraints, 1), values));
+            values.clear();
+            bitmaps.languages.forEach((code, ids) -> values.put(columns.strings.decode(code), ids));
+            facets.put("language", counts(intersect(constraints, 2), values));
+            values.clear();
+            values.put("true", bitmaps.active);
+            values.put("false", andNot(bitmaps.live, bitmaps.active));
+            facets.put("active", counts(intersect(constraints, 3), values));
+            facets.put("rating", counts(intersect(constraints, 4), buckets(bitmaps.ratings, CatalogBitmaps.RATING_BOUNDS)));
+            facets.put("durationMinutes", counts(intersect(constraints, 5), buckets(bitmaps.durations, CatalogBitmaps.DURATION_BOUNDS)));
+
+            return new CourseFilterResult(matches.cardinality(), top(matches, sort, descending, limit), facets);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private BitSet language(String language) {
+        BitSet ids = new BitSet();
+        columns.bitmaps.languages.forEach((code, bitmap) -> {
+            if (language.equalsIgnoreCase(columns.strings.decode(code))) {
+                ids.or(bitmap);
+            }
+        });
+        return ids;
+    }
+
+    /**
+     * Courses whose value lies in [min, max]. Buckets fully inside the range are taken whole;
+     * only the rows of the buckets straddling a bound are checked against the column.
+     */
+    private BitSet range(BitSet[] buckets, double[] bounds, Double min, Double max, IntToDoubleFunction value) {
+        if (min == null && max == null) {
+            return null;
+        }
+        BitSet ids = new BitSet();
+        for (int bucket = 0; bucket < buckets.length; bucket++) {
+            double lower = bounds[bucket];
+            double upper = bucket + 1 < bounds.length ? bounds[bucket + 1] : Double.POSITIVE_INFINITY;
+            if ((max != null && lower > max) || (min != null && upper <= min)) {
+                continue;
+            }
+            if ((min == null || lower >= min) && (max == null || upper <= max)) {
+                ids.or(buckets[bucket]);
+                continue;
+            }
+            BitSet edge = buckets[bucket];
+            for (int id = edge.nextSetBit(0); id >= 0; id = edge.nextSetBit(id + 1)) {
+                double v = value.applyAsDouble(columns.indexOf(id));
+                if ((min == null || v >= min) && (max == null || v <= max)) {
+                    ids.set(id);
+                }
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Live courses matching every constraint except the one at {@code skip}.
+     */
+    private BitSet intersect(BitSet[] constraints, int skip) {
+        BitSet ids = (BitSet) columns.bitmaps.live.clone();
+        for (int i = 0; i < constraints.length; i++) {
+            if (i != skip && constraints[i] != null) {
+                ids.and(constraints[i]);
+            }
+        }
+        return ids;
+    }
+
+    private static Map<String, Integer> counts(BitSet base, Map<String, BitSet> values) {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        values.forEach((value, ids) -> {
+            BitSet both = (BitSet) base.clone();
+            both.and(ids);
+            if (!both.isEmpty()) {
+                counts.put(value, both.cardinality());
+            }
+        });
+        return counts;
+    }
+
+    private static Map<String, BitSet> buckets(BitSet[] buckets, double[] bounds) {
+        Map<String, BitSet> values = new LinkedHashMap<>();
+        for (int bucket = 0; bucket < buckets.length; bucket++) {
+            values.put(CatalogBitmaps.label(bounds, bucket), buckets[bucket]);
+        }
+        return values;
+    }
+
+    private static BitSet andNot(BitSet ids, BitSet excluded) {
+        BitSet result = (BitSet) ids.clone();
+        result.andNot(excluded);
+        return result;
+    }
+
+    private static Double toDouble(Integer value) {
+        return value == null ? null : value.doubleValue();
+    }
+
+    /**
+     * First {@code limit} matches in order, through a bounded heap. Courses without a value for the
+     * sort key come last in both directions; ties are broken by id.
+     */
+    private List<FilteredCourse> top(BitSet matches, CourseSort sort, boolean descending, int limit) {
+        List<FilteredCourse> courses = new ArrayList<>(Math.min(limit, matches.cardinality()));
+        if (sort == CourseSort.ID) {
+            int id = descending ? matches.previousSetBit(matches.length() - 1) : matches.nextSetBit(0);
+            while (id >= 0 && courses.size() < limit) {
+                courses.add(filtered(columns.indexOf(id)));
+                id = descending ? matches.previousSetBit(id - 1) : matches.nextSetBit(id + 1);
+            }
+            return courses;
+        }
+        Comparator<Integer> byValue = switch (sort) {
+            case DURATION -> Comparator.comparingInt(row -> columns.durations[row]);
+            case TITLE -> Comparator.comparing(row -> columns.strings.decode(columns.titles[row]), String.CASE_INSENSITIVE_ORDER);
+            default -> Comparator.comparingDouble(row -> columns.ratings[row]);
+        };
+        Comparator<Integer> order = Comparator.<Integer, Boolean>comparing(row -> missing(sort, row))
+                .thenComparing(descending ? byValue.reversed() : byValue)
+                .thenComparingLong(row -> columns.ids[row]);
+        PriorityQueue<Integer> heap = new PriorityQueue<>(order.reversed());
+        for (int id = matches.nextSetBit(0); id >= 0 && limit > 0; id = matches.nextSetBit(id + 1)) {
+            heap.add(columns.indexOf(id));
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+        List<Integer> rows = new ArrayList<>(heap);
+        rows.sort(order);
+        rows.forEach(row -> courses.add(filtered(row)));
+        return courses;
+    }
+
+    private boolean missing(CourseSort sort, int row) {
+        return switch (sort) {
+            case DURATION -> columns.durations[row] == CatalogColumns.NULL_INT;
+            case TITLE -> columns.titles[row] == StringDictionary.NULL;
+            default -> Double.isNaN(columns.ratings[row]);
+        };
+    }
+
+    private FilteredCourse filtered(int row) {
+        StringDictionary strings = columns.strings;
+        return new FilteredCourse(columns.ids[row], strings.decode(columns.titles[row]), strings.decode(columns.urls[row]),
+                columns.provider(row), columns.level(row), strings.decode(columns.languages[row]),
+                columns.rating(row), columns.durationMinutes(row), columns.active[row]);
+    }
+
+    /* =============================
+       WRITES (applied after commit)
+       ============================= */
+
+    /**
+     * Add or replace a course. Soft-deleted courses are removed instead.
+     *
+     * @param changeVersion version of the write's change-log entry (0 when it has none)
+     */
+    public void put(Course course, long changeVersion) {
+        if (course == null || course.getCourseId() == null) {
+            return;
+        }
+        onCommit(changeVersion, () -> {
+            if (Boolean.TRUE.equals(course.getDeleted())) {
+                columns.removeIf(row -> columns.ids[row] == course.getCourseId());
+            } else {
+                columns.upsert(course.getCourseId(), course.getCourseName(), course.getCourseUrl(), course.getProvider(),
+                        course.getLevel(), course.getLanguage(), course.getRating(), course.getDurationMinutes(),
+                        !Boolean.FALSE.equals(course.getActive()));
+            }
+            appliedMaxId = Math.max(appliedMaxId, course.getCourseId());
+        });
+    }
+
+    /**
+     * Remove every course the selector matches (hard or soft delete).
+     */
+    public void remove(CourseSelector selector, long changeVersion) {
+        onCommit(changeVersion, () -> columns.removeIf(matcher(selector)));
+    }
+
+    /**
+     * Mark every course the selector matches inactive.
+     */
+    public void deactivate(CourseSelector selector, long changeVersion) {
+        onCommit(changeVersion, () -> {
+            IntPredicate matcher = matcher(selector);
+            for (int row = 0; row < columns.size; row++) {
+                if (matcher.test(row)) {
+                    columns.deactivate(row);
+                }
+            }
+        });
+    }
+
+    /**
+     * Same semantics as the bulk repository operations: non-empty criteria combined with AND,
+     * titles compared by normalized key.
+     */
+    private IntPredicate matcher(CourseSelector selector) {
+        if (selector == null || selector.isEmpty()) {
+            return row -> false;
+        }
+        byte provider = selector.provider() == null ? CatalogColumns.NULL_ORDINAL : (byte) selector.provider().ordinal();
+        byte level = selector.level() == null ? CatalogColumns.NULL_ORDINAL : (byte) selector.level().ordinal();
+        Set<Long> ids = selector.ids() == null || selector.ids().isEmpty() ? null : new HashSet<>(selector.ids());
+        BitSet titleCodes = null;
+        if (selector.titles() != null && !selector.titles().isEmpty()) {
+            Set<String> keys = new HashSet<>(selector.titles().stream().map(KeyUtils::normalize).toList());
+            titleCodes = new BitSet();
+            for (int code = 0; code < columns.strings.size(); code++) {
+                if (keys.contains(KeyUtils.normalize(columns.strings.decode(code)))) {
+                    titleCodes.set(code);
+                }
+            }
+        }
+        BitSet titles = titleCodes;
+        return row -> (provider == CatalogColumns.NULL_ORDINAL || columns.providers[row] == provider)
+                && (level == CatalogColumns.NULL_ORDINAL || columns.levels[row] == level)
+                && (ids == null || ids.contains(columns.ids[row]))
+                && (titles == null || (columns.titles[row] >= 0 && titles.get(columns.titles[row])));
+    }
+
+    /**
+     * Run the change under the write lock once the surrounding transaction commits, or right away
+     * outside one, and remember its change-log version as applied.
+     */
+    private void onCommit(long changeVersion, Runnable change) {
+        Runnable locked = () -> {
+            lock.writeLock().lock();
+            try {
+                change.run();
+                writes.incrementAndGet();
+                if (changeVersion > 0) {
+                    appliedVersions.add(changeVersion);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    locked.run();
+                }
+            });
+        } else {
+            locked.run();
+        }
+    }
+
+    /* =============================
+       BUILD, RESYNC AND PERSISTENCE
+       ============================= */
+
+    /**
+     * Re-read every live course in the background, e.g. after a bulk import. Concurrent calls
+     * collapse into the build already running.
+     */
+    public void rebuildAsync() {
+        if (!enabled) {
+            return;
+        }
+        Thread thread = new Thread(this::rebuildSafely, "catalog-snapshot-build");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void rebuildSafely() {
+        if (!building.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.warn("Catalog snapshot build failed", e);
+        } finally {
+            building.set(false);
+        }
+    }
+
+    private void resync() {
+        try {
+            CatalogSnapshotFile.Fingerprint current = fingerprint();
+            if (current.equals(synced)) {
+                return;
+            }
+            if (appliedLocally(current)) {
+                markSynced(current);
+            } else {
+                rebuildSafely();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Catalog snapshot resync failed, will retry in {}", resyncInterval, e);
+        }
+    }
+
+    /**
+     * Whether the database moved from the last synced fingerprint to {@code current} only through writes
+     * already applied here: every course change logged since is one of ours, and no course id beyond
+     * those we put appeared.
+     */
+    boolean appliedLocally(CatalogSnapshotFile.Fingerprint current) {
+        CatalogSnapshotFile.Fingerprint from = synced;
+        if (from == null || !from.database().equals(current.database())
+                || current.maxId() > Math.max(from.maxId(), appliedMaxId)) {
+            return false;
+        }
+        // A range scan of idx_catalog_change_entity_id over the changes since the last sync
+        List<Long> versions = jdbcTemplate.queryForList(
+                "SELECT id FROM catalog_change WHERE entity = 'COURSES' AND id > ? AND id <= ?",
+                Long.class, from.changeVersion(), current.changeVersion());
+        return appliedVersions.containsAll(versions);
+    }
+
+    private void markSynced(CatalogSnapshotFile.Fingerprint fingerprint) {
+        synced = fingerprint;
+        appliedVersions.removeIf(version -> version <= fingerprint.changeVersion());
+    }
+
+    /**
+     * Scan the live courses into fresh columns and swap them in. The result is saved only when the
+     * table did not change during the scan, so a snapshot file always matches its fingerprint.
+     */
+    void rebuild() {
+        for (int attempt = 1; attempt <= MAX_BUILD_ATTEMPTS; attempt++) {
+            long start = System.nanoTime();
+            long writesBefore = writes.get();
+            CatalogSnapshotFile.Fingerprint before = fingerprint();
+            CatalogColumns fresh = scan();
+            CatalogSnapshotFile.Fingerprint after = fingerprint();
+
+            lock.writeLock().lock();
+            try {
+                if (writes.get() != writesBefore) {
+                    // A write tool committed mid-scan; its change may be missing from the fresh columns
+                    continue;
+                }
+                columns = fresh;
+                ready = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("Catalog snapshot built: {} courses, {} strings in {} ms",
+                    fresh.size, fresh.strings.size(), (System.nanoTime() - start) / 1_000_000);
+            if (before.equals(after)) {
+                markSynced(after);
+                save(after, fresh);
+            }
+            return;
+        }
+        log.warn("Catalog snapshot build kept racing with writes, will retry in {}", resyncInterval);
+    }
+
+    private CatalogColumns scan() {
+        CatalogColumns fresh = new CatalogColumns(BUILD_PAGE_SIZE, new StringDictionary());
+        long[] afterId = {0L};
+        int read;
+        do {
+            int before = fresh.size;
+            jdbcTemplate.query("""
+                    SELECT id, course_name, course_url, provider, level, language, rating, duration_minutes, active
+                    FROM course WHERE deleted = false AND id > ? ORDER BY id LIMIT ?""", rs -> {
+                long id = rs.getLong("id");
+                String provider = rs.getString("provider");
+                String level = rs.getString("level");
+                fresh.upsert(id, rs.getString("course_name"), rs.getString("course_url"),
+                        provider == null ? null : Provider.valueOf(provider),
+                        level == null ? null : Level.valueOf(level),
+                        rs.getString("language"), rs.getObject("rating", Double.class),
+                        rs.getObject("duration_minutes", Integer.class), rs.getBoolean("active"));
+                afterId[0] = id;
+            }, afterId[0], BUILD_PAGE_SIZE);
+            read = fresh.size - before;
+        } while (read == BUILD_PAGE_SIZE);
+        return fresh;
+    }
+
+    private void save(CatalogSnapshotFile.Fingerprint fingerprint, CatalogColumns snapshot) {
+        if (file == null) {
+            return;
+        }
+        try {
+            CatalogSnapshotFile.write(file, fingerprint, snapshot);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not save the catalog snapshot to {}", file, e);
+        }
+    }
+
+    /**
+     * Map the saved snapshot back in if it was built from the database's current state.
+     */
+    boolean load() {
+        if (file == null) {
+            return false;
+        }
+        long start = System.nanoTime();
+        try {
+            CatalogSnapshotFile.Contents contents = CatalogSnapshotFile.read(file);
+            if (contents == null) {
+                return false;
+            }
+            CatalogSnapshotFile.Fingerprint current = fingerprint();
+            if (!contents.fingerprint().equals(current)) {
+                log.info("Catalog snapshot {} is out of date, rebuilding", file);
+                return false;
+            }
+            lock.writeLock().lock();
+            try {
+                columns = contents.columns();
+                ready = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            markSynced(current);
+            log.info("Catalog snapshot loaded from {}: {} courses in {} ms",
+                    file, contents.columns().size, (System.nanoTime() - start) / 1_000_000);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not load the catalog snapshot from {}, rebuilding", file, e);
+            return false;
+        }
+    }
+
+    CatalogSnapshotFile.Fingerprint fingerprint() {
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) con -> con.getMetaData().getURL());
+        // Both answered from an index (idx_catalog_change_entity_id, the course primary key), not a scan
+        return jdbcTemplate.queryForObject("""
+                SELECT (SELECT COALESCE(MAX(id), 0) FROM catalog_change WHERE entity = 'COURSES'),
+                       (SELECT COALESCE(MAX(id), 0) FROM course)""", (rs, i) ->
+                new CatalogSnapshotFile.Fingerprint(String.valueOf(database), rs.getLong(1), rs.getLong(2)));
+    }
+}
@@ -0,0 +1,152 @@
+package com.abovebytes.mcp.catalog;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * On-disk layout of the catalog snapshot, written and read through a memory-mapped file:
+ * <pre>
+ * magic, format, fingerprint (database url, course change version, max id),
+ * row count, dictionary (length-prefixed UTF-8 strings), then each column as one contiguous array
+ * </pre>
+ * Writes go to a temporary file that is atomically moved over the previous snapshot, so servers
+ * sharing the file never read a partial one.
+ */
+final class CatalogSnapshotFile {
+
+    private static final int MAGIC = 0x4D435043; // "MCPC"
+    private static final int FORMAT = 2;
+    private static final int BYTES_PER_ROW = Long.BYTES + 3 * Integer.BYTES + 2 + Double.BYTES + Integer.BYTES + 1;
+
+    /**
+     * Identifies the database state a snapshot was built from: the newest course change in the catalog
+     * change log, which every course write appends to, and the highest course id, which also moves
+     * for rows inserted around the server.
+     */
+    record Fingerprint(String database, long changeVersion, long maxId) {
+    }
+
+    record Contents(Fingerprint fingerprint, CatalogColumns columns) {
+    }
+
+    private CatalogSnapshotFile() {
+    }
+
+    static void write(Path file, Fingerprint fingerprint, CatalogColumns columns) throws IOException {
+        int n = columns.size;
+        byte[] database = fingerprint.database().getBytes(StandardCharsets.UTF_8);
+        List<byte[]> strings = new ArrayList<>(columns.strings.size());
+        long size = 4L * Integer.BYTES + database.length + 2L * Long.BYTES + Integer.BYTES + (long) n * BYTES_PER_ROW;
+        for (int code = 0; code < columns.strings.size(); code++) {
+            byte[] value = columns.strings.decode(code).getBytes(StandardCharsets.UTF_8);
+            strings.add(value);
+            size += Integer.BYTES + value.length;
+        }
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Catalog snapshot too large to map: " + size + " bytes");
+        }
+
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path tmp = file.resolveSibling(file.getFileName() + "." + ProcessHandle.current().pid() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.putInt(MAGIC).putInt(FORMAT);
+            buffer.putInt(database.length).put(database);
+            buffer.putLong(fingerprint.changeVersion()).putLong(fingerprint.maxId());
+            buffer.putInt(n).putInt(strings.size());
+            for (byte[] value : strings) {
+                buffer.putInt(value.length).put(value);
+            }
+            buffer.asLongBuffer().put(columns.ids, 0, n);
+            skip(buffer, n * Long.BYTES);
+            putInts(buffer, columns.titles, n);
+            putInts(buffer, columns.urls, n);
+            putInts(buffer, columns.languages, n);
+            buffer.put(columns.providers, 0, n);
+            buffer.put(columns.levels, 0, n);
+            buffer.asDoubleBuffer().put(columns.ratings, 0, n);
+            skip(buffer, n * Double.BYTES);
+            putInts(buffer, columns.durations, n);
+            for (int r = 0; r < n; r++) {
+                buffer.put(columns.active[r] ? (byte) 1 : 0);
+            }
+            buffer.force();
+        }
+        Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * @return the snapshot, or null when there is no file
+     * @throws IOException when the file exists but is unreadable, truncated or of another format
+     */
+    static Contents read(Path file) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT) {
+                throw new IOException("Not a catalog snapshot (format " + FORMAT + "): " + file);
+            }
+            Fingerprint fingerprint = new Fingerprint(string(buffer), buffer.getLong(), buffer.getLong());
+            int n = buffer.getInt();
+            int dictionarySize = buffer.getInt();
+            List<String> values = new ArrayList<>(dictionarySize);
+            for (int code = 0; code < dictionarySize; code++) {
+                values.add(string(buffer));
+            }
+            CatalogColumns columns = new CatalogColumns(n, new StringDictionary(values));
+            buffer.asLongBuffer().get(columns.ids, 0, n);
+            skip(buffer, n * Long.BYTES);
+            getInts(buffer, columns.titles, n);
+            getInts(buffer, columns.urls, n);
+            getInts(buffer, columns.languages, n);
+            buffer.get(columns.providers, 0, n);
+            buffer.get(columns.levels, 0, n);
+            buffer.asDoubleBuffer().get(columns.ratings, 0, n);
+            skip(buffer, n * Double.BYTES);
+            getInts(buffer, columns.durations, n);
+            for (int r = 0; r < n; r++) {
+                columns.active[r] = buffer.get() != 0;
+            }
+            columns.size = n;
+            columns.indexAll();
+            return new Contents(fingerprint, columns);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException | NegativeArraySizeException e) {
+            throw new IOException("Truncated or corrupt catalog snapshot: " + file, e);
+        }
+    }
+
+    private static String string(MappedByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void putInts(MappedByteBuffer buffer, int[] values, int n) {
+        buffer.asIntBuffer().put(values, 0, n);
+        skip(buffer, n * Integer.BYTES);
+    }
+
+    private static void getInts(MappedByteBuffer buffer, int[] values, int n) {
+        buffer.asIntBuffer().get(values, 0, n);
+        skip(buffer, n * Integer.BYTES);
+    }
+
+    private static void skip(MappedByteBuffer buffer, int bytes) {
+        buffer.position(buffer.position() + bytes);
+    }
+}
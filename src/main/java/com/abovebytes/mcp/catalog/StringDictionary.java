@@ -0,0 +1,53 @@
+package com.abovebytes.mcp.catalog;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dictionary encoding for the snapshot's string columns: every distinct value is stored once and
+ * rows hold its int code. Codes are never reused, so values orphaned by renames stay until the
+ * next rebuild.
+ */
+final class StringDictionary {
+
+    static final int NULL = -1;
+
+    private final List<String> values;
+    private final Map<String, Integer> codes;
+
+    StringDictionary() {
+        this(new ArrayList<>());
+    }
+
+    StringDictionary(List<String> values) {
+        this.values = values;
+        this.codes = new HashMap<>(values.size() * 2);
+        for (int i = 0; i < values.size(); i++) {
+            codes.put(values.get(i), i);
+        }
+    }
+
+    int encode(String value) {
+        if (value == null) {
+            return NULL;
+        }
+        return codes.computeIfAbsent(value, v -> {
+            values.add(v);
+            return values.size() - 1;
+        });
+    }
+
+    String decode(int code) {
+        return code == NULL ? null : values.get(code);
+    }
+
+    int size() {
+        return values.size();
+    }
+
+    StringDictionary copy() {
+        return new StringDictionary(new ArrayList<>(values));
+    }
+}
@@ -0,0 +1,55 @@
+package com.abovebytes.mcp.client;
+
+import io.modelcontextprotocol.client.McpClient;
+import io.modelcontextprotocol.client.McpSyncClient;
+import io.modelcontextprotocol.client.transport.HttpClientStreamableHttpTransport;
+import io.modelcontextprotocol.client.transport.ServerParameters;
+import io.modelcontextprotocol.client.transport.StdioClientTransport;
+import io.modelcontextprotocol.json.McpJsonMapper;
+import io.modelcontextprotocol.spec.McpClientTransport;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * MCP clients used by the operational tooling (audit replay, load and startup benchmarks) to talk to
+ * this server the way an agent does: either by spawning the jar over STDIO or over streamable HTTP.
+ */
+public class McpClients {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+
+    /**
+     * Spawn {@code java -jar <jar>} and talk to it over STDIO. Extra arguments are passed to the
+     * server (e.g. {@code --spring.ai.mcp.server.type=ASYNC}).
+     */
+    public static McpSyncClient stdio(String jar, List<String> jvmArgs, List<String> serverArgs) {
+        List<String> args = new ArrayList<>(jvmArgs);
+        args.add("-jar");
+        args.add(jar);
+        args.addAll(serverArgs);
+        ServerParameters params = ServerParameters.builder(javaExecutable()).args(args).build();
+        return client(new StdioClientTransport(params, McpJsonMapper.getDefault()));
+    }
+
+    /**
+     * Connect to a running server started with the "http" profile, e.g. {@code http://localhost:8080}.
+     */
+    public static McpSyncClient http(String baseUrl) {
+        return client(HttpClientStreamableHttpTransport.builder(baseUrl).endpoint("/mcp").build());
+    }
+
+    private static McpSyncClient client(McpClientTransport transport) {
+        McpSyncClient client = McpClient.sync(transport)
+                .requestTimeout(REQUEST_TIMEOUT)
+                .initializationTimeout(REQUEST_TIMEOUT)
+                .build();
+        client.initialize();
+        return client;
+    }
+
+    private static String javaExecutable() {
+        return System.getProperty("java.home") + "/bin/java";
+    }
+}
@@ -0,0 +1,53 @@
+package com.abovebytes.mcp.config;
+
+import com.abovebytes.mcp.dispatch.AdmissionControlAspect;
+import com.abovebytes.mcp.dispatch.AdmissionLane;
+import com.abovebytes.mcp.dispatch.CostClass;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Admission control lanes, configured per cost class with
+ * {@code mcp.admission.<cheap|moderate|expensive>.concurrency}, {@code .queue} and {@code .max-wait}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "mcp.admission.enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionControlConfiguration {
+
+    private record Defaults(int concurrency, int queue, Duration maxWait) {
+    }
+
+    private static final Map<CostClass, Defaults> DEFAULTS = Map.of(
+            CostClass.CHEAP, new Defaults(32, 256, Duration.ofSeconds(1)),
+            CostClass.MODERATE, new Defaults(6, 64, Duration.ofSeconds(2)),
+            CostClass.EXPENSIVE, new Defaults(3, 16, Duration.ofSeconds(5)));
+
+    @Bean
+    public AdmissionControlAspect admissionControlAspect(Environment environment,
+                                                         MeterRegistry registry,
+                                                         @Value("${mcp.admission.cheap-tools:}") List<String> cheapTools,
+                                                         @Value("${mcp.admission.expensive-tools:}") List<String> expensiveTools,
+                                                         @Value("${mcp.admission.session-concurrency:8}") int sessionConcurrency) {
+        Map<CostClass, AdmissionLane> lanes = new EnumMap<>(CostClass.class);
+        for (CostClass costClass : CostClass.values()) {
+            String prefix = "mcp.admission." + costClass.name().toLowerCase(Locale.ROOT) + ".";
+            Defaults defaults = DEFAULTS.get(costClass);
+            lanes.put(costClass, new AdmissionLane(costClass,
+                    environment.getProperty(prefix + "concurrency", Integer.class, defaults.concurrency()),
+                    environment.getProperty(prefix + "queue", Integer.class, defaults.queue()),
+                    environment.getProperty(prefix + "max-wait", Duration.class, defaults.maxWait()),
+                    registry));
+        }
+        return new AdmissionControlAspect(lanes, cheapTools, expensiveTools, sessionConcurrency, registry);
+    }
+}
@@ -0,0 +1,98 @@
+package com.abovebytes.mcp.config;
+
+import com.abovebytes.mcp.utils.McpSessionUtils;
+import io.modelcontextprotocol.server.McpAsyncServerExchange;
+import io.modelcontextprotocol.server.McpServerFeatures;
+import io.modelcontextprotocol.server.McpSyncServerExchange;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.mcp.annotation.spring.SyncMcpAnnotationProviders;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+
+/**
+ * ASYNC server mode ({@code spring.ai.mcp.server.type=ASYNC}).
+ * <p>
+ * The annotation scanner only registers reactive {@code @McpTool} methods on an async server, so the
+ * blocking tool, prompt and resource methods are registered here instead: each sync specification is wrapped in a
+ * {@link Mono} that runs on {@code mcpToolExecutor}. The transport thread is released immediately
+ * and concurrent calls complete in whatever order their work finishes.
+ * <p>
+ * The call runs without the HTTP request on its thread, so the exchange's session id is bound for it:
+ * the per-session aspects (admission, replica routing, audit) see the caller's session, not STDIO's.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.ai.mcp.server.type", havingValue = "ASYNC")
+public class AsyncToolConfiguration {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncToolConfiguration.class);
+
+    @Bean
+    public List<McpServerFeatures.AsyncToolSpecification> asyncToolSpecifications(
+            McpToolBeans mcpToolBeans,
+            @Qualifier("mcpToolExecutor") ExecutorService mcpToolExecutor) {
+        Scheduler scheduler = Schedulers.fromExecutorService(mcpToolExecutor, "mcp-tools");
+        // Spring-aware provider: resolves @McpTool methods on the target class behind AOP proxies
+        List<McpServerFeatures.SyncToolSpecification> syncSpecs = SyncMcpAnnotationProviders.toolSpecifications(mcpToolBeans.tools());
+        log.info("Registering {} MCP tools in ASYNC mode", syncSpecs.size());
+        return syncSpecs.stream().map(spec -> toAsync(spec, scheduler)).toList();
+    }
+
+    @Bean
+    public List<McpServerFeatures.AsyncPromptSpecification> asyncPromptSpecifications(
+            McpToolBeans mcpToolBeans,
+            @Qualifier("mcpToolExecutor") ExecutorService mcpToolExecutor) {
+        Scheduler scheduler = Schedulers.fromExecutorService(mcpToolExecutor, "mcp-prompts");
+        return SyncMcpAnnotationProviders.promptSpecifications(mcpToolBeans.prompts()).stream()
+                .map(spec -> new McpServerFeatures.AsyncPromptSpecification(spec.prompt(), (exchange, request) ->
+                        onExecutor(exchange, scheduler, sync -> spec.promptHandler().apply(sync, request))))
+                .toList();
+    }
+
+    @Bean
+    public List<McpServerFeatures.AsyncResourceSpecification> asyncResourceSpecifications(
+            McpToolBeans mcpToolBeans,
+            @Qualifier("mcpToolExecutor") ExecutorService mcpToolExecutor) {
+        Scheduler scheduler = Schedulers.fromExecutorService(mcpToolExecutor, "mcp-resources");
+        return SyncMcpAnnotationProviders.resourceSpecifications(mcpToolBeans.resources()).stream()
+                .map(spec -> new McpServerFeatures.AsyncResourceSpecification(spec.resource(), (exchange, request) ->
+                        onExecutor(exchange, scheduler, sync -> spec.readHandler().apply(sync, request))))
+                .toList();
+    }
+
+    @Bean
+    public List<McpServerFeatures.AsyncResourceTemplateSpecification> asyncResourceTemplateSpecifications(
+            McpToolBeans mcpToolBeans,
+            @Qualifier("mcpToolExecutor") ExecutorService mcpToolExecutor) {
+        Scheduler scheduler = Schedulers.fromExecutorService(mcpToolExecutor, "mcp-resources");
+        return SyncMcpAnnotationProviders.resourceTemplateSpecifications(mcpToolBeans.resources()).stream()
+                .map(spec -> new McpServerFeatures.AsyncResourceTemplateSpecification(spec.resourceTemplate(), (exchange, request) ->
+                        onExecutor(exchange, scheduler, sync -> spec.readHandler().apply(sync, request))))
+                .toList();
+    }
+
+    private static McpServerFeatures.AsyncToolSpecification toAsync(McpServerFeatures.SyncToolSpecification spec, Scheduler scheduler) {
+        return McpServerFeatures.AsyncToolSpecification.builder()
+                .tool(spec.tool())
+                .callHandler((exchange, request) -> onExecutor(exchange, scheduler, sync -> spec.callHandler().apply(sync, request)))
+                .build();
+    }
+
+    /**
+     * Run a sync handler on the tool executor, with the exchange's session bound for the call.
+     */
+    private static <T> Mono<T> onExecutor(McpAsyncServerExchange exchange, Scheduler scheduler, Function<McpSyncServerExchange, T> handler) {
+        return Mono.fromCallable(() -> McpSessionUtils.callInSession(exchange.sessionId(),
+                        () -> handler.apply(new McpSyncServerExchange(exchange))))
+                .subscribeOn(scheduler);
+    }
+}
@@ -0,0 +1,121 @@
+package com.abovebytes.mcp.config;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Migration V2: brings tables created by {@code ddl-auto=update} before the migrations existed up to
+ * the V1 baseline. {@code CREATE TABLE IF NOT EXISTS} leaves such tables as they are, so the columns,
+ * keys and indexes added since are created here, each only when the database does not have it yet.
+ * <p>
+ * Written in code because MySQL has no {@code ADD COLUMN IF NOT EXISTS}; existing indexes are matched
+ * by their columns, not their names, since Hibernate named the old ones itself.
+ */
+class BaselineSchemaUpgrade {
+
+    static final int VERSION = 2;
+    static final String DESCRIPTION = "upgrade baseline era schema";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    BaselineSchemaUpgrade(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    void run() {
+        addColumn("course", "course_name_key", "VARCHAR(255)");
+        addColumn("course", "deleted_at", "DATETIME(6)");
+        addColumn("course", "version", "BIGINT DEFAULT 0 NOT NULL");
+        addColumn("app_user", "email_key", "VARCHAR(150)");
+        addColumn("app_user", "version", "BIGINT DEFAULT 0 NOT NULL");
+
+        // Keys before the unique constraints on them
+        jdbcTemplate.update("UPDATE course SET course_name_key = LOWER(course_name) WHERE course_name_key IS NULL");
+        jdbcTemplate.update("UPDATE app_user SET email_key = LOWER(email) WHERE email_key IS NULL");
+
+        addUnique("course", "uk_course_name_key_provider_level", "course_name_key", "provider", "level");
+        addIndex("course", "idx_course_deleted_id", "deleted", "id");
+        addIndex("course", "idx_course_deleted_at", "deleted", "deleted_at");
+        addUnique("app_user", "idx_user_email_key", "email_key");
+        addUnique("enrollments", "uk_enrollment_student_course_teacher", "student_id", "course_id", "teacher_id");
+        addIndex("enrollments", "idx_enrollment_student_id", "student_id", "id");
+        addIndex("enrollments", "idx_enrollment_teacher_id", "teacher_id", "id");
+        addIndex("enrollments", "idx_enrollment_course_id", "course_id", "id");
+    }
+
+    private void addColumn(String table, String column, String definition) {
+        boolean exists = Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            try (ResultSet columns = metaData.getColumns(connection.getCatalog(), connection.getSchema(),
+                    identifier(metaData, table), identifier(metaData, column))) {
+                return columns.next();
+            }
+        }));
+        if (!exists) {
+            jdbcTemplate.execute("ALTER TABLE " + table + " ADD COLUMN " + column + " " + definition);
+        }
+    }
+
+    private void addUnique(String table, String name, String... columns) {
+        if (hasIndex(table, true, columns)) {
+            return;
+        }
+        try {
+            jdbcTemplate.execute("ALTER TABLE " + table + " ADD CONSTRAINT " + name + " UNIQUE (" + String.join(", ", columns) + ")");
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalStateException("Cannot add unique key " + name + ": " + table + " has several rows with the same "
+                    + String.join(", ", columns) + ". Remove the duplicates and restart", e);
+        }
+    }
+
+    private void addIndex(String table, String name, String... columns) {
+        if (!hasIndex(table, false, columns)) {
+            jdbcTemplate.execute("CREATE INDEX " + name + " ON " + table + " (" + String.join(", ", columns) + ")");
+        }
+    }
+
+    /**
+     * Whether an index on exactly these columns, in this order, exists (a unique one when {@code unique}).
+     */
+    private boolean hasIndex(String table, boolean unique, String... columns) {
+        List<String> wanted = List.of(columns);
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            Map<String, List<String>> indexColumns = new LinkedHashMap<>();
+            Map<String, Boolean> indexUnique = new LinkedHashMap<>();
+            try (ResultSet rows = metaData.getIndexInfo(connection.getCatalog(), connection.getSchema(),
+                    identifier(metaData, table), false, false)) {
+                while (rows.next()) {
+                    String index = rows.getString("INDEX_NAME");
+                    String column = rows.getString("COLUMN_NAME");
+                    if (index == null || column == null) {
+                        continue;
+                    }
+                    List<String> indexed = indexColumns.computeIfAbsent(index, k -> new ArrayList<>());
+                    int position = rows.getInt("ORDINAL_POSITION");
+                    while (indexed.size() < position) {
+                        indexed.add(null);
+                    }
+                    indexed.set(position - 1, column.toLowerCase(Locale.ROOT));
+                    indexUnique.put(index, !rows.getBoolean("NON_UNIQUE"));
+                }
+            }
+            return indexColumns.entrySet().stream().anyMatch(index -> index.getValue().equals(wanted)
+                    && (!unique || indexUnique.get(index.getKey())));
+        }));
+    }
+
+    private static String identifier(DatabaseMetaData metaData, String name) throws SQLException {
+        return metaData.storesUpperCaseIdentifiers() ? name.toUpperCase(Locale.ROOT) : name;
+    }
+}
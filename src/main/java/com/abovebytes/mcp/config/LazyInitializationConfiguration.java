@@ -0,0 +1,24 @@
+package com.abovebytes.mcp.config;
+
+import com.abovebytes.mcp.lifecycle.CourseArchiver;
+import com.abovebytes.mcp.search.CourseSearchIndex;
+import io.modelcontextprotocol.server.McpAsyncServer;
+import io.modelcontextprotocol.server.McpSyncServer;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Beans that must be created at startup even with {@code spring.main.lazy-initialization=true}
+ * (the "fast" profile): nothing else references the MCP server, which is what starts the transport,
+ * and the background jobs only run once their bean exists.
+ */
+@Configuration
+public class LazyInitializationConfiguration {
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerMcpBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(McpSyncServer.class, McpAsyncServer.class,
+                CourseArchiver.class, CourseSearchIndex.class);
+    }
+}
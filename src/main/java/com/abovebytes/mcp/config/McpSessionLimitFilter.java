@@ -0,0 +1,164 @@
+package com.abovebytes.mcp.config;
+
+import com.abovebytes.mcp.utils.McpSessionUtils;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Per-session limits for the HTTP transport.
+ * <ul>
+ *     <li>At most {@code mcp.http.max-sessions} live sessions; new sessions get 503 beyond that.</li>
+ *     <li>At most {@code mcp.http.max-concurrent-requests-per-session} in-flight POSTs per session;
+ *     extra requests get 429 so one busy client cannot take every servlet thread.</li>
+ * </ul>
+ * Long-lived GET (SSE) streams are not counted as in-flight requests. Sessions idle for longer than
+ * {@code mcp.http.session-idle-timeout} are forgotten.
+ * <p>
+ * An initialize request reserves a session slot before it runs, so concurrent initializations cannot
+ * overshoot the limit; the slot becomes the session when the server answers with a session id and is
+ * released otherwise. Only session ids the server issued (or accepted) are tracked, so made-up ids
+ * cannot fill the table.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class McpSessionLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(McpSessionLimitFilter.class);
+
+    private final String endpoint;
+    private final int maxSessions;
+    private final int maxConcurrentPerSession;
+    private final long idleTimeoutNanos;
+    private final Map<String, SessionState> sessions = new ConcurrentHashMap<>();
+    // Initialize requests in progress, guarded by this
+    private int reserved;
+
+    private static final class SessionState {
+        final Semaphore inFlight;
+        volatile long lastSeen = System.nanoTime();
+
+        SessionState(int permits) {
+            this.inFlight = new Semaphore(permits);
+        }
+    }
+
+    public McpSessionLimitFilter(@Value("${spring.ai.mcp.server.streamable-http.mcp-endpoint:/mcp}") String endpoint,
+                                 @Value("${mcp.http.max-sessions:200}") int maxSessions,
+                                 @Value("${mcp.http.max-concurrent-requests-per-session:4}") int maxConcurrentPerSession,
+                                 @Value("${mcp.http.session-idle-timeout:30m}") Duration idleTimeout) {
+        this.endpoint = endpoint;
+        this.maxSessions = maxSessions;
+        this.maxConcurrentPerSession = maxConcurrentPerSession;
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(endpoint);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String sessionId = request.getHeader(McpSessionUtils.SESSION_HEADER);
+
+        if (sessionId == null) {
+            if (!"POST".equals(request.getMethod())) {
+                chain.doFilter(request, response);
+                return;
+            }
+            // Initialize request: hold a slot for the session it is about to create
+            if (!reserveSlot()) {
+                reject(response, HttpStatus.SERVICE_UNAVAILABLE, "Too many MCP sessions, retry later");
+                return;
+            }
+            String created = null;
+            try {
+                chain.doFilter(request, response);
+                created = response.getHeader(McpSessionUtils.SESSION_HEADER);
+            } finally {
+                releaseSlot(created);
+            }
+            return;
+        }
+
+        if ("DELETE".equals(request.getMethod())) {
+            sessions.remove(sessionId);
+            chain.doFilter(request, response);
+            return;
+        }
+
+        SessionState state = sessions.get(sessionId);
+        if (state == null) {
+            // Not issued here, or forgotten while idle: track it only if the server accepts it
+            chain.doFilter(request, response);
+            if (response.getStatus() < 400) {
+                sessions.computeIfAbsent(sessionId, id -> new SessionState(maxConcurrentPerSession));
+            }
+            return;
+        }
+        state.lastSeen = System.nanoTime();
+        if (!"POST".equals(request.getMethod())) {
+            chain.doFilter(request, response);
+            return;
+        }
+        if (!state.inFlight.tryAcquire()) {
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, "Too many concurrent requests for this session, retry later");
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            state.inFlight.release();
+            state.lastSeen = System.nanoTime();
+        }
+    }
+
+    private synchronized boolean reserveSlot() {
+        if (liveSessions() + reserved >= maxSessions) {
+            return false;
+        }
+        reserved++;
+        return true;
+    }
+
+    /**
+     * Turn a reserved slot into a session, or free it when no session id came back.
+     */
+    private synchronized void releaseSlot(String sessionId) {
+        reserved--;
+        if (sessionId != null && !sessionId.isBlank()) {
+            sessions.computeIfAbsent(sessionId, id -> new SessionState(maxConcurrentPerSession));
+        }
+    }
+
+    int liveSessions() {
+        long now = System.nanoTime();
+        sessions.entrySet().removeIf(e -> now - e.getValue().lastSeen > idleTimeoutNanos
+                && e.getValue().inFlight.availablePermits() == maxConcurrentPerSession);
+        return sessions.size();
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        log.warn("MCP request rejected: {}", message);
+        response.setStatus(status.value());
+        response.setHeader("Retry-After", "1");
+        response.setContentType("text/plain");
+        response.getWriter().write(message);
+    }
+}
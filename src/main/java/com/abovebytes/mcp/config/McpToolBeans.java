@@ -0,0 +1,10 @@
+package com.abovebytes.mcp.config;
+
+import java.util.List;
+
+/**
+ * The beans that declare {@code @McpTool}, {@code @McpPrompt} and {@code @McpResource} methods, listed once
+ * in {@link ToolRegistryConfiguration} for both the sync and the async server.
+ */
+public record McpToolBeans(List<Object> tools, List<Object> prompts, List<Object> resources) {
+}
@@ -0,0 +1,86 @@
+package com.abovebytes.mcp.config;
+
+import com.abovebytes.mcp.datasource.ReadYourWrites;
+import com.abovebytes.mcp.datasource.ReplicaRoutingDataSource;
+import com.abovebytes.mcp.datasource.ToolRoutingAspect;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Primary/replica routing, only active when {@code mcp.datasource.replica-urls} is set.
+ * <p>
+ * The primary pool is configured from {@code spring.datasource.*} as usual. Each replica URL gets its
+ * own read-only Hikari pool with the same credentials and pool settings, a short connection timeout
+ * and no fail-fast at startup, so a replica that is down delays nothing but its own reads.
+ */
+@Configuration
+@ConditionalOnExpression("!'${mcp.datasource.replica-urls:}'.isBlank()")
+public class ReadReplicaConfiguration {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadReplicaConfiguration.class);
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource,
+                                                             DataSourceProperties properties,
+                                                             @Value("${mcp.datasource.replica-urls}") List<String> replicaUrls,
+                                                             @Value("${mcp.datasource.replica-connection-timeout:2s}") Duration connectionTimeout,
+                                                             @Value("${mcp.datasource.replica-retry-after:30s}") Duration retryAfter) {
+        List<DataSource> replicas = new ArrayList<>(replicaUrls.size());
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            HikariDataSource replica = properties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .url(replicaUrls.get(i).trim())
+                    .build();
+            replica.setPoolName("replica-" + i);
+            replica.setReadOnly(true);
+            if (primaryDataSource.getMaximumPoolSize() > 0) {
+                replica.setMaximumPoolSize(primaryDataSource.getMaximumPoolSize());
+            }
+            replica.setDataSourceProperties(primaryDataSource.getDataSourceProperties());
+            replica.setConnectionTimeout(connectionTimeout.toMillis());
+            replica.setInitializationFailTimeout(-1);
+            replicas.add(replica);
+        }
+        log.info("Read replicas: {}", replicas.size());
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, retryAfter);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @Bean
+    public ReadYourWrites readYourWrites(@Value("${mcp.datasource.sticky-window:5s}") Duration stickyWindow) {
+        return new ReadYourWrites(stickyWindow, 100_000);
+    }
+
+    @Bean
+    public ToolRoutingAspect toolRoutingAspect(@Value("${mcp.datasource.read-tools}") List<String> readTools,
+                                               ReadYourWrites readYourWrites) {
+        return new ToolRoutingAspect(readTools, readYourWrites);
+    }
+}
@@ -0,0 +1,126 @@
+package com.abovebytes.mcp.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Versioned schema migrations: {@code classpath:db/migration/V<n>__<description>.sql}, applied in
+ * version order and recorded in {@code schema_version}. A server whose schema is current pays one
+ * small SELECT at startup instead of Hibernate's {@code ddl-auto=update} introspection.
+ * <p>
+ * Several STDIO servers may start against the same database at once, so every script must be
+ * idempotent ({@code IF NOT EXISTS}, guarded UPDATEs); a version recorded concurrently is ignored.
+ * Changes that cannot be written that way portably are code migrations ({@link BaselineSchemaUpgrade}).
+ * Skipped when Hibernate manages the schema itself ({@code ddl-auto} create, create-drop or update).
+ */
+@Component(SchemaMigrator.BEAN_NAME)
+public class SchemaMigrator implements InitializingBean {
+
+    public static final String BEAN_NAME = "schemaMigrator";
+
+    private static final Logger log = LoggerFactory.getLogger(SchemaMigrator.class);
+    private static final Pattern SCRIPT_NAME = Pattern.compile("V(\\d+)__(.+)\\.sql");
+    private static final Set<String> HIBERNATE_MANAGED = Set.of("create", "create-drop", "update");
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final String location;
+
+    public SchemaMigrator(DataSource dataSource,
+                          @Value("${mcp.schema.migrate:true}") boolean migrate,
+                          @Value("${mcp.schema.locations:classpath:db/migration/V*__*.sql}") String location,
+                          @Value("${spring.jpa.hibernate.ddl-auto:none}") String ddlAuto) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.enabled = migrate && !HIBERNATE_MANAGED.contains(ddlAuto);
+        this.location = location;
+    }
+
+    private record Migration(int version, String description, Runnable apply) {
+    }
+
+    @Override
+    public void afterPropertiesSet() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS schema_version ("
+                + "version INT NOT NULL PRIMARY KEY, description VARCHAR(200) NOT NULL, installed_at DATETIME(6) NOT NULL)");
+        Set<Integer> applied = new HashSet<>(jdbcTemplate.queryForList("SELECT version FROM schema_version", Integer.class));
+
+        List<Migration> migrations = new ArrayList<>();
+        for (Resource script : new PathMatchingResourcePatternResolver().getResources(location)) {
+            migrations.add(migration(script));
+        }
+        BaselineSchemaUpgrade upgrade = new BaselineSchemaUpgrade(jdbcTemplate);
+        migrations.add(new Migration(BaselineSchemaUpgrade.VERSION, BaselineSchemaUpgrade.DESCRIPTION, upgrade::run));
+
+        Set<Integer> versions = new HashSet<>();
+        for (Migration migration : migrations) {
+            if (!versions.add(migration.version())) {
+                throw new IllegalStateException("Two schema migrations have version " + migration.version());
+            }
+        }
+
+        List<Migration> pending = migrations.stream()
+                .filter(m -> !applied.contains(m.version()))
+                .sorted(Comparator.comparingInt(Migration::version))
+                .toList();
+        for (Migration migration : pending) {
+            migration.apply().run();
+            try {
+                jdbcTemplate.update("INSERT INTO schema_version (version, description, installed_at) VALUES (?, ?, ?)",
+                        migration.version(), migration.description(), Timestamp.valueOf(LocalDateTime.now()));
+            } catch (DuplicateKeyException concurrentlyApplied) {
+                // Another server ran the same idempotent script at the same time
+            }
+            log.info("Applied schema migration V{} {}", migration.version(), migration.description());
+        }
+        if (!pending.isEmpty()) {
+            log.info("Schema migrated: {} scripts in {} ms", pending.size(), (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    private Migration migration(Resource script) {
+        Matcher name = SCRIPT_NAME.matcher(String.valueOf(script.getFilename()));
+        if (!name.matches()) {
+            throw new IllegalStateException("Migration script name must look like V<n>__<description>.sql: " + script);
+        }
+        return new Migration(Integer.parseInt(name.group(1)), name.group(2).replace('_', ' '),
+                () -> new ResourceDatabasePopulator(script).execute(dataSource));
+    }
+
+    /**
+     * Repositories and tools must only see a migrated schema.
+     */
+    @Component
+    static class EntityManagerFactoryDependsOnSchemaMigrator extends EntityManagerFactoryDependsOnPostProcessor {
+
+        EntityManagerFactoryDependsOnSchemaMigrator() {
+            super(BEAN_NAME);
+        }
+    }
+}
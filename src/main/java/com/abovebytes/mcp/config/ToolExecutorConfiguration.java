@@ -0,0 +1,64 @@
+package com.abovebytes.mcp.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executor that runs tool bodies (and their blocking JPA work) off the MCP transport thread.
+ * <p>
+ * On a Java 21+ runtime with {@code mcp.tools.executor.virtual-threads=true} every call gets its own
+ * virtual thread. Otherwise a bounded pool is used; when both the pool and its queue are full the
+ * call is rejected instead of piling up.
+ */
+@Configuration
+public class ToolExecutorConfiguration {
+
+    private static final Logger log = LoggerFactory.getLogger(ToolExecutorConfiguration.class);
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService mcpToolExecutor(@Value("${mcp.tools.executor.virtual-threads:true}") boolean virtualThreads,
+                                           @Value("${mcp.tools.executor.pool-size:16}") int poolSize,
+                                           @Value("${mcp.tools.executor.queue-capacity:256}") int queueCapacity) {
+        if (virtualThreads) {
+            ExecutorService virtual = newVirtualThreadExecutor();
+            if (virtual != null) {
+                log.info("MCP tools run on virtual threads");
+                return virtual;
+            }
+        }
+        log.info("MCP tools run on a bounded pool: {} threads, queue {}", poolSize, queueCapacity);
+        return new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), namedThreads("mcp-tool-"), new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    // Looked up reflectively so the code still compiles and runs on a Java 17 runtime
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    private static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
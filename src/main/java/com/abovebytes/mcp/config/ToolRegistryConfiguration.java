@@ -0,0 +1,79 @@
+package com.abovebytes.mcp.config;
+
+import com.abovebytes.mcp.services.AnalyticsService;
+import com.abovebytes.mcp.services.CatalogChangeService;
+import com.abovebytes.mcp.services.CatalogTransferService;
+import com.abovebytes.mcp.services.CourseService;
+import com.abovebytes.mcp.services.EnrollmentPrompts;
+import com.abovebytes.mcp.services.EnrollmentService;
+import com.abovebytes.mcp.services.OperationsService;
+import com.abovebytes.mcp.services.UserService;
+import io.modelcontextprotocol.server.McpServerFeatures;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.mcp.annotation.spring.SyncMcpAnnotationProviders;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Explicit registry of the MCP tool, prompt and resource beans.
+ * <p>
+ * The ASYNC server always registers these beans. The SYNC server does too when the "fast" profile sets
+ * {@code spring.ai.mcp.server.annotation-scanner.enabled=false}: then nothing inspects every bean in the
+ * context for MCP annotations at startup, and only the beans listed in {@link #mcpToolBeans} are turned
+ * into specifications. Otherwise the scanner finds them. A new tool service must be added to the list.
+ */
+@Configuration
+public class ToolRegistryConfiguration {
+
+    private static final Logger log = LoggerFactory.getLogger(ToolRegistryConfiguration.class);
+
+    @Bean
+    public McpToolBeans mcpToolBeans(CourseService courseService,
+                                     UserService userService,
+                                     EnrollmentService enrollmentService,
+                                     OperationsService operationsService,
+                                     AnalyticsService analyticsService,
+                                     CatalogTransferService catalogTransferService,
+                                     CatalogChangeService catalogChangeService,
+                                     EnrollmentPrompts enrollmentPrompts) {
+        return new McpToolBeans(
+                List.of(courseService, userService, enrollmentService, operationsService, analyticsService, catalogTransferService,
+                        catalogChangeService),
+                List.of(enrollmentPrompts),
+                List.of(catalogChangeService));
+    }
+
+    /**
+     * SYNC server without the annotation scanner: the specifications it would have produced.
+     */
+    @Configuration
+    @ConditionalOnExpression("!${spring.ai.mcp.server.annotation-scanner.enabled:true} and '${spring.ai.mcp.server.type:SYNC}'.equalsIgnoreCase('SYNC')")
+    static class SyncRegistry {
+
+        @Bean
+        public List<McpServerFeatures.SyncToolSpecification> syncToolSpecifications(McpToolBeans beans) {
+            List<McpServerFeatures.SyncToolSpecification> specs = SyncMcpAnnotationProviders.toolSpecifications(beans.tools());
+            log.info("Registering {} MCP tools", specs.size());
+            return specs;
+        }
+
+        @Bean
+        public List<McpServerFeatures.SyncPromptSpecification> syncPromptSpecifications(McpToolBeans beans) {
+            return SyncMcpAnnotationProviders.promptSpecifications(beans.prompts());
+        }
+
+        @Bean
+        public List<McpServerFeatures.SyncResourceSpecification> syncResourceSpecifications(McpToolBeans beans) {
+            return SyncMcpAnnotationProviders.resourceSpecifications(beans.resources());
+        }
+
+        @Bean
+        public List<McpServerFeatures.SyncResourceTemplateSpecification> syncResourceTemplateSpecifications(McpToolBeans beans) {
+            return SyncMcpAnnotationProviders.resourceTemplateSpecifications(beans.resources());
+        }
+    }
+}
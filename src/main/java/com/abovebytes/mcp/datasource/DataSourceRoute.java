@@ -0,0 +1,35 @@
+package com.abovebytes.mcp.datasource;
+
+/**
+ * Which database a connection is taken from. {@link ToolRoutingAspect} binds a route to the thread
+ * for the duration of a tool call; without one, {@link ReplicaRoutingDataSource} falls back to the
+ * read-only flag of the current transaction.
+ */
+public enum DataSourceRoute {
+
+    PRIMARY,
+    REPLICA;
+
+    private static final ThreadLocal<DataSourceRoute> CURRENT = new ThreadLocal<>();
+
+    public static DataSourceRoute current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Bind {@code route} to this thread and return the previous binding, to be passed to {@link #restore}.
+     */
+    static DataSourceRoute bind(DataSourceRoute route) {
+        DataSourceRoute previous = CURRENT.get();
+        CURRENT.set(route);
+        return previous;
+    }
+
+    static void restore(DataSourceRoute previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.abovebytes.mcp.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+
+/**
+ * Sessions that wrote within the last {@code stickyWindow}. Their reads go to the primary so an
+ * agent always sees its own writes, however far the replicas lag behind.
+ */
+public class ReadYourWrites {
+
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWrites(Duration stickyWindow, long maxSessions) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(stickyWindow)
+                .maximumSize(maxSessions)
+                .build();
+    }
+
+    public void wrote(String sessionId) {
+        recentWriters.put(sessionId, Boolean.TRUE);
+    }
+
+    public boolean isSticky(String sessionId) {
+        return recentWriters.getIfPresent(sessionId) != null;
+    }
+}
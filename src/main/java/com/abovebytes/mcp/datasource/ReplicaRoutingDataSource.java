@@ -0,0 +1,121 @@
+package com.abovebytes.mcp.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends {@link DataSourceRoute#REPLICA} connections round-robin to the read replicas and everything
+ * else to the primary.
+ * <p>
+ * A replica that fails to hand out a connection is skipped for {@code retryAfter}; when no replica
+ * is available the read goes to the primary. Must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} so the route is decided
+ * when the first statement runs, after the transaction (and its read-only flag) has started.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final long retryAfterNanos;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, Duration retryAfter) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.retryAfterNanos = retryAfter.toNanos();
+        setTargetDataSources(Map.of(DataSourceRoute.PRIMARY, primary));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        DataSourceRoute route = DataSourceRoute.current();
+        if (route != null) {
+            return route;
+        }
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? DataSourceRoute.REPLICA : DataSourceRoute.PRIMARY;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (determineCurrentLookupKey() == DataSourceRoute.REPLICA) {
+            Connection connection = replicaConnection();
+            if (connection != null) {
+                return connection;
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        if (determineCurrentLookupKey() == DataSourceRoute.REPLICA) {
+            Connection connection = replicaConnection();
+            if (connection != null) {
+                return connection;
+            }
+        }
+        return primary.getConnection(username, password);
+    }
+
+    private Connection replicaConnection() {
+        int count = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(count, 1));
+        for (int i = 0; i < count; i++) {
+            Replica replica = replicas.get((start + i) % count);
+            long now = System.nanoTime();
+            if (replica.down && now - replica.downSince < retryAfterNanos) {
+                continue;
+            }
+            try {
+                Connection connection = replica.dataSource.getConnection();
+                replica.down = false;
+                return connection;
+            } catch (SQLException e) {
+                replica.down = true;
+                replica.downSince = now;
+                log.warn("Read replica {} unavailable, skipping it for {} ms: {}", (start + i) % count,
+                        retryAfterNanos / 1_000_000, e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Close the replica pools, which are owned by this data source rather than by the context.
+     */
+    public void close() {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    log.warn("Could not close read replica pool", e);
+                }
+            }
+        }
+    }
+
+    private static final class Replica {
+        final DataSource dataSource;
+        volatile boolean down;
+        volatile long downSince;
+
+        Replica(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+    }
+}
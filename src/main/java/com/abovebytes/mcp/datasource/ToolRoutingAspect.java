@@ -0,0 +1,59 @@
+package com.abovebytes.mcp.datasource;
+
+import com.abovebytes.mcp.metrics.ToolMetricsAspect;
+import com.abovebytes.mcp.utils.McpSessionUtils;
+import com.abovebytes.mcp.utils.ToolPatterns;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.annotation.Order;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Binds a {@link DataSourceRoute} to each {@code @McpTool} call: tools whose name matches one of the
+ * {@code mcp.datasource.read-tools} patterns read from a replica, all others run on the primary and
+ * make their session sticky to the primary (see {@link ReadYourWrites}).
+ * <p>
+ * Runs outside the transaction interceptor, so a write has committed by the time its session is marked.
+ */
+@Aspect
+@Order(ToolRoutingAspect.ORDER)
+public class ToolRoutingAspect {
+
+    public static final int ORDER = ToolMetricsAspect.ORDER + 50;
+
+    private final Pattern readTools;
+    private final ReadYourWrites readYourWrites;
+    private final Map<String, Boolean> classified = new ConcurrentHashMap<>();
+
+    public ToolRoutingAspect(Collection<String> readToolPatterns, ReadYourWrites readYourWrites) {
+        this.readTools = ToolPatterns.compile(readToolPatterns);
+        this.readYourWrites = readYourWrites;
+    }
+
+    @Around("@annotation(org.springaicommunity.mcp.annotation.McpTool)")
+    public Object route(ProceedingJoinPoint pjp) throws Throwable {
+        String tool = ToolMetricsAspect.toolName(pjp);
+        boolean read = isReadTool(tool);
+        String session = McpSessionUtils.currentSessionId();
+        DataSourceRoute route = read && !readYourWrites.isSticky(session) ? DataSourceRoute.REPLICA : DataSourceRoute.PRIMARY;
+        DataSourceRoute previous = DataSourceRoute.bind(route);
+        try {
+            return pjp.proceed();
+        } finally {
+            DataSourceRoute.restore(previous);
+            // Also on failure: batch tools commit as they go, so part of the write may be visible
+            if (!read) {
+                readYourWrites.wrote(session);
+            }
+        }
+    }
+
+    public boolean isReadTool(String tool) {
+        return classified.computeIfAbsent(tool, t -> readTools.matcher(t).matches());
+    }
+}
@@ -0,0 +1,94 @@
+package com.abovebytes.mcp.dispatch;
+
+import com.abovebytes.mcp.metrics.ToolMetricsAspect;
+import com.abovebytes.mcp.utils.McpSessionUtils;
+import com.abovebytes.mcp.utils.ToolPatterns;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.annotation.Order;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Admission control for {@code @McpTool} calls. Every call first takes a slot of its tool's
+ * {@link CostClass} lane, then one of its session's {@code mcp.admission.session-concurrency} slots;
+ * both waits share one deadline, the lane's max-wait. A call queued in a busy lane therefore holds no
+ * session slot, so it cannot keep the session's cheap calls out. Calls that cannot be admitted fail fast
+ * with a retryable {@link ToolOverloadedException} instead of piling up on the connection pool.
+ * <p>
+ * Runs inside the single-flight aspect, so coalesced followers take no slot, and outside the
+ * transaction interceptor, so no connection is held while waiting.
+ */
+@Aspect
+@Order(AdmissionControlAspect.ORDER)
+public class AdmissionControlAspect {
+
+    public static final int ORDER = SingleFlightAspect.ORDER + 10;
+
+    private static final Duration SESSION_IDLE = Duration.ofMinutes(10);
+
+    private final Map<CostClass, AdmissionLane> lanes;
+    private final Pattern cheapTools;
+    private final Pattern expensiveTools;
+    private final int sessionConcurrency;
+    private final Cache<String, Semaphore> sessions;
+    private final Counter sessionRejected;
+    private final Map<String, CostClass> classified = new ConcurrentHashMap<>();
+
+    public AdmissionControlAspect(Map<CostClass, AdmissionLane> lanes,
+                                  Collection<String> cheapTools,
+                                  Collection<String> expensiveTools,
+                                  int sessionConcurrency,
+                                  MeterRegistry registry) {
+        this.lanes = lanes;
+        this.cheapTools = ToolPatterns.compile(cheapTools);
+        this.expensiveTools = ToolPatterns.compile(expensiveTools);
+        this.sessionConcurrency = sessionConcurrency;
+        this.sessions = Caffeine.newBuilder()
+                .expireAfterAccess(SESSION_IDLE)
+                .maximumSize(100_000)
+                .build();
+        this.sessionRejected = Counter.builder("mcp.admission.rejected").tag("class", "session").tag("reason", "timeout")
+                .register(registry);
+    }
+
+    @Around("@annotation(org.springaicommunity.mcp.annotation.McpTool)")
+    public Object admit(ProceedingJoinPoint pjp) throws Throwable {
+        AdmissionLane lane = lanes.get(costClass(ToolMetricsAspect.toolName(pjp)));
+        long deadline = System.nanoTime() + lane.maxWait().toNanos();
+        lane.acquire(deadline);
+        try {
+            String sessionId = McpSessionUtils.currentSessionId();
+            Semaphore session = sessions.get(sessionId, s -> new Semaphore(sessionConcurrency, true));
+            if (!session.tryAcquire(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                sessionRejected.increment();
+                throw new ToolOverloadedException(String.format("this session already has %d tool calls running",
+                        sessionConcurrency), lane.maxWait());
+            }
+            try {
+                return pjp.proceed();
+            } finally {
+                session.release();
+            }
+        } finally {
+            lane.release();
+        }
+    }
+
+    public CostClass costClass(String tool) {
+        return classified.computeIfAbsent(tool, t -> expensiveTools.matcher(t).matches() ? CostClass.EXPENSIVE
+                : cheapTools.matcher(t).matches() ? CostClass.CHEAP
+                : CostClass.MODERATE);
+    }
+}
@@ -0,0 +1,81 @@
+package com.abovebytes.mcp.dispatch;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit and bounded FIFO wait queue of one {@link CostClass}. A call that finds the queue
+ * full is shed at once; a queued call that gets no slot before its deadline is shed then.
+ * <p>
+ * Meters: {@code mcp.admission.active} and {@code mcp.admission.queued} gauges and
+ * {@code mcp.admission.rejected} counter (reason queue_full or timeout), tagged with the class.
+ */
+public final class AdmissionLane {
+
+    private final CostClass costClass;
+    private final int concurrency;
+    private final int queueCapacity;
+    private final Duration maxWait;
+    private final Semaphore permits;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Counter queueFull;
+    private final Counter timedOut;
+
+    public AdmissionLane(CostClass costClass, int concurrency, int queueCapacity, Duration maxWait, MeterRegistry registry) {
+        if (concurrency < 1 || queueCapacity < 0) {
+            throw new IllegalArgumentException("Admission limits for " + costClass + " must allow at least one running call");
+        }
+        this.costClass = costClass;
+        this.concurrency = concurrency;
+        this.queueCapacity = queueCapacity;
+        this.maxWait = maxWait;
+        this.permits = new Semaphore(concurrency, true);
+        String tag = costClass.name().toLowerCase(Locale.ROOT);
+        Gauge.builder("mcp.admission.active", () -> this.concurrency - permits.availablePermits()).tag("class", tag).register(registry);
+        Gauge.builder("mcp.admission.queued", queued::get).tag("class", tag).register(registry);
+        this.queueFull = Counter.builder("mcp.admission.rejected").tag("class", tag).tag("reason", "queue_full").register(registry);
+        this.timedOut = Counter.builder("mcp.admission.rejected").tag("class", tag).tag("reason", "timeout").register(registry);
+    }
+
+    public Duration maxWait() {
+        return maxWait;
+    }
+
+    /**
+     * Take a slot, queueing until {@code deadlineNanos} (a {@link System#nanoTime()} value) at most.
+     *
+     * @throws ToolOverloadedException when the queue is full or the deadline passes
+     */
+    void acquire(long deadlineNanos) throws InterruptedException {
+        // The timed variant honours fairness: no barging past calls already queued
+        if (permits.tryAcquire(0, TimeUnit.NANOSECONDS)) {
+            return;
+        }
+        if (queued.incrementAndGet() > queueCapacity) {
+            queued.decrementAndGet();
+            queueFull.increment();
+            throw new ToolOverloadedException(String.format("%d %s tool calls are running and %d more are queued",
+                    concurrency, costClass, queueCapacity), maxWait);
+        }
+        try {
+            if (!permits.tryAcquire(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                timedOut.increment();
+                throw new ToolOverloadedException(String.format("no %s tool slot became free within %d ms",
+                        costClass, maxWait.toMillis()), maxWait);
+            }
+        } finally {
+            queued.decrementAndGet();
+        }
+    }
+
+    void release() {
+        permits.release();
+    }
+}
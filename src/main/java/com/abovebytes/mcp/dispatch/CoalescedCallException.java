@@ -0,0 +1,12 @@
+package com.abovebytes.mcp.dispatch;
+
+/**
+ * Thrown to a caller that waited on an identical call which failed. Each waiter gets its own
+ * instance, with the same message as the failure, which is kept as the cause.
+ */
+public class CoalescedCallException extends RuntimeException {
+
+    public CoalescedCallException(Throwable cause) {
+        super(cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName(), cause);
+    }
+}
@@ -0,0 +1,12 @@
+package com.abovebytes.mcp.dispatch;
+
+/**
+ * Admission class of a tool. Each class has its own concurrency limit and queue, so a burst of
+ * expensive calls cannot take the capacity cheap lookups need.
+ */
+public enum CostClass {
+
+    CHEAP,
+    MODERATE,
+    EXPENSIVE
+}
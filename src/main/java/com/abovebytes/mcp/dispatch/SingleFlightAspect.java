@@ -0,0 +1,110 @@
+package com.abovebytes.mcp.dispatch;
+
+import com.abovebytes.mcp.datasource.DataSourceRoute;
+import com.abovebytes.mcp.datasource.ToolRoutingAspect;
+import com.abovebytes.mcp.metrics.ToolMetrics;
+import com.abovebytes.mcp.metrics.ToolMetricsAspect;
+import com.abovebytes.mcp.utils.KeyUtils;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Single-flight for the read tools listed in {@code mcp.single-flight.tools}: while a call is running,
+ * identical calls (same tool, same normalized arguments, same datasource route) wait for it and return
+ * its result or its error (as a {@link CoalescedCallException} of their own) instead of executing again.
+ * A caller waits at most {@code mcp.single-flight.max-wait}, then executes the call itself; so does a
+ * caller whose leader was shed by admission control, since that verdict was about the leader's session.
+ * <p>
+ * String arguments are compared as the lookups compare them ({@link KeyUtils#normalize}: lower-cased, not
+ * trimmed), so only list tools whose lookups ignore case.
+ * Runs inside {@link ToolRoutingAspect}, so a session that must read its own writes never joins a call
+ * served by a replica, and inside the metrics aspect, so every caller is still counted.
+ */
+@Aspect
+@Component
+@Order(SingleFlightAspect.ORDER)
+public class SingleFlightAspect {
+
+    public static final int ORDER = ToolRoutingAspect.ORDER + 10;
+
+    private final Set<String> tools;
+    private final ToolMetrics toolMetrics;
+    private final ObjectMapper objectMapper;
+    private final Duration maxWait;
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    public SingleFlightAspect(@Value("${mcp.single-flight.tools:}") Set<String> tools,
+                              ToolMetrics toolMetrics,
+                              ObjectMapper objectMapper,
+                              @Value("${mcp.single-flight.max-wait:5s}") Duration maxWait) {
+        this.tools = tools;
+        this.toolMetrics = toolMetrics;
+        this.objectMapper = objectMapper;
+        this.maxWait = maxWait;
+    }
+
+    @Around("@annotation(org.springaicommunity.mcp.annotation.McpTool)")
+    public Object coalesce(ProceedingJoinPoint pjp) throws Throwable {
+        String tool = ToolMetricsAspect.toolName(pjp);
+        if (!tools.contains(tool)) {
+            return pjp.proceed();
+        }
+        String key = key(tool, pjp.getArgs());
+        CompletableFuture<Object> call = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, call);
+        if (running != null) {
+            toolMetrics.recordCoalesced(tool);
+            return await(running, pjp);
+        }
+        try {
+            Object result = pjp.proceed();
+            call.complete(result);
+            return result;
+        } catch (Throwable t) {
+            call.completeExceptionally(t);
+            throw t;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    private Object await(CompletableFuture<Object> running, ProceedingJoinPoint pjp) throws Throwable {
+        try {
+            return running.get(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // The leader is stuck or slow; do not tie this caller's latency to it
+            return pjp.proceed();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof ToolOverloadedException) {
+                return pjp.proceed();
+            }
+            throw new CoalescedCallException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for an identical call", e);
+        }
+    }
+
+    private String key(String tool, Object[] args) throws JsonProcessingException {
+        Object[] normalized = Arrays.stream(args)
+                .map(arg -> arg instanceof String s ? KeyUtils.normalize(s) : arg)
+                .toArray();
+        return tool + '|' + DataSourceRoute.current() + '|' + objectMapper.writeValueAsString(normalized);
+    }
+}
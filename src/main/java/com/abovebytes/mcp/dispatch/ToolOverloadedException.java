@@ -0,0 +1,21 @@
+package com.abovebytes.mcp.dispatch;
+
+import java.time.Duration;
+
+/**
+ * A tool call shed by admission control before it ran. Nothing was executed, so the caller can
+ * safely retry the same call after {@link #getRetryAfter()}.
+ */
+public class ToolOverloadedException extends IllegalStateException {
+
+    private final Duration retryAfter;
+
+    public ToolOverloadedException(String reason, Duration retryAfter) {
+        super("Overloaded: " + reason + ". The call was not executed; retry it after " + retryAfter.toMillis() + " ms");
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
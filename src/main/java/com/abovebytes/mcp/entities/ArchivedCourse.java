@@ -0,0 +1,105 @@
+package com.abovebytes.mcp.entities;
+
+import com.abovebytes.mcp.models.Level;
+import com.abovebytes.mcp.models.Provider;
+import jakarta.persistence.*;
+import lombok.*;
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Cold copy of a course that stayed soft-deleted past {@code mcp.archive.after}. Same columns and id
+ * as the {@code course} row it replaces, plus the time it was archived. Written by CourseArchiver only.
+ */
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(
+        name = "course_archive",
+        indexes = {
+                @Index(name = "idx_course_archive_name_key", columnList = "course_name_key")
+        }
+)
+public class ArchivedCourse implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "id", updatable = false, nullable = false)
+    private Long courseId;
+
+    @Column(name = "course_name", nullable = false)
+    private String courseName;
+
+    @Column(name = "course_name_key")
+    private String courseNameKey;
+
+    @Column(name = "course_url", nullable = false)
+    private String courseUrl;
+
+    @Column(name = "description", columnDefinition = "TEXT")
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "provider")
+    private Provider provider;
+
+    @Column(name = "language", length = 10)
+    private String language;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "level")
+    private Level level;
+
+    @Column(name = "duration_minutes")
+    private Integer durationMinutes;
+
+    @Column(name = "rating")
+    private Double rating;
+
+    @Column(name = "active", nullable = false)
+    private Boolean active;
+
+    @Column(name = "deleted", nullable = false)
+    private Boolean deleted;
+
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    /**
+     * The course as it was when archived, for tools that return {@link Course}.
+     */
+    public Course toCourse() {
+        return Course.builder()
+                .courseId(courseId)
+                .courseName(courseName)
+                .courseNameKey(courseNameKey)
+                .courseUrl(courseUrl)
+                .description(description)
+                .provider(provider)
+                .language(language)
+                .level(level)
+                .durationMinutes(durationMinutes)
+                .rating(rating)
+                .active(active)
+                .deleted(deleted)
+                .deletedAt(deletedAt)
+                .createdAt(createdAt)
+                .updatedAt(updatedAt)
+                .build();
+    }
+}
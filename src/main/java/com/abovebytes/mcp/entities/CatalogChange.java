@@ -0,0 +1,56 @@
+package com.abovebytes.mcp.entities;
+
+import com.abovebytes.mcp.models.CatalogEntity;
+import jakarta.persistence.*;
+import lombok.*;
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * One committed change to the catalog, written by the write tools in the same transaction as the change.
+ * The id doubles as the catalog version: it only grows, and every change gets a higher one.
+ */
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(
+        name = "catalog_change",
+        indexes = {
+                @Index(name = "idx_catalog_change_entity_id", columnList = "entity, id"),
+                @Index(name = "idx_catalog_change_changed_at", columnList = "changed_at")
+        }
+)
+public class CatalogChange implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long version;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private CatalogEntity entity;
+
+    @Column(nullable = false, length = 30)
+    private String operation;
+
+    // The changed row when there is exactly one; null for set-based changes (see detail)
+    @Column(name = "entity_id")
+    private Long entityId;
+
+    @Column(length = 500)
+    private String detail;
+
+    @Column(nullable = false)
+    private long affected;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+}
@@ -3,9 +3,11 @@ package com.abovebytes.mcp.entities;
 import com.abovebytes.mcp.models.Level;
 import com.abovebytes.mcp.models.Provider;
 import com.abovebytes.mcp.models.RoleValue;
+import com.abovebytes.mcp.utils.KeyUtils;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import java.io.Serial;
@@ -20,9 +22,15 @@ import java.time.LocalDateTime;
 @Entity
 @Table(
         name = "course",
+        // Natural key: add is a plain INSERT that fails on this constraint instead of check-then-insert.
+        // Its leading column also serves plain title lookups
+        uniqueConstraints = @UniqueConstraint(name = "uk_course_name_key_provider_level", columnNames = {"course_name_key", "provider", "level"}),
         indexes = {
                 @Index(name = "idx_course_name", columnList = "course_name"),
-                @Index(name = "idx_course_active", columnList = "active")
+                @Index(name = "idx_course_active", columnList = "active"),
+                // Live-row reads (deleted = false) page by id; the archiver scans deleted rows by age
+                @Index(name = "idx_course_deleted_id", columnList = "deleted, id"),
+                @Index(name = "idx_course_deleted_at", columnList = "deleted, deleted_at")
         }
 )
 @JsonIgnoreProperties(ignoreUnknown = true)
@@ -40,6 +48,10 @@ public class Course implements Serializable {
     @Column(name = "course_name", nullable = false)
     private String courseName;
 
+    // Lower-cased course_name, kept in sync on every write for index-friendly exact matches
+    @Column(name = "course_name_key")
+    private String courseNameKey;
+
     @Column(name = "course_url", nullable = false)
     private String courseUrl;
 
@@ -69,11 +81,27 @@ public class Course implements Serializable {
     @Column(name = "deleted", nullable = false)
     private Boolean deleted = false;
 
+    // Set when the course is soft-deleted; drives archiving into course_archive
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
+
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
     @LastModifiedDate
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
+
+    // Optimistic lock; targeted UPDATE statements bump it themselves. Existing rows start at 0
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @PrePersist
+    @PreUpdate
+    void syncKeys() {
+        this.courseNameKey = KeyUtils.normalize(courseName);
+    }
 }
 
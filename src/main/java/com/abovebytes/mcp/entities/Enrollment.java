@@ -5,7 +5,18 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "enrollments")
+@Table(
+        name = "enrollments",
+        // One row per (student, course, teacher): makes enrollment inserts idempotent
+        uniqueConstraints = @UniqueConstraint(name = "uk_enrollment_student_course_teacher",
+                columnNames = {"student_id", "course_id", "teacher_id"}),
+        // (fk, id) pairs serve the keyset-paginated enrollments_by_* reads without a sort
+        indexes = {
+                @Index(name = "idx_enrollment_student_id", columnList = "student_id, id"),
+                @Index(name = "idx_enrollment_teacher_id", columnList = "teacher_id, id"),
+                @Index(name = "idx_enrollment_course_id", columnList = "course_id, id")
+        }
+)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -17,18 +28,21 @@ public class Enrollment {
     private Long id;
 
     // Student
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "student_id", nullable = false)
+    @ToString.Exclude
     private User student;
 
     // Teacher
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "teacher_id", nullable = false)
+    @ToString.Exclude
     private User teacher;
 
     // Course
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "course_id", nullable = false)
+    @ToString.Exclude
     private Course course;
 
     private LocalDateTime enrolledAt;
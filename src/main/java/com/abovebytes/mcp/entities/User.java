@@ -1,8 +1,10 @@
 package com.abovebytes.mcp.entities;
 
 import com.abovebytes.mcp.models.RoleValue;
+import com.abovebytes.mcp.utils.KeyUtils;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
@@ -20,6 +22,7 @@ import java.time.LocalDateTime;
         name = "app_user",
         indexes = {
                 @Index(name = "idx_user_email", columnList = "email", unique = true),
+                @Index(name = "idx_user_email_key", columnList = "email_key", unique = true),
                 @Index(name = "idx_user_active", columnList = "active")
         }
 )
@@ -36,9 +39,14 @@ public class User implements Serializable {
     @Column(nullable = false, length = 100)
     private String fullName;
 
-    @Column(nullable = false, unique = true, length = 150)
+    // Unique through idx_user_email, so a duplicate is reported under that name
+    @Column(nullable = false, length = 150)
     private String email;
 
+    // Lower-cased email, kept in sync on every write for index-friendly exact matches
+    @Column(name = "email_key", length = 150)
+    private String emailKey;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "role")
     private RoleValue role;
@@ -51,4 +59,16 @@ public class User implements Serializable {
 
     @LastModifiedDate
     private LocalDateTime updatedAt;
+
+    // Optimistic lock; targeted UPDATE statements bump it themselves. Existing rows start at 0
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @PrePersist
+    @PreUpdate
+    void syncKeys() {
+        this.emailKey = KeyUtils.normalize(email);
+    }
 }
@@ -0,0 +1,143 @@
+package com.abovebytes.mcp.lifecycle;
+
+import com.abovebytes.mcp.cache.LookupCache;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves courses that have been soft-deleted for longer than {@code mcp.archive.after} out of the
+ * hot {@code course} table into {@code course_archive}, so the live table and its indexes only hold
+ * rows the tools actually serve.
+ * <p>
+ * Runs on its own daemon thread every {@code mcp.archive.interval}, one batch per transaction.
+ * Courses still referenced by an enrollment stay in place (the foreign key points at {@code course}).
+ */
+@Component
+public class CourseArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(CourseArchiver.class);
+
+    private static final String COLUMNS = "id, course_name, course_name_key, course_url, description, provider, language, level, "
+            + "duration_minutes, rating, active, deleted, deleted_at, created_at, updated_at";
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final TransactionTemplate transactionTemplate;
+    private final LookupCache lookupCache;
+    private final boolean enabled;
+    private final Duration after;
+    private final Duration interval;
+    private final int batchSize;
+
+    private ScheduledExecutorService scheduler;
+
+    public CourseArchiver(NamedParameterJdbcTemplate jdbc,
+                          TransactionTemplate transactionTemplate,
+                          LookupCache lookupCache,
+                          @Value("${mcp.archive.enabled:true}") boolean enabled,
+                          @Value("${mcp.archive.after:30d}") Duration after,
+                          @Value("${mcp.archive.interval:1h}") Duration interval,
+                          @Value("${mcp.archive.batch-size:500}") int batchSize) {
+        this.jdbc = jdbc;
+        this.transactionTemplate = transactionTemplate;
+        this.lookupCache = lookupCache;
+        this.enabled = enabled;
+        this.after = after;
+        this.interval = interval;
+        this.batchSize = batchSize;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "mcp-course-archiver");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::runSafely, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private void runSafely() {
+        try {
+            int archived = archive();
+            if (archived > 0) {
+                log.info("Archived {} soft-deleted courses", archived);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Course archiving failed, will retry in {}", interval, e);
+        }
+    }
+
+    /**
+     * Archive every eligible course now.
+     *
+     * @return number of courses moved to {@code course_archive}
+     */
+    public int archive() {
+        LocalDateTime now = LocalDateTime.now();
+        // Rows soft-deleted before deleted_at existed: start their clock now
+        jdbc.update("UPDATE course SET deleted_at = :now WHERE deleted = true AND deleted_at IS NULL",
+                new MapSqlParameterSource("now", now));
+
+        MapSqlParameterSource select = new MapSqlParameterSource()
+                .addValue("cutoff", now.minus(after))
+                .addValue("limit", batchSize);
+        int total = 0;
+        long afterId = 0;
+        while (true) {
+            List<Long> ids = jdbc.queryForList("""
+                    SELECT c.id FROM course c
+                    WHERE c.deleted = true AND c.deleted_at < :cutoff AND c.id > :afterId
+                      AND NOT EXISTS (SELECT 1 FROM enrollments e WHERE e.course_id = c.id)
+                    ORDER BY c.id
+                    LIMIT :limit""", select.addValue("afterId", afterId), Long.class);
+            if (ids.isEmpty()) {
+                break;
+            }
+            Integer moved = transactionTemplate.execute(status -> move(ids, now));
+            total += moved == null ? 0 : moved;
+            afterId = ids.get(ids.size() - 1);
+            if (ids.size() < batchSize) {
+                break;
+            }
+        }
+        if (total > 0) {
+            lookupCache.invalidateAllCourses();
+        }
+        return total;
+    }
+
+    private int move(List<Long> ids, LocalDateTime now) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("ids", ids)
+                .addValue("now", now);
+        // Re-check deleted so a course restored since the select stays hot
+        jdbc.update("INSERT INTO course_archive (" + COLUMNS + ", archived_at) SELECT " + COLUMNS + ", :now FROM course "
+                + "WHERE id IN (:ids) AND deleted = true", params);
+        return jdbc.update("DELETE FROM course WHERE id IN (:ids) AND deleted = true "
+                + "AND id IN (SELECT a.id FROM course_archive a WHERE a.id IN (:ids))", params);
+    }
+}
@@ -0,0 +1,110 @@
+package com.abovebytes.mcp.metrics;
+
+import com.abovebytes.mcp.models.ToolMetricsSnapshot;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer meters for MCP tool and prompt calls, one set per tool name:
+ * <ul>
+ *     <li>{@code mcp.tool.latency} timer with p50/p95/p99</li>
+ *     <li>{@code mcp.tool.calls} and {@code mcp.tool.errors} counters</li>
+ *     <li>{@code mcp.tool.result.bytes} JSON size of the returned value</li>
+ *     <li>{@code mcp.tool.sql.statements} Hibernate statements issued by the call</li>
+ *     <li>{@code mcp.tool.coalesced} calls answered by an identical call already in flight</li>
+ * </ul>
+ */
+@Component
+public class ToolMetrics {
+
+    private final MeterRegistry registry;
+    private final Map<String, Meters> meters = new ConcurrentHashMap<>();
+
+    private record Meters(Timer latency, Counter calls, Counter errors, DistributionSummary resultBytes, DistributionSummary sqlStatements,
+                          Counter coalesced) {
+    }
+
+    public ToolMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public void record(String tool, long durationNanos, boolean error, long resultBytes, long sqlStatements) {
+        Meters m = meters.computeIfAbsent(tool, this::register);
+        m.latency().record(durationNanos, TimeUnit.NANOSECONDS);
+        m.calls().increment();
+        if (error) {
+            m.errors().increment();
+        }
+        if (resultBytes >= 0) {
+            m.resultBytes().record(resultBytes);
+        }
+        m.sqlStatements().record(sqlStatements);
+    }
+
+    public void recordCoalesced(String tool) {
+        meters.computeIfAbsent(tool, this::register).coalesced().increment();
+    }
+
+    private Meters register(String tool) {
+        return new Meters(
+                Timer.builder("mcp.tool.latency").tag("tool", tool)
+                        .publishPercentiles(0.5, 0.95, 0.99)
+                        .publishPercentileHistogram()
+                        .register(registry),
+                Counter.builder("mcp.tool.calls").tag("tool", tool).register(registry),
+                Counter.builder("mcp.tool.errors").tag("tool", tool).register(registry),
+                DistributionSummary.builder("mcp.tool.result.bytes").tag("tool", tool).baseUnit("bytes").register(registry),
+                DistributionSummary.builder("mcp.tool.sql.statements").tag("tool", tool).register(registry),
+                Counter.builder("mcp.tool.coalesced").tag("tool", tool).register(registry));
+    }
+
+    public List<ToolMetricsSnapshot> snapshot() {
+        return meters.entrySet().stream()
+                .map(e -> snapshot(e.getKey(), e.getValue()))
+                .sorted(Comparator.comparingLong(ToolMetricsSnapshot::calls).reversed())
+                .toList();
+    }
+
+    public long totalCalls() {
+        return (long) meters.values().stream().mapToDouble(m -> m.calls().count()).sum();
+    }
+
+    public long totalErrors() {
+        return (long) meters.values().stream().mapToDouble(m -> m.errors().count()).sum();
+    }
+
+    private static ToolMetricsSnapshot snapshot(String tool, Meters m) {
+        HistogramSnapshot latency = m.latency().takeSnapshot();
+        return new ToolMetricsSnapshot(
+                tool,
+                (long) m.calls().count(),
+                (long) m.errors().count(),
+                (long) m.coalesced().count(),
+                percentile(latency, 0.5),
+                percentile(latency, 0.95),
+                percentile(latency, 0.99),
+                latency.max(TimeUnit.MILLISECONDS),
+                m.resultBytes().mean(),
+                m.sqlStatements().mean());
+    }
+
+    private static double percentile(HistogramSnapshot snapshot, double percentile) {
+        for (ValueAtPercentile value : snapshot.percentileValues()) {
+            if (value.percentile() == percentile) {
+                return value.value(TimeUnit.MILLISECONDS);
+            }
+        }
+        return Double.NaN;
+    }
+}
@@ -0,0 +1,140 @@
+package com.abovebytes.mcp.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springaicommunity.mcp.annotation.McpPrompt;
+import org.springaicommunity.mcp.annotation.McpTool;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Times every {@code @McpTool} and {@code @McpPrompt} method and records its outcome,
+ * result size and SQL statement count in {@link ToolMetrics}.
+ * <p>
+ * Result size is opt-in ({@code mcp.metrics.result-size.enabled}) and measured on a
+ * {@code sample-rate} fraction of calls: a non-String result has to be serialized once more
+ * just to be measured. Sizes are UTF-8 bytes, as sent on the wire.
+ */
+@Aspect
+@Component
+@Order(ToolMetricsAspect.ORDER)
+public class ToolMetricsAspect {
+
+    public static final int ORDER = 100;
+
+    private static final Logger log = LoggerFactory.getLogger(ToolMetricsAspect.class);
+
+    private final ToolMetrics toolMetrics;
+    private final ObjectMapper objectMapper;
+    private final boolean measureResultSize;
+    private final double resultSizeSampleRate;
+
+    public ToolMetricsAspect(ToolMetrics toolMetrics,
+                             ObjectMapper objectMapper,
+                             @Value("${mcp.metrics.result-size.enabled:false}") boolean measureResultSize,
+                             @Value("${mcp.metrics.result-size.sample-rate:0.1}") double resultSizeSampleRate) {
+        this.toolMetrics = toolMetrics;
+        this.objectMapper = objectMapper;
+        this.measureResultSize = measureResultSize;
+        this.resultSizeSampleRate = resultSizeSampleRate;
+    }
+
+    @Around("@annotation(org.springaicommunity.mcp.annotation.McpTool) || @annotation(org.springaicommunity.mcp.annotation.McpPrompt)")
+    public Object measure(ProceedingJoinPoint pjp) throws Throwable {
+        String tool = toolName(pjp);
+        long sqlBefore = SqlStatementCounter.current();
+        long start = System.nanoTime();
+        boolean error = false;
+        Object result = null;
+        try {
+            result = pjp.proceed();
+            return result;
+        } catch (Throwable t) {
+            error = true;
+            throw t;
+        } finally {
+            long duration = System.nanoTime() - start;
+            long statements = SqlStatementCounter.current() - sqlBefore;
+            toolMetrics.record(tool, duration, error, error ? -1 : resultBytes(result), statements);
+        }
+    }
+
+    public static String toolName(ProceedingJoinPoint pjp) {
+        Method method = ((MethodSignature) pjp.getSignature()).getMethod();
+        McpTool tool = method.getAnnotation(McpTool.class);
+        if (tool != null && !tool.name().isEmpty()) {
+            return tool.name();
+        }
+        McpPrompt prompt = method.getAnnotation(McpPrompt.class);
+        if (prompt != null && !prompt.name().isEmpty()) {
+            return prompt.name();
+        }
+        return method.getName();
+    }
+
+    /**
+     * UTF-8 size of the result, or -1 when this call is not measured.
+     */
+    long resultBytes(Object result) {
+        if (!measureResultSize || ThreadLocalRandom.current().nextDouble() >= resultSizeSampleRate) {
+            return -1;
+        }
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof CharSequence text) {
+            return utf8Length(text);
+        }
+        CountingOutputStream out = new CountingOutputStream();
+        try {
+            objectMapper.writeValue(out, result);
+        } catch (IOException | RuntimeException e) {
+            log.debug("Could not measure result size", e);
+            return -1;
+        }
+        return out.count;
+    }
+
+    static long utf8Length(CharSequence text) {
+        long bytes = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                bytes++;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < text.length() && Character.isLowSurrogate(text.charAt(i + 1))) {
+                bytes += 4;
+                i++;
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
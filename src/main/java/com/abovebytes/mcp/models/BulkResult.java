@@ -0,0 +1,4 @@
+package com.abovebytes.mcp.models;
+
+public record BulkResult(String operation, int affectedRows) {
+}
@@ -0,0 +1,9 @@
+package com.abovebytes.mcp.models;
+
+public record CacheStats(String name,
+                         long size,
+                         long hitCount,
+                         long missCount,
+                         double hitRate,
+                         long evictionCount) {
+}
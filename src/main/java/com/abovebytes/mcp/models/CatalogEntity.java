@@ -0,0 +1,8 @@
+package com.abovebytes.mcp.models;
+
+public enum CatalogEntity {
+
+    COURSES,
+    USERS,
+    ENROLLMENTS
+}
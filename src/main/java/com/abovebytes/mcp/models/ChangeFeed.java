@@ -0,0 +1,18 @@
+package com.abovebytes.mcp.models;
+
+import com.abovebytes.mcp.entities.CatalogChange;
+
+import java.util.List;
+
+/**
+ * One page of the catalog change log, oldest first. Pass {@code nextVersion} as the next
+ * {@code sinceVersion}; {@code resyncRequired} means changes after {@code sinceVersion} were already
+ * pruned, so the lists must be read again before following the feed.
+ */
+public record ChangeFeed(long sinceVersion,
+                         long nextVersion,
+                         long currentVersion,
+                         List<CatalogChange> changes,
+                         boolean hasMore,
+                         boolean resyncRequired) {
+}
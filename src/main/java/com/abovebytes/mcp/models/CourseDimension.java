@@ -0,0 +1,8 @@
+package com.abovebytes.mcp.models;
+
+public enum CourseDimension {
+
+    PROVIDER,
+    LEVEL,
+    LANGUAGE
+}
@@ -1,4 +1,9 @@
 package com.abovebytes.mcp.models;
 
-public record CourseDto(String title, String url) {
+/**
+ * Compact course row: everything an agent needs to pick a course, without the description,
+ * normalized key and audit timestamps. Built directly by JPQL constructor queries.
+ */
+public record CourseDto(Long id, String title, String url, Provider provider, Level level,
+                        String language, Double rating, Boolean active) {
 }
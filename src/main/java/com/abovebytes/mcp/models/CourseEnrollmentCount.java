@@ -0,0 +1,7 @@
+package com.abovebytes.mcp.models;
+
+public record CourseEnrollmentCount(Long courseId,
+                                    String courseTitle,
+                                    long enrollments,
+                                    long activeEnrollments) {
+}
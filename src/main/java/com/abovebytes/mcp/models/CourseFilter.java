@@ -0,0 +1,10 @@
+package com.abovebytes.mcp.models;
+
+/**
+ * Facet constraints for {@code courses_filter}. Null fields are ignored; the remaining ones are
+ * combined with AND. Ranges are inclusive.
+ */
+public record CourseFilter(Provider provider, Level level, String language, Boolean active,
+                           Double minRating, Double maxRating,
+                           Integer minDurationMinutes, Integer maxDurationMinutes) {
+}
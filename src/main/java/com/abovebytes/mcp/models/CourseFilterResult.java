@@ -0,0 +1,14 @@
+package com.abovebytes.mcp.models;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of {@code courses_filter}: how many courses match, the first of them in the requested order,
+ * and per facet (provider, level, language, active, rating, durationMinutes) how many courses each
+ * value would give with all the other filters kept.
+ */
+public record CourseFilterResult(int total,
+                                 List<FilteredCourse> courses,
+                                 Map<String, Map<String, Integer>> facets) {
+}
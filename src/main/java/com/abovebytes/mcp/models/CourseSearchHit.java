@@ -0,0 +1,10 @@
+package com.abovebytes.mcp.models;
+
+public record CourseSearchHit(Long courseId,
+                              String title,
+                              String url,
+                              Provider provider,
+                              Level level,
+                              Double rating,
+                              double score) {
+}
@@ -0,0 +1,16 @@
+package com.abovebytes.mcp.models;
+
+import java.util.List;
+
+/**
+ * Criteria for set-based course operations. Null or empty fields are ignored;
+ * the remaining ones are combined with AND.
+ */
+public record CourseSelector(Provider provider, Level level, List<String> titles, List<Long> ids) {
+
+    public boolean isEmpty() {
+        return provider == null && level == null
+                && (titles == null || titles.isEmpty())
+                && (ids == null || ids.isEmpty());
+    }
+}
@@ -0,0 +1,9 @@
+package com.abovebytes.mcp.models;
+
+public enum CourseSort {
+
+    RATING,
+    DURATION,
+    TITLE,
+    ID
+}
@@ -0,0 +1,10 @@
+package com.abovebytes.mcp.models;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated tool result.
+ * {@code nextCursor} is null once the last page has been returned.
+ */
+public record CursorPage<T>(List<T> items, String nextCursor, int pageSize) {
+}
@@ -0,0 +1,11 @@
+package com.abovebytes.mcp.models;
+
+/**
+ * Courses sharing one value of a {@link CourseDimension}, with their average rating and duration.
+ */
+public record DistributionBucket(String value,
+                                 long courses,
+                                 long activeCourses,
+                                 Double averageRating,
+                                 Double averageDurationMinutes) {
+}
@@ -0,0 +1,17 @@
+package com.abovebytes.mcp.models;
+
+import java.util.List;
+
+/**
+ * Outcome of an enroll/unenroll call: {@code affected} students changed state, {@code unchanged}
+ * were already enrolled (or already unenrolled), {@code unknownStudents} matched no user (as sent).
+ * {@code affectedRows} counts enrollment rows: an unenroll without a teacher ends one row per teacher.
+ */
+public record EnrollmentBatchResult(String operation,
+                                    String courseTitle,
+                                    int requested,
+                                    int affected,
+                                    int unchanged,
+                                    int affectedRows,
+                                    List<String> unknownStudents) {
+}
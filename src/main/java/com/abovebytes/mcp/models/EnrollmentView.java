@@ -0,0 +1,20 @@
+package com.abovebytes.mcp.models;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flat, read-only view of an enrollment: ids, names and emails of the people involved and the
+ * course title, without the full user and course graphs.
+ */
+public record EnrollmentView(Long id,
+                             Long studentId,
+                             String studentName,
+                             String studentEmail,
+                             Long teacherId,
+                             String teacherName,
+                             String teacherEmail,
+                             Long courseId,
+                             String courseTitle,
+                             LocalDateTime enrolledAt,
+                             boolean active) {
+}
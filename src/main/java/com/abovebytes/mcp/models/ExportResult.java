@@ -0,0 +1,9 @@
+package com.abovebytes.mcp.models;
+
+public record ExportResult(CatalogEntity entity,
+                           TransferFormat format,
+                           String file,
+                           long rows,
+                           long bytes,
+                           long elapsedMillis) {
+}
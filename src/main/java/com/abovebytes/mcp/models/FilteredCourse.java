@@ -0,0 +1,12 @@
+package com.abovebytes.mcp.models;
+
+public record FilteredCourse(Long id,
+                             String title,
+                             String url,
+                             Provider provider,
+                             Level level,
+                             String language,
+                             Double rating,
+                             Integer durationMinutes,
+                             Boolean active) {
+}
@@ -0,0 +1,18 @@
+package com.abovebytes.mcp.models;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk import. {@code rejections} lists the first rejected rows (by source line);
+ * {@code rejected} is the full count.
+ */
+public record ImportResult(CatalogEntity entity,
+                           TransferFormat format,
+                           String file,
+                           long rowsRead,
+                           long inserted,
+                           long rejected,
+                           int batches,
+                           long elapsedMillis,
+                           List<RejectedRow> rejections) {
+}
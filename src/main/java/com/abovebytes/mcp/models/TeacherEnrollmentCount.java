@@ -0,0 +1,8 @@
+package com.abovebytes.mcp.models;
+
+public record TeacherEnrollmentCount(Long teacherId,
+                                     String teacherName,
+                                     String teacherEmail,
+                                     long enrollments,
+                                     long courses) {
+}
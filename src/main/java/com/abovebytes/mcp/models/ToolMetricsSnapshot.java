@@ -0,0 +1,13 @@
+package com.abovebytes.mcp.models;
+
+public record ToolMetricsSnapshot(String tool,
+                                  long calls,
+                                  long errors,
+                                  long coalesced,
+                                  double p50Millis,
+                                  double p95Millis,
+                                  double p99Millis,
+                                  double maxMillis,
+                                  double meanResultBytes,
+                                  double meanSqlStatements) {
+}
@@ -0,0 +1,16 @@
+package com.abovebytes.mcp.models;
+
+import java.util.Locale;
+
+public enum TransferFormat {
+
+    NDJSON,
+    CSV;
+
+    /**
+     * Format implied by a file name: {@code .csv} is CSV, anything else NDJSON.
+     */
+    public static TransferFormat fromFileName(String fileName) {
+        return fileName.toLowerCase(Locale.ROOT).endsWith(".csv") ? CSV : NDJSON;
+    }
+}
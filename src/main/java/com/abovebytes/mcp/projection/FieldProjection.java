@@ -0,0 +1,117 @@
+package com.abovebytes.mcp.projection;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Serializes tool results keeping only the requested properties of one item type, e.g. the
+ * {@code Course}s inside a {@code CursorPage<Course>}. Wrapper objects are written in full.
+ * <p>
+ * Results are returned as a JSON string, which the MCP tool callback passes through as the
+ * text content unchanged, so the work done here is the only serialization of the result.
+ */
+@Component
+public class FieldProjection {
+
+    /** Variant key used when no projection is requested. */
+    public static final String ALL_FIELDS = "*";
+
+    private static final String FILTER_ID = "mcpFieldProjection";
+
+    @JsonFilter(FILTER_ID)
+    private static class ProjectionMixIn {
+    }
+
+    private final ObjectMapper mapper;
+    private final ObjectWriter fullWriter;
+    private final Map<Class<?>, Set<String>> propertiesByType = new ConcurrentHashMap<>();
+
+    public FieldProjection(ObjectMapper objectMapper) {
+        this.mapper = objectMapper.copy().addMixIn(Object.class, ProjectionMixIn.class);
+        this.fullWriter = mapper.writer(new SimpleFilterProvider().addFilter(FILTER_ID, SimpleBeanPropertyFilter.serializeAll()));
+    }
+
+    /**
+     * Canonical key of a field list (sorted, de-duplicated), used to cache serialized variants.
+     */
+    public String variant(Collection<String> fields) {
+        if (fields == null || fields.isEmpty()) {
+            return ALL_FIELDS;
+        }
+        return String.join(",", new TreeSet<>(fields));
+    }
+
+    /**
+     * Write {@code value} as JSON, keeping only {@code fields} on instances of {@code type}.
+     * An empty or missing field list keeps every property.
+     *
+     * @throws IllegalArgumentException if a field is not a property of {@code type}
+     */
+    public String write(Object value, Class<?> type, Collection<String> fields) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            if (fields == null || fields.isEmpty()) {
+                return fullWriter.writeValueAsString(value);
+            }
+            Set<String> keep = validate(type, fields);
+            return mapper.writer(new SimpleFilterProvider().addFilter(FILTER_ID, new TypeFilter(type, keep)))
+                    .writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + type.getSimpleName() + " result", e);
+        }
+    }
+
+    private Set<String> validate(Class<?> type, Collection<String> fields) {
+        Set<String> known = propertiesByType.computeIfAbsent(type, t -> mapper.getSerializationConfig()
+                .introspect(mapper.constructType(t))
+                .findProperties().stream()
+                .map(BeanPropertyDefinition::getName)
+                .collect(Collectors.toCollection(TreeSet::new)));
+        Set<String> keep = fields.stream().map(String::trim).collect(Collectors.toSet());
+        List<String> unknown = keep.stream().filter(f -> !known.contains(f)).sorted().toList();
+        if (!unknown.isEmpty()) {
+            throw new IllegalArgumentException("Unknown field(s) " + unknown + " for " + type.getSimpleName()
+                    + ". Available fields: " + known);
+        }
+        return keep;
+    }
+
+    private static final class TypeFilter extends SimpleBeanPropertyFilter {
+
+        private final Class<?> type;
+        private final Set<String> keep;
+
+        private TypeFilter(Class<?> type, Set<String> keep) {
+            this.type = type;
+            this.keep = keep;
+        }
+
+        @Override
+        public void serializeAsField(Object pojo, JsonGenerator gen, SerializerProvider provider, PropertyWriter writer) throws Exception {
+            if (!type.isInstance(pojo) || keep.contains(writer.getName())) {
+                writer.serializeAsField(pojo, gen, provider);
+            } else if (!gen.canOmitFields()) {
+                writer.serializeAsOmittedField(pojo, gen, provider);
+            }
+        }
+    }
+}
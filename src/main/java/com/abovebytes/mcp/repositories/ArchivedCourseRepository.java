@@ -0,0 +1,15 @@
+package com.abovebytes.mcp.repositories;
+
+import com.abovebytes.mcp.entities.ArchivedCourse;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface ArchivedCourseRepository extends JpaRepository<ArchivedCourse, Long> {
+
+    Optional<ArchivedCourse> findFirstByCourseNameKeyOrderByCourseIdDesc(String courseNameKey);
+
+    List<ArchivedCourse> findByCourseIdGreaterThanOrderByCourseIdAsc(Long afterId, Pageable limit);
+}
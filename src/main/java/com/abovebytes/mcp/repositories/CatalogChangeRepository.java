@@ -0,0 +1,30 @@
+package com.abovebytes.mcp.repositories;
+
+import com.abovebytes.mcp.entities.CatalogChange;
+import com.abovebytes.mcp.models.CatalogEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface CatalogChangeRepository extends JpaRepository<CatalogChange, Long> {
+
+    List<CatalogChange> findByVersionGreaterThanOrderByVersionAsc(Long afterVersion, Pageable limit);
+
+    Optional<CatalogChange> findFirstByEntityOrderByVersionDesc(CatalogEntity entity);
+
+    @Query("select coalesce(max(c.version), 0) from CatalogChange c")
+    long currentVersion();
+
+    @Query("select coalesce(min(c.version), 0) from CatalogChange c")
+    long oldestVersion();
+
+    @Modifying
+    @Query("delete from CatalogChange c where c.changedAt < :cutoff and c.version < :belowVersion")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff, @Param("belowVersion") long belowVersion);
+}
@@ -0,0 +1,13 @@
+package com.abovebytes.mcp.repositories;
+
+import com.abovebytes.mcp.models.CourseSelector;
+
+/**
+ * Set-based course mutations. Each method issues exactly one UPDATE or DELETE statement.
+ */
+public interface CourseBulkOperations {
+
+    int bulkDelete(CourseSelector selector);
+
+    int bulkUpdateFlags(CourseSelector selector, Boolean active, Boolean deleted);
+}
@@ -0,0 +1,79 @@
+package com.abovebytes.mcp.repositories;
+
+import com.abovebytes.mcp.entities.Course;
+import com.abovebytes.mcp.models.CourseSelector;
+import com.abovebytes.mcp.utils.KeyUtils;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaDelete;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+class CourseBulkOperationsImpl implements CourseBulkOperations {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int bulkDelete(CourseSelector selector) {
+        requireCriteria(selector);
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaDelete<Course> delete = cb.createCriteriaDelete(Course.class);
+        Root<Course> root = delete.from(Course.class);
+        delete.where(predicates(cb, root, selector));
+        return entityManager.createQuery(delete).executeUpdate();
+    }
+
+    @Override
+    public int bulkUpdateFlags(CourseSelector selector, Boolean active, Boolean deleted) {
+        requireCriteria(selector);
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Course> update = cb.createCriteriaUpdate(Course.class);
+        Root<Course> root = update.from(Course.class);
+        List<Predicate> where = new ArrayList<>(List.of(predicates(cb, root, selector)));
+        // Skip rows already in the target state so the affected count only reports real transitions
+        if (active != null) {
+            update.set(root.<Boolean>get("active"), active);
+            where.add(cb.notEqual(root.get("active"), active));
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (deleted != null) {
+            update.set(root.<Boolean>get("deleted"), deleted);
+            update.set(root.<LocalDateTime>get("deletedAt"), deleted ? now : null);
+            where.add(cb.notEqual(root.get("deleted"), deleted));
+        }
+        update.set(root.<LocalDateTime>get("updatedAt"), now);
+        update.set(root.<Long>get("version"), cb.sum(root.<Long>get("version"), 1L));
+        update.where(where.toArray(Predicate[]::new));
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    private static Predicate[] predicates(CriteriaBuilder cb, Root<Course> root, CourseSelector selector) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (selector.provider() != null) {
+            predicates.add(cb.equal(root.get("provider"), selector.provider()));
+        }
+        if (selector.level() != null) {
+            predicates.add(cb.equal(root.get("level"), selector.level()));
+        }
+        if (selector.titles() != null && !selector.titles().isEmpty()) {
+            predicates.add(root.get("courseNameKey").in(selector.titles().stream().map(KeyUtils::normalize).toList()));
+        }
+        if (selector.ids() != null && !selector.ids().isEmpty()) {
+            predicates.add(root.get("courseId").in(selector.ids()));
+        }
+        return predicates.toArray(Predicate[]::new);
+    }
+
+    private static void requireCriteria(CourseSelector selector) {
+        if (selector == null || selector.isEmpty()) {
+            throw new IllegalArgumentException("At least one of provider, level, titles or ids is required");
+        }
+    }
+}
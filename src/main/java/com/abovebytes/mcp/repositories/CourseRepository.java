@@ -1,19 +1,103 @@
 package com.abovebytes.mcp.repositories;
 
 import com.abovebytes.mcp.entities.Course;
+import com.abovebytes.mcp.models.CourseDto;
+import com.abovebytes.mcp.models.DistributionBucket;
 import com.abovebytes.mcp.models.Level;
 import com.abovebytes.mcp.models.Provider;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface CourseRepository extends JpaRepository<Course, Long> {
-    Optional<Course> findByCourseNameIgnoreCase(String courseName);
+public interface CourseRepository extends JpaRepository<Course, Long>, CourseBulkOperations {
+    // Any state, including soft-deleted rows; default reads use the *DeletedFalse variants
+    Optional<Course> findByCourseNameKey(String courseNameKey);
+
+    Optional<Course> findByCourseNameKeyAndDeletedFalse(String courseNameKey);
+
+    // A title is only unique per provider and level
+    List<Course> findAllByCourseNameKeyAndDeletedFalse(String courseNameKey);
+
+    Optional<Course> findByCourseIdAndDeletedFalse(Long courseId);
+
+    long countByDeletedFalse();
 
     Optional<Course> findFirstByDescriptionContainingIgnoreCase(String text);
 
-    Optional<Course> findByCourseNameIgnoreCaseAndProviderAndLevel(String courseName, Provider provider, Level level);
-}
\ No newline at end of file
+    // Also called after a failed INSERT in the same transaction: must not flush the rejected entity
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT"))
+    Optional<Course> findByCourseNameKeyAndProviderAndLevel(String courseNameKey, Provider provider, Level level);
+
+    List<Course> findByCourseIdGreaterThanOrderByCourseIdAsc(Long afterId, Pageable limit);
+
+    List<Course> findByDeletedFalseAndCourseIdGreaterThanOrderByCourseIdAsc(Long afterId, Pageable limit);
+
+    @Query("select new com.abovebytes.mcp.models.CourseDto(c.courseId, c.courseName, c.courseUrl, c.provider, c.level, c.language, c.rating, c.active) " +
+            "from Course c where c.deleted = false and c.courseId > :afterId order by c.courseId asc")
+    List<CourseDto> findCompact(@Param("afterId") Long afterId, Pageable limit);
+
+    @Modifying
+    @Query("delete from Course c where c.courseNameKey = :key")
+    int deleteByCourseNameKey(@Param("key") String courseNameKey);
+
+    /*
+     * Single-statement updates of one live course; a non-null expectedVersion turns them into compare-and-set.
+     * The persistence context is cleared so the course read before the update is not served stale afterwards.
+     */
+
+    @Modifying(clearAutomatically = true)
+    @Query("update Course c set c.courseUrl = :url, c.updatedAt = :now, c.version = c.version + 1 " +
+            "where c.courseId = :id and c.deleted = false and (:expectedVersion is null or c.version = :expectedVersion)")
+    int updateUrl(@Param("id") Long courseId, @Param("url") String url,
+                  @Param("expectedVersion") Long expectedVersion, @Param("now") LocalDateTime now);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update Course c set c.courseName = :title, c.courseNameKey = :newKey, c.updatedAt = :now, c.version = c.version + 1 " +
+            "where c.courseId = :id and c.deleted = false and (:expectedVersion is null or c.version = :expectedVersion)")
+    int updateTitle(@Param("id") Long courseId, @Param("title") String title, @Param("newKey") String newKey,
+                    @Param("expectedVersion") Long expectedVersion, @Param("now") LocalDateTime now);
+
+    /* Aggregates over the live catalog (soft-deleted courses excluded) */
+
+    @Query("select new com.abovebytes.mcp.models.CourseDto(c.courseId, c.courseName, c.courseUrl, c.provider, c.level, c.language, c.rating, c.active) " +
+            "from Course c where c.deleted = false and c.active = true and c.rating is not null " +
+            "and (:provider is null or c.provider = :provider) and (:level is null or c.level = :level) " +
+            "order by c.rating desc, c.courseId")
+    List<CourseDto> findTopRated(@Param("provider") Provider provider, @Param("level") Level level, Pageable limit);
+
+    @Query("""
+            select new com.abovebytes.mcp.models.DistributionBucket(
+                cast(c.provider as String), count(c), sum(case when c.active = true then 1L else 0L end), avg(c.rating), avg(c.durationMinutes))
+            from Course c where c.deleted = false
+            group by c.provider order by count(c) desc
+            """)
+    List<DistributionBucket> distributionByProvider();
+
+    @Query("""
+            select new com.abovebytes.mcp.models.DistributionBucket(
+                cast(c.level as String), count(c), sum(case when c.active = true then 1L else 0L end), avg(c.rating), avg(c.durationMinutes))
+            from Course c where c.deleted = false
+            group by c.level order by count(c) desc
+            """)
+    List<DistributionBucket> distributionByLevel();
+
+    @Query("""
+            select new com.abovebytes.mcp.models.DistributionBucket(
+                c.language, count(c), sum(case when c.active = true then 1L else 0L end), avg(c.rating), avg(c.durationMinutes))
+            from Course c where c.deleted = false
+            group by c.language order by count(c) desc
+            """)
+    List<DistributionBucket> distributionByLanguage();
+}
@@ -1,13 +1,118 @@
 package com.abovebytes.mcp.repositories;
 
 import com.abovebytes.mcp.entities.Enrollment;
-import com.abovebytes.mcp.entities.User;
-import com.abovebytes.mcp.entities.Course;
+import com.abovebytes.mcp.models.CourseEnrollmentCount;
+import com.abovebytes.mcp.models.EnrollmentView;
+import com.abovebytes.mcp.models.TeacherEnrollmentCount;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
-    List<Enrollment> findByStudent(User student);
-    List<Enrollment> findByCourse(Course course);
-    List<Enrollment> findByTeacher(User teacher);
+
+    String VIEW_SELECT = """
+            select new com.abovebytes.mcp.models.EnrollmentView(
+                e.id, s.userId, s.fullName, s.email, t.userId, t.fullName, t.email,
+                c.courseId, c.courseName, e.enrolledAt, e.active)
+            from Enrollment e join e.student s join e.teacher t join e.course c
+            """;
+
+    // Entity access with all associations fetched in the same statement
+    @EntityGraph(attributePaths = {"student", "teacher", "course"})
+    List<Enrollment> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable limit);
+
+    @Query(VIEW_SELECT + "where e.id > :afterId order by e.id")
+    List<EnrollmentView> findViews(@Param("afterId") Long afterId, Pageable limit);
+
+    @Query(VIEW_SELECT + "where s.emailKey = :key and e.id > :afterId order by e.id")
+    List<EnrollmentView> findViewsByStudentEmailKey(@Param("key") String emailKey, @Param("afterId") Long afterId, Pageable limit);
+
+    @Query(VIEW_SELECT + "where t.emailKey = :key and e.id > :afterId order by e.id")
+    List<EnrollmentView> findViewsByTeacherEmailKey(@Param("key") String emailKey, @Param("afterId") Long afterId, Pageable limit);
+
+    @Query(VIEW_SELECT + "where c.courseNameKey = :key and e.id > :afterId order by e.id")
+    List<EnrollmentView> findViewsByCourseNameKey(@Param("key") String courseNameKey, @Param("afterId") Long afterId, Pageable limit);
+
+    /* Aggregates: grouped in the database, busiest first */
+
+    @Query("""
+            select new com.abovebytes.mcp.models.CourseEnrollmentCount(
+                c.courseId, c.courseName, count(e), sum(case when e.active = true then 1L else 0L end))
+            from Enrollment e join e.course c
+            group by c.courseId, c.courseName
+            order by count(e) desc, c.courseId
+            """)
+    List<CourseEnrollmentCount> countByCourse(Pageable limit);
+
+    @Query("""
+            select new com.abovebytes.mcp.models.TeacherEnrollmentCount(
+                t.userId, t.fullName, t.email, count(e), count(distinct e.course.courseId))
+            from Enrollment e join e.teacher t
+            group by t.userId, t.fullName, t.email
+            order by count(e) desc, t.userId
+            """)
+    List<TeacherEnrollmentCount> countByTeacher(Pageable limit);
+
+    /* Writes: keys resolved once, then one statement per cohort */
+
+    /**
+     * Resolve user emails and a course title in one round trip. Rows are {@code [kind, id, key]} with
+     * kind {@code U} for users (key = email key) and {@code C} for live courses (key = title key).
+     */
+    @Query(value = """
+            SELECT 'U' AS kind, u.user_id AS id, u.email_key AS k FROM app_user u WHERE u.email_key IN (:emailKeys)
+            UNION ALL
+            SELECT 'C', c.id, c.course_name_key FROM course c
+            WHERE c.course_name_key = :courseKey AND c.deleted = false
+              AND (:provider IS NULL OR c.provider = :provider) AND (:level IS NULL OR c.level = :level)
+            """, nativeQuery = true)
+    List<Object[]> resolveKeys(@Param("emailKeys") Collection<String> emailKeys,
+                               @Param("courseKey") String courseKey,
+                               @Param("provider") String provider,
+                               @Param("level") String level);
+
+    /**
+     * Insert the enrollments that do not exist yet; returns the number inserted. Existing rows are skipped by
+     * uk_enrollment_student_course_teacher (IGNORE), so two concurrent calls for the same student cannot fail
+     * each other's batch the way a NOT EXISTS check followed by an INSERT can.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT IGNORE INTO enrollments (student_id, teacher_id, course_id, enrolled_at, active)
+            SELECT s.user_id, :teacherId, :courseId, :now, true FROM app_user s
+            WHERE s.user_id IN (:studentIds)
+            """, nativeQuery = true)
+    int insertMissing(@Param("studentIds") Collection<Long> studentIds,
+                      @Param("teacherId") Long teacherId,
+                      @Param("courseId") Long courseId,
+                      @Param("now") LocalDateTime now);
+
+    // Distinct students with at least one row that updateActive would change
+    @Query("""
+            select distinct e.student.userId from Enrollment e
+            where e.course.courseId = :courseId and e.student.userId in :studentIds
+              and (:teacherId is null or e.teacher.userId = :teacherId) and e.active <> :active
+            """)
+    List<Long> findStudentsToUpdate(@Param("studentIds") Collection<Long> studentIds,
+                                    @Param("teacherId") Long teacherId,
+                                    @Param("courseId") Long courseId,
+                                    @Param("active") boolean active);
+
+    // Only rows actually changing state are counted
+    @Modifying
+    @Query("""
+            update Enrollment e set e.active = :active
+            where e.course.courseId = :courseId and e.student.userId in :studentIds
+              and (:teacherId is null or e.teacher.userId = :teacherId) and e.active <> :active
+            """)
+    int updateActive(@Param("studentIds") Collection<Long> studentIds,
+                     @Param("teacherId") Long teacherId,
+                     @Param("courseId") Long courseId,
+                     @Param("active") boolean active);
 }
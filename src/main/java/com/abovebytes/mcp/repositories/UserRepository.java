@@ -1,13 +1,26 @@
 package com.abovebytes.mcp.repositories;
 
 import com.abovebytes.mcp.entities.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
 
-    Optional<User> findByEmailIgnoreCase(String email);
+    Optional<User> findByEmailKey(String emailKey);
 
     long countByActiveTrue();
+
+    List<User> findByUserIdGreaterThanOrderByUserIdAsc(Long afterId, Pageable limit);
+
+    @Modifying
+    @Query("update User u set u.active = false, u.updatedAt = :now, u.version = u.version + 1 where u.emailKey in :keys and u.active = true")
+    int deactivateByEmailKeys(@Param("keys") Collection<String> emailKeys, @Param("now") LocalDateTime now);
 }
@@ -0,0 +1,327 @@
+package com.abovebytes.mcp.search;
+
+import com.abovebytes.mcp.entities.Course;
+import com.abovebytes.mcp.models.CourseSelector;
+import com.abovebytes.mcp.models.Level;
+import com.abovebytes.mcp.models.Provider;
+import com.abovebytes.mcp.repositories.CourseRepository;
+import com.abovebytes.mcp.utils.KeyUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over course titles and descriptions with BM25 ranking.
+ * <p>
+ * Title terms are counted {@link #TITLE_WEIGHT} times so a match in the title outranks
+ * the same match in a long description. The index is built from the database once the
+ * application is ready and then kept current by the course write tools, which apply their change
+ * once their transaction commits.
+ * <p>
+ * Writes that arrive while a rebuild is reading the table are applied to the live index and also
+ * remembered, then replayed onto the new index at the swap, so the swap cannot drop them.
+ */
+@Component
+public class CourseSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(CourseSearchIndex.class);
+
+    static final int TITLE_WEIGHT = 3;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int BUILD_PAGE_SIZE = 1000;
+
+    private final CourseRepository courseRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicBoolean building = new AtomicBoolean();
+
+    // term -> (course id -> weighted term frequency)
+    private Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    private Map<Long, Doc> docs = new HashMap<>();
+    private long totalLength;
+    private volatile boolean ready;
+    // Latest doc per course changed during a rebuild (null = removed); null when no rebuild runs
+    private Map<Long, Doc> changedDuringRebuild;
+
+    private record Doc(Map<String, Integer> terms, int length, String titleKey, Provider provider, Level level) {
+    }
+
+    public record Hit(long courseId, double score) {
+    }
+
+    public CourseSearchIndex(CourseRepository courseRepository) {
+        this.courseRepository = courseRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        rebuildAsync();
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Re-read every live course from the database in keyset pages and swap the new index in.
+     * Concurrent calls collapse into the build already running.
+     */
+    public void rebuildAsync() {
+        if (!building.compareAndSet(false, true)) {
+            return;
+        }
+        Thread thread = new Thread(() -> {
+            try {
+                rebuild();
+            } catch (RuntimeException e) {
+                log.warn("Course search index build failed", e);
+            } finally {
+                building.set(false);
+            }
+        }, "course-search-index");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    void rebuild() {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild = new HashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        CourseSearchIndex fresh = new CourseSearchIndex(courseRepository);
+        try {
+            long afterId = 0L;
+            List<Course> page;
+            do {
+                page = courseRepository.findByDeletedFalseAndCourseIdGreaterThanOrderByCourseIdAsc(afterId, PageRequest.ofSize(BUILD_PAGE_SIZE));
+                for (Course course : page) {
+                    fresh.index(course);
+                    afterId = course.getCourseId();
+                }
+            } while (page.size() == BUILD_PAGE_SIZE);
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                changedDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            // The pages may predate these writes: the live index has the newer state
+            changedDuringRebuild.forEach((courseId, doc) -> {
+                fresh.removeLocked(courseId);
+                if (doc != null) {
+                    fresh.putLocked(courseId, doc);
+                }
+            });
+            changedDuringRebuild = null;
+            postings = fresh.postings;
+            docs = fresh.docs;
+            totalLength = fresh.totalLength;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Course search index built: {} courses, {} terms in {} ms",
+                docs.size(), postings.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Add or replace a course in the index. Soft-deleted courses are removed instead.
+     */
+    public void index(Course course) {
+        if (course == null || course.getCourseId() == null) {
+            return;
+        }
+        if (Boolean.TRUE.equals(course.getDeleted())) {
+            remove(course.getCourseId());
+            return;
+        }
+        Map<String, Integer> terms = new HashMap<>();
+        for (String term : Tokenizer.tokenize(course.getCourseName())) {
+            terms.merge(term, TITLE_WEIGHT, Integer::sum);
+        }
+        for (String term : Tokenizer.tokenize(course.getDescription())) {
+            terms.merge(term, 1, Integer::sum);
+        }
+        int length = terms.values().stream().mapToInt(Integer::intValue).sum();
+        Doc doc = new Doc(terms, length, KeyUtils.normalize(course.getCourseName()), course.getProvider(), course.getLevel());
+
+        onCommit(() -> {
+            removeLocked(course.getCourseId());
+            putLocked(course.getCourseId(), doc);
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.put(course.getCourseId(), doc);
+            }
+        });
+    }
+
+    public void remove(Long courseId) {
+        if (courseId == null) {
+            return;
+        }
+        onCommit(() -> removeAllLocked(List.of(courseId)));
+    }
+
+    /**
+     * Remove every course the selector matches, with the semantics of the bulk repository operations:
+     * non-empty criteria combined with AND, titles compared by normalized key.
+     */
+    public void remove(CourseSelector selector) {
+        if (selector == null || selector.isEmpty()) {
+            return;
+        }
+        Set<Long> ids = selector.ids() == null || selector.ids().isEmpty() ? null : new HashSet<>(selector.ids());
+        Set<String> titleKeys = selector.titles() == null || selector.titles().isEmpty()
+                ? null : new HashSet<>(selector.titles().stream().map(KeyUtils::normalize).toList());
+        onCommit(() -> removeAllLocked(docs.entrySet().stream()
+                .filter(e -> (selector.provider() == null || selector.provider() == e.getValue().provider())
+                        && (selector.level() == null || selector.level() == e.getValue().level())
+                        && (ids == null || ids.contains(e.getKey()))
+                        && (titleKeys == null || titleKeys.contains(e.getValue().titleKey())))
+                .map(Map.Entry::getKey)
+                .toList()));
+    }
+
+    private void removeAllLocked(List<Long> courseIds) {
+        for (Long courseId : courseIds) {
+            removeLocked(courseId);
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.put(courseId, null);
+            }
+        }
+    }
+
+    /**
+     * Run the change under the write lock once the surrounding transaction commits, or right away
+     * outside one, so a rolled-back write never reaches the index.
+     */
+    private void onCommit(Runnable change) {
+        Runnable locked = () -> {
+            lock.writeLock().lock();
+            try {
+                change.run();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    locked.run();
+                }
+            });
+        } else {
+            locked.run();
+        }
+    }
+
+    private void putLocked(Long courseId, Doc doc) {
+        docs.put(courseId, doc);
+        totalLength += doc.length();
+        doc.terms().forEach((term, tf) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(courseId, tf));
+    }
+
+    private void removeLocked(Long courseId) {
+        Doc old = docs.remove(courseId);
+        if (old == null) {
+            return;
+        }
+        totalLength -= old.length();
+        for (String term : old.terms().keySet()) {
+            Map<Long, Integer> list = postings.get(term);
+            if (list != null) {
+                list.remove(courseId);
+                if (list.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    /**
+     * Rank courses against the query with BM25 and return the best {@code topK} hits,
+     * highest score first. Provider and level filters are applied before ranking.
+     */
+    public List<Hit> search(String query, int topK, Provider provider, Level level) {
+        List<String> terms = Tokenizer.tokenize(query);
+        if (terms.isEmpty() || topK <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            int n = docs.size();
+            if (n == 0) {
+                return List.of();
+            }
+            double avgLength = (double) totalLength / n;
+            Map<Long, Double> scores = new HashMap<>();
+            for (String term : terms.stream().distinct().toList()) {
+                Map<Long, Integer> list = postings.get(term);
+                if (list == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (n - list.size() + 0.5) / (list.size() + 0.5));
+                list.forEach((courseId, tf) -> {
+                    Doc doc = docs.get(courseId);
+                    if ((provider != null && provider != doc.provider()) || (level != null && level != doc.level())) {
+                        return;
+                    }
+                    double norm = tf * (K1 + 1) / (tf + K1 * (1 - B + B * doc.length() / avgLength));
+                    scores.merge(courseId, idf * norm, Double::sum);
+                });
+            }
+            return topK(scores, topK);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static List<Hit> topK(Map<Long, Double> scores, int k) {
+        PriorityQueue<Hit> heap = new PriorityQueue<>(Comparator.comparingDouble(Hit::score));
+        scores.forEach((id, score) -> {
+            if (heap.size() < k) {
+                heap.add(new Hit(id, score));
+            } else if (score > heap.peek().score()) {
+                heap.poll();
+                heap.add(new Hit(id, score));
+            }
+        });
+        List<Hit> hits = new ArrayList<>(heap);
+        hits.sort(Comparator.comparingDouble(Hit::score).reversed());
+        return hits;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
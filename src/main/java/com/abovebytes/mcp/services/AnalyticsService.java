@@ -0,0 +1,80 @@
+package com.abovebytes.mcp.services;
+
+import com.abovebytes.mcp.models.CourseDimension;
+import com.abovebytes.mcp.models.CourseDto;
+import com.abovebytes.mcp.models.CourseEnrollmentCount;
+import com.abovebytes.mcp.models.DistributionBucket;
+import com.abovebytes.mcp.models.Level;
+import com.abovebytes.mcp.models.Provider;
+import com.abovebytes.mcp.models.TeacherEnrollmentCount;
+import com.abovebytes.mcp.repositories.CourseRepository;
+import com.abovebytes.mcp.repositories.EnrollmentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springaicommunity.mcp.annotation.McpTool;
+import org.springaicommunity.mcp.annotation.McpToolParam;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Aggregate questions answered in the database ("which course has the most students",
+ * "average rating per provider") so agents do not page through whole tables to count client-side.
+ */
+@Service
+public class AnalyticsService {
+
+    private static final Logger log = LoggerFactory.getLogger(AnalyticsService.class);
+    private static final int DEFAULT_LIMIT = 10;
+    private static final int MAX_LIMIT = 200;
+
+    private final CourseRepository courseRepository;
+    private final EnrollmentRepository enrollmentRepository;
+
+    public AnalyticsService(CourseRepository courseRepository, EnrollmentRepository enrollmentRepository) {
+        this.courseRepository = courseRepository;
+        this.enrollmentRepository = enrollmentRepository;
+    }
+
+    /* =============================
+       ANALYTICS TOOLS (READ)
+       ============================= */
+
+    @McpTool(name = "analytics_enrollments_per_course", description = "Return the courses with the most enrollments (total and active), busiest first")
+    public List<CourseEnrollmentCount> enrollmentsPerCourseTool(@McpToolParam(description = "Number of courses to return (default 10, max 200)", required = false) Integer limit) {
+        log.info("McpTool called: analytics_enrollments_per_course | limit={}", limit);
+        return enrollmentRepository.countByCourse(PageRequest.ofSize(limit(limit)));
+    }
+
+    @McpTool(name = "analytics_enrollments_per_teacher", description = "Return the teachers with the most enrollments and the number of distinct courses they teach, busiest first")
+    public List<TeacherEnrollmentCount> enrollmentsPerTeacherTool(@McpToolParam(description = "Number of teachers to return (default 10, max 200)", required = false) Integer limit) {
+        log.info("McpTool called: analytics_enrollments_per_teacher | limit={}", limit);
+        return enrollmentRepository.countByTeacher(PageRequest.ofSize(limit(limit)));
+    }
+
+    @McpTool(name = "analytics_top_rated_courses", description = "Return the highest rated active courses, optionally for one provider and/or level")
+    public List<CourseDto> topRatedCoursesTool(@McpToolParam(description = "Number of courses to return (default 10, max 200)", required = false) Integer limit,
+                                               @McpToolParam(description = "Only courses from this provider", required = false) Provider provider,
+                                               @McpToolParam(description = "Only courses of this level", required = false) Level level) {
+        log.info("McpTool called: analytics_top_rated_courses | limit={}, provider={}, level={}", limit, provider, level);
+        return courseRepository.findTopRated(provider, level, PageRequest.ofSize(limit(limit)));
+    }
+
+    @McpTool(name = "analytics_course_distribution", description = "Return the number of courses (total and active), average rating and average duration for each provider, level or language")
+    public List<DistributionBucket> courseDistributionTool(@McpToolParam(description = "Group by PROVIDER, LEVEL or LANGUAGE") CourseDimension dimension) {
+        log.info("McpTool called: analytics_course_distribution | dimension={}", dimension);
+        return switch (dimension) {
+            case PROVIDER -> courseRepository.distributionByProvider();
+            case LEVEL -> courseRepository.distributionByLevel();
+            case LANGUAGE -> courseRepository.distributionByLanguage();
+        };
+    }
+
+    private static int limit(Integer requested) {
+        if (requested == null || requested <= 0) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.min(requested, MAX_LIMIT);
+    }
+}
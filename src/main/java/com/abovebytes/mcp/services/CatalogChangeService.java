@@ -0,0 +1,154 @@
+package com.abovebytes.mcp.services;
+
+import com.abovebytes.mcp.cache.LookupCache;
+import com.abovebytes.mcp.catalog.CatalogChangeLog;
+import com.abovebytes.mcp.entities.CatalogChange;
+import com.abovebytes.mcp.entities.Course;
+import com.abovebytes.mcp.entities.User;
+import com.abovebytes.mcp.models.CatalogEntity;
+import com.abovebytes.mcp.models.ChangeFeed;
+import com.abovebytes.mcp.projection.FieldProjection;
+import com.abovebytes.mcp.utils.CursorUtils;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springaicommunity.mcp.annotation.McpResource;
+import org.springaicommunity.mcp.annotation.McpTool;
+import org.springaicommunity.mcp.annotation.McpToolParam;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Versioned view of the catalog: the {@code catalog://} resources carry the catalog version (and an
+ * ETag derived from it) and {@code catalog_changes_since} returns what changed after a version, so a
+ * client re-reads only the rows that changed instead of re-running the list tools.
+ */
+@Service
+public class CatalogChangeService {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogChangeService.class);
+    private static final String JSON = "application/json";
+
+    private final CatalogChangeLog changeLog;
+    private final LookupCache lookupCache;
+    private final FieldProjection fieldProjection;
+    private final ObjectMapper objectMapper;
+
+    public CatalogChangeService(CatalogChangeLog changeLog,
+                                LookupCache lookupCache,
+                                FieldProjection fieldProjection,
+                                ObjectMapper objectMapper) {
+        this.changeLog = changeLog;
+        this.lookupCache = lookupCache;
+        this.fieldProjection = fieldProjection;
+        this.objectMapper = objectMapper;
+    }
+
+    /* =============================
+       CHANGE FEED TOOLS
+       ============================= */
+
+    @McpTool(name = "catalog_changes_since", description = "Return the catalog changes (courses, users, enrollments) made after a catalog version, oldest first. "
+            + "Pass the returned nextVersion to continue; if resyncRequired is true, read the lists again first. "
+            + "Changes with an entityId only touched that row; re-read it from catalog://courses/{id} or catalog://users/{id}")
+    public ChangeFeed changesSinceTool(@McpToolParam(description = "Catalog version already seen (0 for everything still in the log)") Long sinceVersion,
+                                       @McpToolParam(description = "Maximum number of changes (max 200)", required = false) Integer limit) {
+        log.info("McpTool called: catalog_changes_since | sinceVersion={}, limit={}", sinceVersion, limit);
+        if (sinceVersion == null || sinceVersion < 0) {
+            throw new IllegalArgumentException("sinceVersion must be 0 or a version returned earlier, got " + sinceVersion);
+        }
+        return changeLog.since(sinceVersion, CursorUtils.pageSize(limit));
+    }
+
+    /* =============================
+       RESOURCE METHODS
+       ============================= */
+
+    @McpResource(uri = CatalogChangeLog.VERSION_URI, name = "Catalog version", mimeType = JSON,
+            description = "Current catalog version and the version of each collection; updated after every committed change")
+    public McpSchema.ResourceContents versionResource() {
+        long version = changeLog.currentVersion();
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("version", version);
+        for (CatalogEntity entity : CatalogEntity.values()) {
+            body.put(entity.name().toLowerCase(Locale.ROOT), changeLog.latest(entity).map(CatalogChange::getVersion).orElse(0L));
+        }
+        return contents(CatalogChangeLog.VERSION_URI, write(body), version, "catalog-" + version);
+    }
+
+    @McpResource(uri = "catalog://courses", name = "Courses collection", mimeType = JSON,
+            description = "Version and last change of the course collection. Read the courses with courses_list, then follow catalog_changes_since")
+    public McpSchema.ResourceContents coursesResource() {
+        return collection(CatalogEntity.COURSES);
+    }
+
+    @McpResource(uri = "catalog://users", name = "Users collection", mimeType = JSON,
+            description = "Version and last change of the user collection. Read the users with users_list, then follow catalog_changes_since")
+    public McpSchema.ResourceContents usersResource() {
+        return collection(CatalogEntity.USERS);
+    }
+
+    @McpResource(uri = "catalog://enrollments", name = "Enrollments collection", mimeType = JSON,
+            description = "Version and last change of the enrollment collection. Read the enrollments with enrollments_list, then follow catalog_changes_since")
+    public McpSchema.ResourceContents enrollmentsResource() {
+        return collection(CatalogEntity.ENROLLMENTS);
+    }
+
+    @McpResource(uri = "catalog://courses/{id}", name = "Course", mimeType = JSON,
+            description = "A live course by id; its version is the ETag")
+    public McpSchema.ResourceContents courseResource(String id) {
+        Course course = lookupCache.courseById(parseId(id));
+        if (course == null) {
+            throw new IllegalArgumentException("No course found with id " + id);
+        }
+        return contents(CatalogChangeLog.itemUri(CatalogEntity.COURSES, course.getCourseId()),
+                fieldProjection.write(course, Course.class, null), course.getVersion(), "course-" + course.getCourseId() + "-" + course.getVersion());
+    }
+
+    @McpResource(uri = "catalog://users/{id}", name = "User", mimeType = JSON,
+            description = "A user by id; its version is the ETag")
+    public McpSchema.ResourceContents userResource(String id) {
+        User user = lookupCache.userById(parseId(id));
+        if (user == null) {
+            throw new IllegalArgumentException("No user found with id " + id);
+        }
+        return contents(CatalogChangeLog.itemUri(CatalogEntity.USERS, user.getUserId()),
+                fieldProjection.write(user, User.class, null), user.getVersion(), "user-" + user.getUserId() + "-" + user.getVersion());
+    }
+
+    private McpSchema.ResourceContents collection(CatalogEntity entity) {
+        CatalogChange last = changeLog.latest(entity).orElse(null);
+        long version = last == null ? 0 : last.getVersion();
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("entity", entity);
+        body.put("version", version);
+        body.put("lastChange", last);
+        String name = entity.name().toLowerCase(Locale.ROOT);
+        return contents(CatalogChangeLog.collectionUri(entity), write(body), version, name + "-" + version);
+    }
+
+    private McpSchema.ResourceContents contents(String uri, String json, long version, String etag) {
+        return new McpSchema.TextResourceContents(uri, JSON, json, Map.of("version", version, "etag", "\"" + etag + "\""));
+    }
+
+    private String write(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize resource", e);
+        }
+    }
+
+    private static long parseId(String id) {
+        try {
+            return Long.parseLong(id.trim());
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Not a valid id: " + id);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.abovebytes.mcp.services;
+
+import com.abovebytes.mcp.cache.CatalogCounters;
+import com.abovebytes.mcp.catalog.CatalogSnapshot;
+import com.abovebytes.mcp.models.CatalogEntity;
+import com.abovebytes.mcp.models.ExportResult;
+import com.abovebytes.mcp.models.ImportResult;
+import com.abovebytes.mcp.models.TransferFormat;
+import com.abovebytes.mcp.search.CourseSearchIndex;
+import com.abovebytes.mcp.transfer.CatalogExporter;
+import com.abovebytes.mcp.transfer.CatalogImporter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springaicommunity.mcp.annotation.McpTool;
+import org.springaicommunity.mcp.annotation.McpToolParam;
+import org.springframework.stereotype.Service;
+
+@Service
+public class CatalogTransferService {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogTransferService.class);
+
+    private final CatalogImporter importer;
+    private final CatalogExporter exporter;
+    private final CatalogCounters counters;
+    private final CourseSearchIndex searchIndex;
+    private final CatalogSnapshot catalogSnapshot;
+
+    public CatalogTransferService(CatalogImporter importer,
+                                  CatalogExporter exporter,
+                                  CatalogCounters counters,
+                                  CourseSearchIndex searchIndex,
+                                  CatalogSnapshot catalogSnapshot) {
+        this.importer = importer;
+        this.exporter = exporter;
+        this.counters = counters;
+        this.searchIndex = searchIndex;
+        this.catalogSnapshot = catalogSnapshot;
+    }
+
+    /* =============================
+       TRANSFER TOOLS
+       ============================= */
+
+    @McpTool(name = "catalog_import", description = "Bulk import courses, users or enrollments from an NDJSON or CSV file in the server's transfer directory. "
+            + "Courses: title, description, url, provider, level, language, durationMinutes, rating, active. "
+            + "Users: fullName, email, role, active. Enrollments: studentEmail, teacherEmail, courseTitle, enrolledAt, active. "
+            + "Existing and invalid rows are skipped and reported")
+    public ImportResult importTool(@McpToolParam(description = "What the file contains: COURSES, USERS or ENROLLMENTS") CatalogEntity entity,
+                                   @McpToolParam(description = "File name relative to the transfer directory") String file,
+                                   @McpToolParam(description = "NDJSON or CSV (default: from the file extension)", required = false) TransferFormat format) {
+        log.info("McpTool called: catalog_import | entity={}, file={}, format={}", entity, file, format);
+        ImportResult result = null;
+        try {
+            // The importer logs each committed batch to the change log itself
+            result = importer.importFile(entity, file, format);
+            return result;
+        } finally {
+            // A failed import may still have committed batches, so refresh as if it had
+            if (result == null || result.inserted() > 0) {
+                counters.invalidate();
+                if (entity == CatalogEntity.COURSES) {
+                    searchIndex.rebuildAsync();
+                    catalogSnapshot.rebuildAsync();
+                }
+            }
+        }
+    }
+
+    @McpTool(name = "catalog_export", description = "Export all courses (not soft-deleted), users or enrollments to an NDJSON or CSV file in the server's transfer directory, in the layout catalog_import reads")
+    public ExportResult exportTool(@McpToolParam(description = "What to export: COURSES, USERS or ENROLLMENTS") CatalogEntity entity,
+                                   @McpToolParam(description = "File name relative to the transfer directory") String file,
+                                   @McpToolParam(description = "NDJSON or CSV (default: from the file extension)", required = false) TransferFormat format) {
+        log.info("McpTool called: catalog_export | entity={}, file={}, format={}", entity, file, format);
+        return exporter.exportFile(entity, file, format);
+    }
+}
@@ -1,10 +1,32 @@
 package com.abovebytes.mcp.services;
 
+import com.abovebytes.mcp.cache.CatalogCounters;
+import com.abovebytes.mcp.catalog.CatalogChangeLog;
+import com.abovebytes.mcp.catalog.CatalogSnapshot;
+import com.abovebytes.mcp.cache.LookupCache;
+import com.abovebytes.mcp.cache.PayloadCache;
+import com.abovebytes.mcp.entities.ArchivedCourse;
 import com.abovebytes.mcp.entities.Course;
+import com.abovebytes.mcp.metrics.ToolMetrics;
+import com.abovebytes.mcp.models.BulkResult;
+import com.abovebytes.mcp.models.CatalogEntity;
+import com.abovebytes.mcp.models.CourseDto;
+import com.abovebytes.mcp.models.CourseFilter;
+import com.abovebytes.mcp.models.CourseFilterResult;
+import com.abovebytes.mcp.models.CourseSearchHit;
+import com.abovebytes.mcp.models.CourseSelector;
+import com.abovebytes.mcp.models.CourseSort;
+import com.abovebytes.mcp.models.CursorPage;
 import com.abovebytes.mcp.models.Level;
 import com.abovebytes.mcp.models.Provider;
+import com.abovebytes.mcp.projection.FieldProjection;
+import com.abovebytes.mcp.repositories.ArchivedCourseRepository;
 import com.abovebytes.mcp.repositories.CourseRepository;
+import com.abovebytes.mcp.search.CourseSearchIndex;
+import com.abovebytes.mcp.utils.ConstraintUtils;
 import com.abovebytes.mcp.utils.CourseUtils;
+import com.abovebytes.mcp.utils.CursorUtils;
+import com.abovebytes.mcp.utils.KeyUtils;
 import io.modelcontextprotocol.spec.McpSchema;
 import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
@@ -12,19 +34,60 @@ import org.slf4j.LoggerFactory;
 import org.springaicommunity.mcp.annotation.McpResource;
 import org.springaicommunity.mcp.annotation.McpTool;
 import org.springaicommunity.mcp.annotation.McpToolParam;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
 import java.util.stream.Collectors;
 
 @Service
 public class CourseService {
 
     private static final Logger log = LoggerFactory.getLogger(CourseService.class);
+    private static final int DEFAULT_SEARCH_RESULTS = 10;
+    private static final int MAX_SEARCH_RESULTS = 50;
+    private static final int SEARCH_OVERFETCH = 5;
+    private static final int DEFAULT_FILTER_RESULTS = 20;
+    // course.course_name and course_name_key are VARCHAR(255)
+    private static final int MAX_TITLE_LENGTH = 255;
+    private static final String TITLE_UNIQUE_KEY = "uk_course_name_key_provider_level";
+
     private final CourseRepository courseRepository;
+    private final ArchivedCourseRepository archivedCourseRepository;
+    private final CourseSearchIndex searchIndex;
+    private final LookupCache lookupCache;
+    private final ToolMetrics toolMetrics;
+    private final FieldProjection fieldProjection;
+    private final PayloadCache payloadCache;
+    private final CatalogCounters counters;
+    private final CatalogSnapshot catalogSnapshot;
+    private final CatalogChangeLog changeLog;
 
-    public CourseService(CourseRepository courseRepository) {
+    public CourseService(CourseRepository courseRepository,
+                         ArchivedCourseRepository archivedCourseRepository,
+                         CourseSearchIndex searchIndex,
+                         LookupCache lookupCache,
+                         ToolMetrics toolMetrics,
+                         FieldProjection fieldProjection,
+                         PayloadCache payloadCache,
+                         CatalogCounters counters,
+                         CatalogSnapshot catalogSnapshot,
+                         CatalogChangeLog changeLog) {
         this.courseRepository = courseRepository;
+        this.archivedCourseRepository = archivedCourseRepository;
+        this.searchIndex = searchIndex;
+        this.lookupCache = lookupCache;
+        this.toolMetrics = toolMetrics;
+        this.fieldProjection = fieldProjection;
+        this.payloadCache = payloadCache;
+        this.counters = counters;
+        this.catalogSnapshot = catalogSnapshot;
+        this.changeLog = changeLog;
     }
 
     /* =============================
@@ -35,59 +98,222 @@ public class CourseService {
    COURSE TOOLS (READ)
    ============================= */
 
-    @McpTool(name = "courses_list", description = "Return all courses")
-    public List<Course> listCoursesTool() {
-        log.info("McpTool called: courses_list");
-        return courseRepository.findAll();
+    @McpTool(name = "courses_list", description = "Return one page of live courses ordered by id. Pass the returned nextCursor to fetch the following page")
+    public String listCoursesTool(@McpToolParam(description = "Cursor returned by the previous page", required = false) String cursor,
+                                  @McpToolParam(description = "Page size (max 200)", required = false) Integer pageSize,
+                                  @McpToolParam(description = "Only return these course fields, e.g. [\"courseId\",\"courseName\"]", required = false) List<String> fields,
+                                  @McpToolParam(description = "Also return soft-deleted and archived courses", required = false) Boolean includeArchived) {
+        log.info("McpTool called: courses_list | cursor={}, pageSize={}, fields={}, includeArchived={}", cursor, pageSize, fields, includeArchived);
+        int size = CursorUtils.pageSize(pageSize);
+        long afterId = CursorUtils.decode(cursor);
+        List<Course> rows = Boolean.TRUE.equals(includeArchived)
+                ? allCoursesAfter(afterId, size)
+                : courseRepository.findByDeletedFalseAndCourseIdGreaterThanOrderByCourseIdAsc(afterId, CursorUtils.limit(size));
+        return fieldProjection.write(CursorUtils.page(rows, size, Course::getCourseId), Course.class, fields);
+    }
+
+    /**
+     * Hot and archived rows keep their ids, so one keyset page is a merge of both tables' next rows.
+     */
+    private List<Course> allCoursesAfter(long afterId, int size) {
+        List<Course> hot = courseRepository.findByCourseIdGreaterThanOrderByCourseIdAsc(afterId, CursorUtils.limit(size));
+        List<ArchivedCourse> cold = archivedCourseRepository.findByCourseIdGreaterThanOrderByCourseIdAsc(afterId, CursorUtils.limit(size));
+        List<Course> merged = new ArrayList<>(size + 1);
+        int h = 0;
+        int c = 0;
+        while (merged.size() <= size && (h < hot.size() || c < cold.size())) {
+            if (c >= cold.size() || (h < hot.size() && hot.get(h).getCourseId() < cold.get(c).getCourseId())) {
+                merged.add(hot.get(h++));
+            } else {
+                merged.add(cold.get(c++).toCourse());
+            }
+        }
+        return merged;
+    }
+
+    @McpTool(name = "courses_list_compact", description = "Return one page of courses ordered by id with only id, title, url, provider, level, language, rating and active. Pass the returned nextCursor to fetch the following page")
+    public CursorPage<CourseDto> listCoursesCompactTool(@McpToolParam(description = "Cursor returned by the previous page", required = false) String cursor,
+                                                        @McpToolParam(description = "Page size (max 200)", required = false) Integer pageSize) {
+        log.info("McpTool called: courses_list_compact | cursor={}, pageSize={}", cursor, pageSize);
+        int size = CursorUtils.pageSize(pageSize);
+        long afterId = CursorUtils.decode(cursor);
+        List<CourseDto> rows = catalogSnapshot.isReady()
+                ? catalogSnapshot.page(afterId, size + 1)
+                : courseRepository.findCompact(afterId, CursorUtils.limit(size));
+        return CursorUtils.page(rows, size, CourseDto::id);
     }
 
-    @McpTool(name = "courses_count", description = "Return the total number of courses")
+    @McpTool(name = "courses_count", description = "Return the number of live (not deleted) courses")
     public long countCoursesTool() {
         log.info("McpTool called: courses_count");
-        return courseRepository.count();
+        return counters.courses();
     }
 
     @McpTool(name = "courses_get_by_id", description = "Get a course by its ID")
-    public Course getCourseByIdTool(@McpToolParam(description = "Course ID") Long id) {
-        log.info("McpTool called: courses_get_by_id | id={}", id);
-        return courseRepository.findById(id).orElse(null);
+    public String getCourseByIdTool(@McpToolParam(description = "Course ID") Long id,
+                                    @McpToolParam(description = "Only return these course fields, e.g. [\"courseName\",\"courseUrl\"]", required = false) List<String> fields,
+                                    @McpToolParam(description = "Also look at soft-deleted and archived courses", required = false) Boolean includeArchived) {
+        log.info("McpTool called: courses_get_by_id | id={}, fields={}, includeArchived={}", id, fields, includeArchived);
+        Course live = lookupCache.courseById(id);
+        if (live != null || !Boolean.TRUE.equals(includeArchived) || id == null) {
+            return toJson(live, fields);
+        }
+        Course dead = courseRepository.findById(id)
+                .or(() -> archivedCourseRepository.findById(id).map(ArchivedCourse::toCourse))
+                .orElse(null);
+        return fieldProjection.write(dead, Course.class, fields);
     }
 
     @McpTool(name = "courses_get_by_title", description = "Get a course by its title")
-    public Course getCourseByTitleTool(@McpToolParam(description = "Course title") String title) {
-        log.info("McpTool called: courses_get_by_title | title={}", title);
-        return courseRepository.findByCourseNameIgnoreCase(title).orElse(null);
+    public String getCourseByTitleTool(@McpToolParam(description = "Course title") String title,
+                                       @McpToolParam(description = "Only return these course fields, e.g. [\"courseName\",\"courseUrl\"]", required = false) List<String> fields,
+                                       @McpToolParam(description = "Also look at soft-deleted and archived courses", required = false) Boolean includeArchived) {
+        log.info("McpTool called: courses_get_by_title | title={}, fields={}, includeArchived={}", title, fields, includeArchived);
+        Course live = lookupCache.courseByTitle(title);
+        if (live != null || !Boolean.TRUE.equals(includeArchived) || title == null) {
+            return toJson(live, fields);
+        }
+        String key = KeyUtils.normalize(title);
+        Course dead = courseRepository.findByCourseNameKey(key)
+                .or(() -> archivedCourseRepository.findFirstByCourseNameKeyOrderByCourseIdDesc(key).map(ArchivedCourse::toCourse))
+                .orElse(null);
+        return fieldProjection.write(dead, Course.class, fields);
     }
 
-    @McpTool(name = "courses_search_by_description", description = "Search courses by description")
-    public List<Course> searchByDescriptionTool(@McpToolParam(description = "Text to search") String text) {
-        log.info("McpTool called: courses_search_by_description | text={}", text);
-        return courseRepository.findFirstByDescriptionContainingIgnoreCase(text).stream().toList();
+    /**
+     * Cached courses are immutable, so their serialized form is reused until the cache entry is replaced.
+     */
+    private String toJson(Course course, List<String> fields) {
+        return payloadCache.get(course, fieldProjection.variant(fields),
+                () -> fieldProjection.write(course, Course.class, fields));
+    }
+
+    @McpTool(name = "courses_search_by_description", description = "Full-text search over course titles and descriptions. Returns the best matches ranked by relevance score")
+    public List<CourseSearchHit> searchByDescriptionTool(@McpToolParam(description = "Text to search") String text,
+                                                         @McpToolParam(description = "Maximum number of results (default 10, max 50)", required = false) Integer topK,
+                                                         @McpToolParam(description = "Only return courses from this provider", required = false) Provider provider,
+                                                         @McpToolParam(description = "Only return courses of this level", required = false) Level level) {
+        log.info("McpTool called: courses_search_by_description | text={}, topK={}, provider={}, level={}", text, topK, provider, level);
+        int k = topK == null || topK <= 0 ? DEFAULT_SEARCH_RESULTS : Math.min(topK, MAX_SEARCH_RESULTS);
+        if (!searchIndex.isReady()) {
+            // Index still warming up after startup: fall back to the old single-hit scan
+            return courseRepository.findFirstByDescriptionContainingIgnoreCase(text).stream()
+                    .map(c -> toSearchHit(c, 0.0))
+                    .toList();
+        }
+        // Over-fetch slightly; while dead hits keep the page short, ask the index for more
+        int fetch = k + SEARCH_OVERFETCH;
+        while (true) {
+            List<CourseSearchIndex.Hit> hits = searchIndex.search(text, fetch, provider, level);
+            List<CourseSearchHit> results = hydrate(hits, k);
+            if (results.size() == k || hits.size() < fetch) {
+                return results;
+            }
+            fetch *= 2;
+        }
+    }
+
+    /**
+     * The first {@code k} hits that are still live courses, from the snapshot when it has them and from
+     * the database otherwise. Hits for courses that no longer exist are evicted from the index.
+     */
+    private List<CourseSearchHit> hydrate(List<CourseSearchIndex.Hit> hits, int k) {
+        Map<Long, CourseSearchHit> live = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (CourseSearchIndex.Hit hit : hits) {
+            CourseDto course = catalogSnapshot.isReady() ? catalogSnapshot.get(hit.courseId()) : null;
+            if (course != null) {
+                live.put(hit.courseId(), toSearchHit(course, hit.score()));
+            } else {
+                missing.add(hit.courseId());
+            }
+        }
+        if (!missing.isEmpty()) {
+            Map<Long, Double> scores = hits.stream()
+                    .collect(Collectors.toMap(CourseSearchIndex.Hit::courseId, CourseSearchIndex.Hit::score));
+            for (Course course : courseRepository.findAllById(missing)) {
+                if (!Boolean.TRUE.equals(course.getDeleted())) {
+                    live.put(course.getCourseId(), toSearchHit(course, scores.get(course.getCourseId())));
+                }
+            }
+        }
+        List<CourseSearchHit> results = new ArrayList<>(k);
+        for (CourseSearchIndex.Hit hit : hits) {
+            CourseSearchHit result = live.get(hit.courseId());
+            if (result == null) {
+                searchIndex.remove(hit.courseId());
+            } else if (results.size() < k) {
+                results.add(result);
+            }
+        }
+        return results;
+    }
+
+    @McpTool(name = "courses_filter", description = "Filter live courses by provider, level, language, active flag, rating range and duration range. "
+            + "Returns the number of matches, the first ones in the requested order, and per facet how many courses each value "
+            + "would give with the other filters kept (rating and durationMinutes in buckets)")
+    public CourseFilterResult filterCoursesTool(@McpToolParam(description = "Course's provider", required = false) Provider provider,
+                                                @McpToolParam(description = "Course's level", required = false) Level level,
+                                                @McpToolParam(description = "Language code, e.g. \"en\" or \"fr\"", required = false) String language,
+                                                @McpToolParam(description = "Only active (true) or inactive (false) courses", required = false) Boolean active,
+                                                @McpToolParam(description = "Minimum rating, inclusive", required = false) Double minRating,
+                                                @McpToolParam(description = "Maximum rating, inclusive", required = false) Double maxRating,
+                                                @McpToolParam(description = "Minimum duration in minutes, inclusive", required = false) Integer minDurationMinutes,
+                                                @McpToolParam(description = "Maximum duration in minutes, inclusive", required = false) Integer maxDurationMinutes,
+                                                @McpToolParam(description = "RATING (default), DURATION, TITLE or ID", required = false) CourseSort sortBy,
+                                                @McpToolParam(description = "Sort descending (default for RATING) or ascending", required = false) Boolean descending,
+                                                @McpToolParam(description = "Number of courses to return (default 20, max 200)", required = false) Integer limit) {
+        log.info("McpTool called: courses_filter | provider={}, level={}, language={}, active={}, rating=[{}, {}], duration=[{}, {}], sortBy={}, descending={}, limit={}",
+                provider, level, language, active, minRating, maxRating, minDurationMinutes, maxDurationMinutes, sortBy, descending, limit);
+        if (minRating != null && maxRating != null && minRating > maxRating) {
+            throw new IllegalArgumentException("minRating must not be greater than maxRating");
+        }
+        if (minDurationMinutes != null && maxDurationMinutes != null && minDurationMinutes > maxDurationMinutes) {
+            throw new IllegalArgumentException("minDurationMinutes must not be greater than maxDurationMinutes");
+        }
+        if (!catalogSnapshot.isReady()) {
+            throw new IllegalStateException("The course catalog is still loading, retry in a few seconds");
+        }
+        CourseSort sort = sortBy == null ? CourseSort.RATING : sortBy;
+        boolean desc = descending != null ? descending : sort == CourseSort.RATING;
+        int k = limit == null || limit <= 0 ? DEFAULT_FILTER_RESULTS : Math.min(limit, CursorUtils.MAX_PAGE_SIZE);
+        CourseFilter filter = new CourseFilter(provider, level, language, active, minRating, maxRating,
+                minDurationMinutes, maxDurationMinutes);
+        return catalogSnapshot.filter(filter, sort, desc, k);
+    }
+
+    private static CourseSearchHit toSearchHit(Course course, double score) {
+        return new CourseSearchHit(course.getCourseId(), course.getCourseName(), course.getCourseUrl(),
+                course.getProvider(), course.getLevel(), course.getRating(), score);
+    }
+
+    private static CourseSearchHit toSearchHit(CourseDto course, double score) {
+        return new CourseSearchHit(course.id(), course.title(), course.url(), course.provider(), course.level(),
+                course.rating(), score);
     }
 
     /* =============================
        TOOL METHODS
        ============================= */
 
-    @McpTool(name = "courses_add", description = "Add a new course to the catalog")
+    @McpTool(name = "courses_add", description = "Add a new course to the catalog. Fails if a course with the same title, provider and level already exists")
+    @Transactional
     public Course addCourse(@McpToolParam(description = "Course title") String title,
                             @McpToolParam(description = "Course's description") String description,
                             @McpToolParam(description = "Course's provider") Provider provider,
                             @McpToolParam(description = "Course's level") Level level) {
+        if (title == null || title.isBlank()) {
+            throw new IllegalArgumentException("title is required");
+        }
+        if (title.length() > MAX_TITLE_LENGTH) {
+            throw new IllegalArgumentException("title must be at most " + MAX_TITLE_LENGTH + " characters, got " + title.length());
+        }
+        if (provider == null || level == null) {
+            throw new IllegalArgumentException("provider and level are required");
+        }
         String url = CourseUtils.randomCourseUrl(provider.name());
         log.info("McpTool called: courses_add | title={}, url={}", title, url);
 
-        Course found = courseRepository.findByCourseNameIgnoreCaseAndProviderAndLevel(title, provider, level).orElse(null);
-        if (found != null) {
-            throw new IllegalStateException(String.format(
-                    "Cannot add course: A course with title '%s', provider '%s', and level '%s' already exists (ID: %d)",
-                    found.getCourseName(),
-                    found.getProvider(),
-                    found.getLevel(),
-                    found.getCourseId()
-            ));
-        }
-
         Course course = Course.builder()
                 .courseName(title)
                 .courseUrl(url)
@@ -100,45 +326,215 @@ public class CourseService {
                 .deleted(false)
                 .createdAt(LocalDateTime.now())
                 .build();
-        return courseRepository.save(course);
+        Course saved;
+        try {
+            // One INSERT; uk_course_name_key_provider_level rejects duplicates, even from concurrent callers
+            saved = courseRepository.save(course);
+        } catch (DataIntegrityViolationException e) {
+            if (!ConstraintUtils.violates(e, TITLE_UNIQUE_KEY)) {
+                throw e;
+            }
+            Course found = courseRepository.findByCourseNameKeyAndProviderAndLevel(KeyUtils.normalize(title), provider, level).orElse(null);
+            throw new IllegalStateException(String.format(
+                    "Cannot add course: A course with title '%s', provider '%s', and level '%s' already exists (ID: %s)",
+                    title, provider, level, found != null ? found.getCourseId() : "unknown"));
+        }
+        lookupCache.invalidateCourse(saved);
+        searchIndex.index(saved);
+        counters.coursesAdded(1);
+        long version = changeLog.record(CatalogEntity.COURSES, "add", saved.getCourseId(), saved.getCourseName(), 1);
+        catalogSnapshot.put(saved, version);
+        return saved;
     }
 
     @McpTool(name = "courses_delete_by_title", description = "Delete a course by its exact title")
+    @Transactional
     public String deleteCourseByTitle(@McpToolParam(description = "Exact title") String title) {
         log.info("McpTool called: courses_delete_by_title | title={}", title);
-        List<Course> toDelete = courseRepository.findAll()
-                .stream()
-                .filter(c -> c.getCourseName().equalsIgnoreCase(title))
+        int deleted = courseRepository.deleteByCourseNameKey(KeyUtils.normalize(title));
+        lookupCache.invalidateCourseTitle(title);
+        CourseSelector selector = new CourseSelector(null, null, List.of(title), null);
+        long version = changeLog.record(CatalogEntity.COURSES, "delete", null, "title=" + title, deleted);
+        if (deleted > 0) catalogSnapshot.remove(selector, version);
+        if (deleted > 0) searchIndex.remove(selector);
+        // The deleted rows may have been soft-deleted already: recount rather than guess
+        if (deleted > 0) counters.invalidate();
+        if (deleted == 0) return "No course found with title '" + title + "'";
+        return deleted + " course(s) with title '" + title + "' successfully deleted";
+    }
+
+    @McpTool(name = "courses_bulk_delete", description = "Permanently delete every course matching provider, level, titles and/or ids in one statement. Returns the number of deleted rows")
+    @Transactional
+    public BulkResult bulkDeleteCourses(@McpToolParam(description = "Course's provider", required = false) Provider provider,
+                                        @McpToolParam(description = "Course's level", required = false) Level level,
+                                        @McpToolParam(description = "Exact course titles", required = false) List<String> titles,
+                                        @McpToolParam(description = "Course IDs", required = false) List<Long> ids) {
+        log.info("McpTool called: courses_bulk_delete | provider={}, level={}, titles={}, ids={}", provider, level, titles, ids);
+        CourseSelector selector = new CourseSelector(provider, level, titles, ids);
+        int affected = courseRepository.bulkDelete(selector);
+        long version = recordBulk("delete", selector, affected);
+        if (affected > 0) lookupCache.invalidateAllCourses();
+        if (affected > 0) catalogSnapshot.remove(selector, version);
+        if (affected > 0) searchIndex.remove(selector);
+        if (affected > 0) counters.invalidate();
+        return new BulkResult("delete", affected);
+    }
+
+    @McpTool(name = "courses_bulk_deactivate", description = "Deactivate every course matching provider, level, titles and/or ids in one statement. Returns the number of updated rows")
+    @Transactional
+    public BulkResult bulkDeactivateCourses(@McpToolParam(description = "Course's provider", required = false) Provider provider,
+                                            @McpToolParam(description = "Course's level", required = false) Level level,
+                                            @McpToolParam(description = "Exact course titles", required = false) List<String> titles,
+                                            @McpToolParam(description = "Course IDs", required = false) List<Long> ids) {
+        log.info("McpTool called: courses_bulk_deactivate | provider={}, level={}, titles={}, ids={}", provider, level, titles, ids);
+        CourseSelector selector = new CourseSelector(provider, level, titles, ids);
+        int affected = courseRepository.bulkUpdateFlags(selector, false, null);
+        long version = recordBulk("deactivate", selector, affected);
+        if (affected > 0) lookupCache.invalidateAllCourses();
+        if (affected > 0) catalogSnapshot.deactivate(selector, version);
+        return new BulkResult("deactivate", affected);
+    }
+
+    @McpTool(name = "courses_bulk_soft_delete", description = "Mark every course matching provider, level, titles and/or ids as deleted in one statement. Returns the number of updated rows")
+    @Transactional
+    public BulkResult bulkSoftDeleteCourses(@McpToolParam(description = "Course's provider", required = false) Provider provider,
+                                            @McpToolParam(description = "Course's level", required = false) Level level,
+                                            @McpToolParam(description = "Exact course titles", required = false) List<String> titles,
+                                            @McpToolParam(description = "Course IDs", required = false) List<Long> ids) {
+        log.info("McpTool called: courses_bulk_soft_delete | provider={}, level={}, titles={}, ids={}", provider, level, titles, ids);
+        CourseSelector selector = new CourseSelector(provider, level, titles, ids);
+        int affected = courseRepository.bulkUpdateFlags(selector, false, true);
+        long version = recordBulk("soft_delete", selector, affected);
+        if (affected > 0) lookupCache.invalidateAllCourses();
+        if (affected > 0) catalogSnapshot.remove(selector, version);
+        if (affected > 0) searchIndex.remove(selector);
+        // affected includes rows that were already soft-deleted, so it is not a delta
+        if (affected > 0) counters.invalidate();
+        return new BulkResult("soft_delete", affected);
+    }
+
+    @McpTool(name = "courses_update_url", description = "Update the URL of one existing course by title (add provider and/or level when several courses share it). "
+            + "Pass expectedVersion to only update if nobody changed the course since you read it")
+    @Transactional
+    public BulkResult updateCourseUrl(@McpToolParam(description = "Exact title") String title,
+                                      @McpToolParam(description = "New URL") String newUrl,
+                                      @McpToolParam(description = "Version read from the course; the update fails with a conflict if it changed", required = false) Long expectedVersion,
+                                      @McpToolParam(description = "Course provider, when several courses share the title", required = false) Provider provider,
+                                      @McpToolParam(description = "Course level, when several courses share the title", required = false) Level level) {
+        log.info("McpTool called: courses_update_url | title={}, newUrl={}, expectedVersion={}, provider={}, level={}", title, newUrl, expectedVersion, provider, level);
+        Course target = findOne(title, provider, level);
+        if (target == null) {
+            return new BulkResult("update_url", 0);
+        }
+        int affected = courseRepository.updateUrl(target.getCourseId(), newUrl, expectedVersion, LocalDateTime.now());
+        if (affected == 0) {
+            failOnVersionConflict(target.getCourseId(), expectedVersion);
+            return new BulkResult("update_url", 0);
+        }
+        lookupCache.invalidateCourse(target);
+        courseRepository.findByCourseIdAndDeletedFalse(target.getCourseId()).ifPresent(course -> {
+            long version = changeLog.record(CatalogEntity.COURSES, "update_url", course.getCourseId(), course.getCourseName(), 1);
+            catalogSnapshot.put(course, version);
+        });
+        return new BulkResult("update_url", affected);
+    }
+
+    @McpTool(name = "courses_update_title", description = "Update the title of one existing course (add provider and/or level when several courses share the title). "
+            + "Pass expectedVersion to only update if nobody changed the course since you read it")
+    @Transactional
+    public BulkResult updateCourseTitle(@McpToolParam(description = "Current title") String title,
+                                        @McpToolParam(description = "New title") String newTitle,
+                                        @McpToolParam(description = "Version read from the course; the update fails with a conflict if it changed", required = false) Long expectedVersion,
+                                        @McpToolParam(description = "Course provider, when several courses share the title", required = false) Provider provider,
+                                        @McpToolParam(description = "Course level, when several courses share the title", required = false) Level level) {
+        log.info("McpTool called: courses_update_title | title={}, newTitle={}, expectedVersion={}, provider={}, level={}", title, newTitle, expectedVersion, provider, level);
+        if (newTitle == null || newTitle.isBlank()) {
+            throw new IllegalArgumentException("newTitle is required");
+        }
+        if (newTitle.length() > MAX_TITLE_LENGTH) {
+            throw new IllegalArgumentException("newTitle must be at most " + MAX_TITLE_LENGTH + " characters, got " + newTitle.length());
+        }
+        Course target = findOne(title, provider, level);
+        if (target == null) {
+            return new BulkResult("update_title", 0);
+        }
+        int affected;
+        try {
+            affected = courseRepository.updateTitle(target.getCourseId(), newTitle, KeyUtils.normalize(newTitle), expectedVersion, LocalDateTime.now());
+        } catch (DataIntegrityViolationException e) {
+            // Only the title key is a duplicate title; any other violation is a different failure
+            if (!ConstraintUtils.violates(e, TITLE_UNIQUE_KEY)) {
+                throw e;
+            }
+            throw new IllegalStateException(String.format(
+                    "Cannot rename course: A course titled '%s' already exists with the same provider and level", newTitle));
+        }
+        if (affected == 0) {
+            failOnVersionConflict(target.getCourseId(), expectedVersion);
+            return new BulkResult("update_title", 0);
+        }
+        lookupCache.invalidateCourse(target);
+        lookupCache.invalidateCourseTitle(newTitle);
+        // Title terms are weighted in the search index: re-read the renamed row to re-index it
+        courseRepository.findByCourseIdAndDeletedFalse(target.getCourseId()).ifPresent(course -> {
+            searchIndex.index(course);
+            long version = changeLog.record(CatalogEntity.COURSES, "update_title", course.getCourseId(), course.getCourseName(), 1);
+            catalogSnapshot.put(course, version);
+        });
+        return new BulkResult("update_title", affected);
+    }
+
+    /**
+     * The one live course with this title (narrowed by provider and level when given), or null when
+     * there is none. Several matches fail the call rather than update them all.
+     */
+    private Course findOne(String title, Provider provider, Level level) {
+        List<Course> matches = courseRepository.findAllByCourseNameKeyAndDeletedFalse(KeyUtils.normalize(title)).stream()
+                .filter(c -> (provider == null || c.getProvider() == provider) && (level == null || c.getLevel() == level))
                 .toList();
-        if (toDelete.isEmpty()) return "No course found with title '" + title + "'";
-        courseRepository.deleteAll(toDelete);
-        return "Course(s) with title '" + title + "' successfully deleted";
+        if (matches.size() > 1) {
+            throw new IllegalArgumentException(matches.size() + " courses are titled '" + title + "' (ids "
+                    + matches.stream().map(Course::getCourseId).toList() + "); pass provider and/or level to pick one");
+        }
+        return matches.isEmpty() ? null : matches.get(0);
     }
 
-    @McpTool(name = "courses_update_url", description = "Update the URL of an existing course by title")
-    public Course updateCourseUrl(@McpToolParam(description = "Exact title") String title,
-                                  @McpToolParam(description = "New URL") String newUrl) {
-        log.info("McpTool called: courses_update_url | title={}, newUrl={}", title, newUrl);
-        Course course = courseRepository.findByCourseNameIgnoreCase(title).orElse(null);
-        if (course == null) return null;
-        course.setCourseUrl(newUrl);
-        return courseRepository.save(course);
+    /**
+     * Called when a conditional update touched no row: a live course that still exists means the
+     * version moved on, which is reported as a conflict; otherwise the course simply is not there.
+     */
+    private void failOnVersionConflict(Long courseId, Long expectedVersion) {
+        if (expectedVersion == null) {
+            return;
+        }
+        courseRepository.findByCourseIdAndDeletedFalse(courseId).ifPresent(current -> {
+            throw new IllegalStateException(String.format(
+                    "Conflict: course '%s' is at version %d, not %d. Read it again and retry with the current version",
+                    current.getCourseName(), current.getVersion(), expectedVersion));
+        });
     }
 
-    @McpTool(name = "courses_update_title", description = "Update the title of an existing course")
-    public Course updateCourseTitle(@McpToolParam(description = "Current title") String title,
-                                    @McpToolParam(description = "New title") String newTitle) {
-        log.info("McpTool called: courses_update_title | title={}, newTitle={}", title, newTitle);
-        Course course = courseRepository.findByCourseNameIgnoreCase(title).orElse(null);
-        if (course == null) return null;
-        course.setCourseName(newTitle);
-        return courseRepository.save(course);
+    /**
+     * Log a set-based change; it is attributed to a single course only when the selector named exactly one id.
+     * Returns the change's version, 0 when nothing changed.
+     */
+    private long recordBulk(String operation, CourseSelector selector, int affected) {
+        Long id = affected == 1 && selector.ids() != null && selector.ids().size() == 1 ? selector.ids().get(0) : null;
+        StringJoiner detail = new StringJoiner(", ");
+        if (selector.provider() != null) detail.add("provider=" + selector.provider());
+        if (selector.level() != null) detail.add("level=" + selector.level());
+        if (selector.titles() != null && !selector.titles().isEmpty()) detail.add("titles=" + selector.titles());
+        if (selector.ids() != null && !selector.ids().isEmpty()) detail.add("ids=" + selector.ids());
+        return changeLog.record(CatalogEntity.COURSES, operation, id, detail.toString(), affected);
     }
 
     @McpTool(name = "courses_health", description = "Health check for course MCP service")
     public String health() {
         log.info("McpTool called: courses_health");
-        return "OK - Course MCP service is running. Total courses: " + courseRepository.count();
+        return "OK - Course MCP service is running. Total courses: " + counters.courses()
+                + ". Search index: " + (searchIndex.isReady() ? searchIndex.size() + " courses" : "building")
+                + ". Catalog snapshot: " + (catalogSnapshot.isReady() ? catalogSnapshot.size() + " courses" : "building")
+                + ". Tool calls: " + toolMetrics.totalCalls() + " (" + toolMetrics.totalErrors() + " errors)";
     }
 
     /* =============================
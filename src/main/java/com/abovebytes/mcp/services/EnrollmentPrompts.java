@@ -15,7 +15,10 @@ public class EnrollmentPrompts {
         """
     )
     public String enrollStudentPrompt(String studentEmail, String teacherEmail, String courseTitle) {
-        // MCP server will use this as a natural-language style tool
-        return "Enroll student " + studentEmail + " in course " + courseTitle + " with teacher " + teacherEmail;
+        // Points the model at the write tools; a cohort is one enrollments_enroll_batch call
+        return "Enroll student " + studentEmail + " in course " + courseTitle + " with teacher " + teacherEmail
+                + " by calling the enrollments_enroll tool with studentEmail, teacherEmail and courseTitle."
+                + " To enroll several students in the same course, call enrollments_enroll_batch once with all their emails."
+                + " If the tool reports an unknown student, teacher or course, tell the user which one does not exist.";
     }
 }
@@ -1,11 +1,15 @@
 package com.abovebytes.mcp.services;
 
-import com.abovebytes.mcp.entities.Enrollment;
-import com.abovebytes.mcp.entities.User;
-import com.abovebytes.mcp.entities.Course;
+import com.abovebytes.mcp.catalog.CatalogChangeLog;
+import com.abovebytes.mcp.models.CatalogEntity;
+import com.abovebytes.mcp.models.CursorPage;
+import com.abovebytes.mcp.models.EnrollmentBatchResult;
+import com.abovebytes.mcp.models.EnrollmentView;
+import com.abovebytes.mcp.models.Level;
+import com.abovebytes.mcp.models.Provider;
 import com.abovebytes.mcp.repositories.EnrollmentRepository;
-import com.abovebytes.mcp.repositories.UserRepository;
-import com.abovebytes.mcp.repositories.CourseRepository;
+import com.abovebytes.mcp.utils.CursorUtils;
+import com.abovebytes.mcp.utils.KeyUtils;
 import io.modelcontextprotocol.spec.McpSchema;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -13,59 +17,219 @@ import org.springaicommunity.mcp.annotation.McpResource;
 import org.springaicommunity.mcp.annotation.McpTool;
 import org.springaicommunity.mcp.annotation.McpToolParam;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 public class EnrollmentService {
 
     private static final Logger log = LoggerFactory.getLogger(EnrollmentService.class);
+    private static final int MAX_BATCH = 1000;
 
     private final EnrollmentRepository enrollmentRepository;
-    private final UserRepository userRepository;
-    private final CourseRepository courseRepository;
+    private final CatalogChangeLog changeLog;
 
-    public EnrollmentService(EnrollmentRepository enrollmentRepository,
-                             UserRepository userRepository,
-                             CourseRepository courseRepository) {
+    public EnrollmentService(EnrollmentRepository enrollmentRepository, CatalogChangeLog changeLog) {
         this.enrollmentRepository = enrollmentRepository;
-        this.userRepository = userRepository;
-        this.courseRepository = courseRepository;
+        this.changeLog = changeLog;
     }
 
     /* ==========================
    ENROLLMENT TOOLS (READ)
    ========================== */
 
-    @McpTool(name = "enrollments_list", description = "Return all enrollments")
-    public List<Enrollment> listEnrollmentsTool() {
-        log.info("McpTool called: enrollments_list");
-        return enrollmentRepository.findAll();
+    @McpTool(name = "enrollments_list", description = "Return one page of enrollments ordered by id. Pass the returned nextCursor to fetch the following page")
+    public CursorPage<EnrollmentView> listEnrollmentsTool(@McpToolParam(description = "Cursor returned by the previous page", required = false) String cursor,
+                                                          @McpToolParam(description = "Page size (max 200)", required = false) Integer pageSize) {
+        log.info("McpTool called: enrollments_list | cursor={}, pageSize={}", cursor, pageSize);
+        int size = CursorUtils.pageSize(pageSize);
+        List<EnrollmentView> rows = enrollmentRepository.findViews(CursorUtils.decode(cursor), CursorUtils.limit(size));
+        return CursorUtils.page(rows, size, EnrollmentView::id);
     }
 
-    @McpTool(name = "enrollments_by_student", description = "Return enrollments for a given student email")
-    public List<Enrollment> getByStudentTool(@McpToolParam(description = "Student email") String studentEmail) {
-        log.info("McpTool called: enrollments_by_student | email={}", studentEmail);
-        User student = userRepository.findByEmailIgnoreCase(studentEmail).orElse(null);
-        if (student == null) return List.of();
-        return enrollmentRepository.findByStudent(student);
+    @McpTool(name = "enrollments_by_student", description = "Return one page of enrollments for a given student email")
+    public CursorPage<EnrollmentView> getByStudentTool(@McpToolParam(description = "Student email") String studentEmail,
+                                                       @McpToolParam(description = "Cursor returned by the previous page", required = false) String cursor,
+                                                       @McpToolParam(description = "Page size (max 200)", required = false) Integer pageSize) {
+        log.info("McpTool called: enrollments_by_student | email={}, cursor={}", studentEmail, cursor);
+        int size = CursorUtils.pageSize(pageSize);
+        List<EnrollmentView> rows = enrollmentRepository.findViewsByStudentEmailKey(KeyUtils.normalize(studentEmail), CursorUtils.decode(cursor), CursorUtils.limit(size));
+        return CursorUtils.page(rows, size, EnrollmentView::id);
     }
 
-    @McpTool(name = "enrollments_by_teacher", description = "Return enrollments for a given teacher email")
-    public List<Enrollment> getByTeacherTool(@McpToolParam(description = "Teacher email") String teacherEmail) {
-        log.info("McpTool called: enrollments_by_teacher | email={}", teacherEmail);
-        User teacher = userRepository.findByEmailIgnoreCase(teacherEmail).orElse(null);
-        if (teacher == null) return List.of();
-        return enrollmentRepository.findByTeacher(teacher);
+    @McpTool(name = "enrollments_by_teacher", description = "Return one page of enrollments for a given teacher email")
+    public CursorPage<EnrollmentView> getByTeacherTool(@McpToolParam(description = "Teacher email") String teacherEmail,
+                                                       @McpToolParam(description = "Cursor returned by the previous page", required = false) String cursor,
+                                                       @McpToolParam(description = "Page size (max 200)", required = false) Integer pageSize) {
+        log.info("McpTool called: enrollments_by_teacher | email={}, cursor={}", teacherEmail, cursor);
+        int size = CursorUtils.pageSize(pageSize);
+        List<EnrollmentView> rows = enrollmentRepository.findViewsByTeacherEmailKey(KeyUtils.normalize(teacherEmail), CursorUtils.decode(cursor), CursorUtils.limit(size));
+        return CursorUtils.page(rows, size, EnrollmentView::id);
     }
 
-    @McpTool(name = "enrollments_by_course", description = "Return enrollments for a given course title")
-    public List<Enrollment> getByCourseTool(@McpToolParam(description = "Course title") String courseTitle) {
-        log.info("McpTool called: enrollments_by_course | title={}", courseTitle);
-        Course course = courseRepository.findByCourseNameIgnoreCase(courseTitle).orElse(null);
-        if (course == null) return List.of();
-        return enrollmentRepository.findByCourse(course);
+    @McpTool(name = "enrollments_by_course", description = "Return one page of enrollments for a given course title")
+    public CursorPage<EnrollmentView> getByCourseTool(@McpToolParam(description = "Course title") String courseTitle,
+                                                      @McpToolParam(description = "Cursor returned by the previous page", required = false) String cursor,
+                                                      @McpToolParam(description = "Page size (max 200)", required = false) Integer pageSize) {
+        log.info("McpTool called: enrollments_by_course | title={}, cursor={}", courseTitle, cursor);
+        int size = CursorUtils.pageSize(pageSize);
+        List<EnrollmentView> rows = enrollmentRepository.findViewsByCourseNameKey(KeyUtils.normalize(courseTitle), CursorUtils.decode(cursor), CursorUtils.limit(size));
+        return CursorUtils.page(rows, size, EnrollmentView::id);
+    }
+
+    /* ==========================
+   ENROLLMENT TOOLS (WRITE)
+   ========================== */
+
+    @McpTool(name = "enrollments_enroll", description = "Enroll a student in a course with a teacher. Re-enrolling is a no-op; a previously unenrolled student is re-activated")
+    @Transactional
+    public EnrollmentBatchResult enrollTool(@McpToolParam(description = "Student email") String studentEmail,
+                                            @McpToolParam(description = "Teacher email") String teacherEmail,
+                                            @McpToolParam(description = "Course title") String courseTitle,
+                                            @McpToolParam(description = "Course provider, when several courses share the title", required = false) Provider provider,
+                                            @McpToolParam(description = "Course level, when several courses share the title", required = false) Level level) {
+        log.info("McpTool called: enrollments_enroll | student={}, teacher={}, course={}", studentEmail, teacherEmail, courseTitle);
+        return enroll(List.of(studentEmail), teacherEmail, courseTitle, provider, level);
+    }
+
+    @McpTool(name = "enrollments_enroll_batch", description = "Enroll a cohort of students (up to 1000) in one course with one teacher in a single transaction. Students already enrolled are left as they are")
+    @Transactional
+    public EnrollmentBatchResult enrollBatchTool(@McpToolParam(description = "Student emails") List<String> studentEmails,
+                                                 @McpToolParam(description = "Teacher email") String teacherEmail,
+                                                 @McpToolParam(description = "Course title") String courseTitle,
+                                                 @McpToolParam(description = "Course provider, when several courses share the title", required = false) Provider provider,
+                                                 @McpToolParam(description = "Course level, when several courses share the title", required = false) Level level) {
+        log.info("McpTool called: enrollments_enroll_batch | students={}, teacher={}, course={}", size(studentEmails), teacherEmail, courseTitle);
+        return enroll(studentEmails, teacherEmail, courseTitle, provider, level);
+    }
+
+    @McpTool(name = "enrollments_unenroll", description = "Unenroll a student from a course (marks the enrollment inactive). Without a teacher email, every teacher's enrollment for that course is ended")
+    @Transactional
+    public EnrollmentBatchResult unenrollTool(@McpToolParam(description = "Student email") String studentEmail,
+                                              @McpToolParam(description = "Course title") String courseTitle,
+                                              @McpToolParam(description = "Teacher email", required = false) String teacherEmail,
+                                              @McpToolParam(description = "Course provider, when several courses share the title", required = false) Provider provider,
+                                              @McpToolParam(description = "Course level, when several courses share the title", required = false) Level level) {
+        log.info("McpTool called: enrollments_unenroll | student={}, course={}, teacher={}", studentEmail, courseTitle, teacherEmail);
+        return unenroll(List.of(studentEmail), courseTitle, teacherEmail, provider, level);
+    }
+
+    @McpTool(name = "enrollments_unenroll_batch", description = "Unenroll a cohort of students (up to 1000) from one course in a single transaction")
+    @Transactional
+    public EnrollmentBatchResult unenrollBatchTool(@McpToolParam(description = "Student emails") List<String> studentEmails,
+                                                   @McpToolParam(description = "Course title") String courseTitle,
+                                                   @McpToolParam(description = "Teacher email", required = false) String teacherEmail,
+                                                   @McpToolParam(description = "Course provider, when several courses share the title", required = false) Provider provider,
+                                                   @McpToolParam(description = "Course level, when several courses share the title", required = false) Level level) {
+        log.info("McpTool called: enrollments_unenroll_batch | students={}, course={}, teacher={}", size(studentEmails), courseTitle, teacherEmail);
+        return unenroll(studentEmails, courseTitle, teacherEmail, provider, level);
+    }
+
+    private EnrollmentBatchResult enroll(List<String> studentEmails, String teacherEmail, String courseTitle, Provider provider, Level level) {
+        if (teacherEmail == null || teacherEmail.isBlank()) {
+            throw new IllegalArgumentException("teacherEmail is required");
+        }
+        Keys keys = resolve(studentEmails, teacherEmail, courseTitle, provider, level);
+        if (keys.studentIds().isEmpty()) {
+            return new EnrollmentBatchResult("enroll", courseTitle, keys.requested(), 0, 0, 0, keys.unknownStudents());
+        }
+        int reactivated = enrollmentRepository.updateActive(keys.studentIds(), keys.teacherId(), keys.courseId(), true);
+        int inserted = enrollmentRepository.insertMissing(keys.studentIds(), keys.teacherId(), keys.courseId(), LocalDateTime.now());
+        int affected = reactivated + inserted;
+        changeLog.record(CatalogEntity.ENROLLMENTS, "enroll", null, describe(keys), affected);
+        // One teacher: one row per student
+        return new EnrollmentBatchResult("enroll", courseTitle, keys.requested(), affected,
+                keys.studentIds().size() - affected, affected, keys.unknownStudents());
+    }
+
+    private EnrollmentBatchResult unenroll(List<String> studentEmails, String courseTitle, String teacherEmail, Provider provider, Level level) {
+        Keys keys = resolve(studentEmails, teacherEmail, courseTitle, provider, level);
+        if (keys.studentIds().isEmpty()) {
+            return new EnrollmentBatchResult("unenroll", courseTitle, keys.requested(), 0, 0, 0, keys.unknownStudents());
+        }
+        // Without a teacher one student can have a row per teacher: count the students separately
+        List<Long> students = keys.teacherId() != null ? null
+                : enrollmentRepository.findStudentsToUpdate(keys.studentIds(), null, keys.courseId(), false);
+        int rows = enrollmentRepository.updateActive(keys.studentIds(), keys.teacherId(), keys.courseId(), false);
+        int affected = students == null ? rows : Math.min(students.size(), rows);
+        changeLog.record(CatalogEntity.ENROLLMENTS, "unenroll", null, describe(keys), rows);
+        return new EnrollmentBatchResult("unenroll", courseTitle, keys.requested(), affected,
+                keys.studentIds().size() - affected, rows, keys.unknownStudents());
+    }
+
+    private record Keys(int requested, List<Long> studentIds, List<String> unknownStudents, Long teacherId, Long courseId) {
+    }
+
+    /**
+     * Resolve every email and the course title with one query. An unknown or ambiguous course or an
+     * unknown teacher fails the call; unknown students are reported and skipped.
+     */
+    private Keys resolve(List<String> studentEmails, String teacherEmail, String courseTitle, Provider provider, Level level) {
+        if (studentEmails == null || studentEmails.isEmpty()) {
+            throw new IllegalArgumentException("At least one student email is required");
+        }
+        if (studentEmails.size() > MAX_BATCH) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH + " students per call, got " + studentEmails.size());
+        }
+        if (courseTitle == null || courseTitle.isBlank()) {
+            throw new IllegalArgumentException("courseTitle is required");
+        }
+        // Key -> email as the caller wrote it, for the unknown students report
+        Map<String, String> studentKeys = new LinkedHashMap<>();
+        studentEmails.forEach(email -> studentKeys.putIfAbsent(KeyUtils.normalize(email), email));
+        String teacherKey = teacherEmail == null || teacherEmail.isBlank() ? null : KeyUtils.normalize(teacherEmail);
+        Set<String> emailKeys = new LinkedHashSet<>(studentKeys.keySet());
+        if (teacherKey != null) emailKeys.add(teacherKey);
+
+        Map<String, Long> users = new HashMap<>();
+        List<Long> courses = new ArrayList<>();
+        for (Object[] row : enrollmentRepository.resolveKeys(emailKeys, KeyUtils.normalize(courseTitle),
+                provider == null ? null : provider.name(), level == null ? null : level.name())) {
+            long id = ((Number) row[1]).longValue();
+            if ("C".equals(String.valueOf(row[0]))) courses.add(id);
+            else users.put((String) row[2], id);
+        }
+
+        if (courses.isEmpty()) {
+            throw new IllegalArgumentException("No course found with title '" + courseTitle + "'"
+                    + (provider != null || level != null ? " for provider " + provider + " and level " + level : ""));
+        }
+        if (courses.size() > 1) {
+            throw new IllegalArgumentException(courses.size() + " courses are titled '" + courseTitle
+                    + "' (ids " + courses + "); pass provider and/or level to pick one");
+        }
+        Long teacherId = null;
+        if (teacherKey != null) {
+            teacherId = users.get(teacherKey);
+            if (teacherId == null) {
+                throw new IllegalArgumentException("No user found with teacher email " + teacherEmail);
+            }
+        }
+        List<Long> studentIds = new ArrayList<>();
+        List<String> unknown = new ArrayList<>();
+        for (Map.Entry<String, String> student : studentKeys.entrySet()) {
+            Long id = users.get(student.getKey());
+            if (id == null) unknown.add(student.getValue());
+            else studentIds.add(id);
+        }
+        return new Keys(studentKeys.size(), studentIds, unknown, teacherId, courses.get(0));
+    }
+
+    private static String describe(Keys keys) {
+        return "courseId=" + keys.courseId() + (keys.teacherId() != null ? ", teacherId=" + keys.teacherId() : "")
+                + ", studentIds=" + keys.studentIds();
+    }
+
+    private static int size(List<?> values) {
+        return values == null ? 0 : values.size();
     }
 }
@@ -0,0 +1,44 @@
+package com.abovebytes.mcp.services;
+
+import com.abovebytes.mcp.cache.LookupCache;
+import com.abovebytes.mcp.cache.PayloadCache;
+import com.abovebytes.mcp.metrics.ToolMetrics;
+import com.abovebytes.mcp.models.CacheStats;
+import com.abovebytes.mcp.models.ToolMetricsSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springaicommunity.mcp.annotation.McpTool;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+public class OperationsService {
+
+    private static final Logger log = LoggerFactory.getLogger(OperationsService.class);
+
+    private final LookupCache lookupCache;
+    private final PayloadCache payloadCache;
+    private final ToolMetrics toolMetrics;
+
+    public OperationsService(LookupCache lookupCache, PayloadCache payloadCache, ToolMetrics toolMetrics) {
+        this.lookupCache = lookupCache;
+        this.payloadCache = payloadCache;
+        this.toolMetrics = toolMetrics;
+    }
+
+    @McpTool(name = "cache_stats", description = "Return size, hit, miss and eviction statistics of the lookup and serialized payload caches")
+    public List<CacheStats> cacheStatsTool() {
+        log.info("McpTool called: cache_stats");
+        List<CacheStats> stats = new ArrayList<>(lookupCache.stats());
+        stats.add(payloadCache.stats());
+        return stats;
+    }
+
+    @McpTool(name = "server_metrics", description = "Return per-tool call counts, error counts, calls coalesced into an identical running call, latency percentiles (ms), mean result size (bytes) and mean SQL statements per call, busiest tools first")
+    public List<ToolMetricsSnapshot> serverMetricsTool() {
+        log.info("McpTool called: server_metrics");
+        return toolMetrics.snapshot();
+    }
+}
@@ -1,14 +1,27 @@
 package com.abovebytes.mcp.services;
 
+import com.abovebytes.mcp.cache.CatalogCounters;
+import com.abovebytes.mcp.cache.LookupCache;
+import com.abovebytes.mcp.cache.PayloadCache;
+import com.abovebytes.mcp.catalog.CatalogChangeLog;
 import com.abovebytes.mcp.entities.User;
+import com.abovebytes.mcp.models.BulkResult;
+import com.abovebytes.mcp.models.CatalogEntity;
+import com.abovebytes.mcp.models.CursorPage;
 import com.abovebytes.mcp.models.RoleValue;
+import com.abovebytes.mcp.projection.FieldProjection;
 import com.abovebytes.mcp.repositories.UserRepository;
+import com.abovebytes.mcp.utils.ConstraintUtils;
+import com.abovebytes.mcp.utils.CursorUtils;
+import com.abovebytes.mcp.utils.KeyUtils;
 import io.modelcontextprotocol.spec.McpSchema;
 import lombok.extern.slf4j.Slf4j;
 import org.springaicommunity.mcp.annotation.McpResource;
 import org.springaicommunity.mcp.annotation.McpTool;
 import org.springaicommunity.mcp.annotation.McpToolParam;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -16,23 +29,53 @@ import java.util.stream.Collectors;
 @Service
 @Slf4j
 public class UserService {
+    private static final int MAX_NAME_LENGTH = 100;
+    private static final int MAX_EMAIL_LENGTH = 150;
+    // idx_user_email and idx_user_email_key: the email as given and case-folded
+    private static final String EMAIL_UNIQUE_KEY = "idx_user_email";
+
     private final UserRepository userRepository;
+    private final LookupCache lookupCache;
+    private final FieldProjection fieldProjection;
+    private final PayloadCache payloadCache;
+    private final CatalogCounters counters;
+    private final CatalogChangeLog changeLog;
 
-    public UserService(UserRepository userRepository) {
+    public UserService(UserRepository userRepository, LookupCache lookupCache,
+                       FieldProjection fieldProjection, PayloadCache payloadCache,
+                       CatalogCounters counters, CatalogChangeLog changeLog) {
         this.userRepository = userRepository;
+        this.lookupCache = lookupCache;
+        this.fieldProjection = fieldProjection;
+        this.payloadCache = payloadCache;
+        this.counters = counters;
+        this.changeLog = changeLog;
     }
 
     /* ==========================
        TOOL METHODS (WRITE / ACTION)
        ========================== */
 
-    @McpTool(name = "users_create", description = "Create a new application user")
+    @McpTool(name = "users_create", description = "Create a new application user. Fails if the email is already registered")
+    @Transactional
     public User createUser(
             @McpToolParam(description = "Full name of the user") String fullName,
             @McpToolParam(description = "Email address (unique)") String email,
             @McpToolParam(description = "User role (STUDENT, INSTRUCTOR, ADMIN)") RoleValue role
     ) {
         log.info("McpTool called: users_create | email={}", email);
+        if (fullName == null || fullName.isBlank()) {
+            throw new IllegalArgumentException("fullName is required");
+        }
+        if (fullName.length() > MAX_NAME_LENGTH) {
+            throw new IllegalArgumentException("fullName must be at most " + MAX_NAME_LENGTH + " characters, got " + fullName.length());
+        }
+        if (email == null || email.isBlank()) {
+            throw new IllegalArgumentException("email is required");
+        }
+        if (email.length() > MAX_EMAIL_LENGTH) {
+            throw new IllegalArgumentException("email must be at most " + MAX_EMAIL_LENGTH + " characters, got " + email.length());
+        }
         User user = User.builder()
                 .fullName(fullName)
                 .email(email)
@@ -40,21 +83,47 @@ public class UserService {
                 .active(true)
                 .createdAt(LocalDateTime.now())
                 .build();
-        return userRepository.save(user);
+        User saved;
+        try {
+            // One INSERT; the unique email_key index rejects duplicates, even from concurrent callers
+            saved = userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            if (!ConstraintUtils.violates(e, EMAIL_UNIQUE_KEY)) {
+                throw e;
+            }
+            throw new IllegalStateException("Cannot create user: A user with email '" + email + "' already exists");
+        }
+        lookupCache.invalidateUser(saved);
+        counters.activeUsersAdded(1);
+        changeLog.record(CatalogEntity.USERS, "create", saved.getUserId(), saved.getEmail(), 1);
+        return saved;
     }
 
     @McpTool(name = "users_deactivate", description = "Deactivate a user by email")
+    @Transactional
     public String deactivateUser(
             @McpToolParam(description = "User email") String email
     ) {
         log.info("McpTool called: users_deactivate | email={}", email);
-        return userRepository.findByEmailIgnoreCase(email)
-                .map(user -> {
-                    user.setActive(false);
-                    userRepository.save(user);
-                    return "User " + email + " deactivated";
-                })
-                .orElse("User not found with email " + email);
+        int affected = userRepository.deactivateByEmailKeys(List.of(KeyUtils.normalize(email)), LocalDateTime.now());
+        lookupCache.invalidateUserEmails(List.of(email));
+        counters.activeUsersRemoved(affected);
+        changeLog.record(CatalogEntity.USERS, "deactivate", null, "emails=[" + email + "]", affected);
+        return affected > 0 ? "User " + email + " deactivated" : "No active user found with email " + email;
+    }
+
+    @McpTool(name = "users_bulk_deactivate", description = "Deactivate every user in a list of emails in one statement. Returns the number of users deactivated")
+    @Transactional
+    public BulkResult bulkDeactivateUsers(
+            @McpToolParam(description = "User emails") List<String> emails
+    ) {
+        log.info("McpTool called: users_bulk_deactivate | count={}", emails == null ? 0 : emails.size());
+        if (emails == null || emails.isEmpty()) return new BulkResult("deactivate", 0);
+        int affected = userRepository.deactivateByEmailKeys(emails.stream().map(KeyUtils::normalize).toList(), LocalDateTime.now());
+        lookupCache.invalidateUserEmails(emails);
+        counters.activeUsersRemoved(affected);
+        changeLog.record(CatalogEntity.USERS, "deactivate", null, "emails=" + emails, affected);
+        return new BulkResult("deactivate", affected);
     }
 
     /* ==========================
@@ -64,28 +133,39 @@ public class UserService {
    USER TOOLS (READ)
    ============================= */
 
-    @McpTool(name = "users_list", description = "Return all users")
-    public List<User> listUsersTool() {
-        log.info("McpTool called: users_list");
-        return userRepository.findAll();
+    @McpTool(name = "users_list", description = "Return one page of users ordered by id. Pass the returned nextCursor to fetch the following page")
+    public String listUsersTool(@McpToolParam(description = "Cursor returned by the previous page", required = false) String cursor,
+                                @McpToolParam(description = "Page size (max 200)", required = false) Integer pageSize,
+                                @McpToolParam(description = "Only return these user fields, e.g. [\"userId\",\"email\"]", required = false) List<String> fields) {
+        log.info("McpTool called: users_list | cursor={}, pageSize={}, fields={}", cursor, pageSize, fields);
+        int size = CursorUtils.pageSize(pageSize);
+        List<User> rows = userRepository.findByUserIdGreaterThanOrderByUserIdAsc(CursorUtils.decode(cursor), CursorUtils.limit(size));
+        return fieldProjection.write(CursorUtils.page(rows, size, User::getUserId), User.class, fields);
     }
 
     @McpTool(name = "users_count_active", description = "Return the total number of active users")
     public long countActiveUsersTool() {
         log.info("McpTool called: users_count_active");
-        return userRepository.countByActiveTrue();
+        return counters.activeUsers();
     }
 
     @McpTool(name = "users_get_by_email", description = "Get a user by email")
-    public User getUserByEmailTool(@McpToolParam(description = "User email") String email) {
-        log.info("McpTool called: users_get_by_email | email={}", email);
-        return userRepository.findByEmailIgnoreCase(email).orElse(null);
+    public String getUserByEmailTool(@McpToolParam(description = "User email") String email,
+                                     @McpToolParam(description = "Only return these user fields, e.g. [\"fullName\",\"role\"]", required = false) List<String> fields) {
+        log.info("McpTool called: users_get_by_email | email={}, fields={}", email, fields);
+        return toJson(lookupCache.userByEmail(email), fields);
     }
 
     @McpTool(name = "users_get_by_id", description = "Get a user by ID")
-    public User getUserByIdTool(@McpToolParam(description = "User ID") Long id) {
-        log.info("McpTool called: users_get_by_id | id={}", id);
-        return userRepository.findById(id).orElse(null);
+    public String getUserByIdTool(@McpToolParam(description = "User ID") Long id,
+                                  @McpToolParam(description = "Only return these user fields, e.g. [\"fullName\",\"role\"]", required = false) List<String> fields) {
+        log.info("McpTool called: users_get_by_id | id={}, fields={}", id, fields);
+        return toJson(lookupCache.userById(id), fields);
+    }
+
+    private String toJson(User user, List<String> fields) {
+        return payloadCache.get(user, fieldProjection.variant(fields),
+                () -> fieldProjection.write(user, User.class, fields));
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,151 @@
+package com.abovebytes.mcp.transfer;
+
+import com.abovebytes.mcp.models.CatalogEntity;
+import com.abovebytes.mcp.models.ExportResult;
+import com.abovebytes.mcp.models.TransferFormat;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes courses, users or enrollments to an NDJSON or CSV file in the same column layout the
+ * importer reads. Rows are read in keyset chunks of {@code mcp.transfer.batch-size} and written as
+ * they arrive, so memory use does not grow with the table. The file is written under a
+ * {@code .part} name and moved into place once complete.
+ */
+@Component
+public class CatalogExporter {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogExporter.class);
+
+    /**
+     * Keyset query for one entity; the first selected column is the id, the remaining ones map to {@code columns}.
+     */
+    private record Spec(String sql, List<String> columns) {
+    }
+
+    private static final Spec COURSES = new Spec(
+            "SELECT id, course_name, description, course_url, provider, level, language, duration_minutes, rating, active "
+                    + "FROM course WHERE id > ? AND deleted = false ORDER BY id LIMIT ?",
+            List.of("title", "description", "url", "provider", "level", "language", "durationMinutes", "rating", "active"));
+
+    private static final Spec USERS = new Spec(
+            "SELECT user_id, full_name, email, role, active FROM app_user WHERE user_id > ? ORDER BY user_id LIMIT ?",
+            List.of("fullName", "email", "role", "active"));
+
+    private static final Spec ENROLLMENTS = new Spec(
+            "SELECT e.id, s.email, t.email, c.course_name, e.enrolled_at, e.active FROM enrollments e "
+                    + "JOIN app_user s ON s.user_id = e.student_id JOIN app_user t ON t.user_id = e.teacher_id "
+                    + "JOIN course c ON c.id = e.course_id WHERE e.id > ? ORDER BY e.id LIMIT ?",
+            List.of("studentEmail", "teacherEmail", "courseTitle", "enrolledAt", "active"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final Path directory;
+    private final int chunkSize;
+
+    public CatalogExporter(JdbcTemplate jdbcTemplate,
+                           ObjectMapper objectMapper,
+                           @Value("${mcp.transfer.directory:${java.io.tmpdir}/mcp-transfer}") Path directory,
+                           @Value("${mcp.transfer.batch-size:1000}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.directory = directory;
+        this.chunkSize = chunkSize;
+    }
+
+    public ExportResult exportFile(CatalogEntity entity, String file, TransferFormat format) {
+        Path path = TransferFiles.resolve(directory, file);
+        TransferFormat effective = format != null ? format : TransferFormat.fromFileName(path.toString());
+        Spec spec = switch (entity) {
+            case COURSES -> COURSES;
+            case USERS -> USERS;
+            case ENROLLMENTS -> ENROLLMENTS;
+        };
+        long start = System.nanoTime();
+        Path part = path.resolveSibling(path.getFileName() + ".part");
+        long rows = 0;
+        try {
+            Files.createDirectories(path.getParent());
+            try (BufferedWriter writer = Files.newBufferedWriter(part);
+                 JsonGenerator json = objectMapper.getFactory().createGenerator(writer)) {
+                json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                if (effective == TransferFormat.CSV) {
+                    writer.write(CsvCodec.format(spec.columns()));
+                    writer.newLine();
+                }
+                long afterId = 0;
+                int fetched;
+                do {
+                    List<Object[]> chunk = jdbcTemplate.query(spec.sql(), (rs, i) -> row(rs, spec.columns().size() + 1), afterId, chunkSize);
+                    for (Object[] row : chunk) {
+                        write(writer, json, effective, spec.columns(), row);
+                    }
+                    fetched = chunk.size();
+                    rows += fetched;
+                    if (fetched > 0) {
+                        afterId = ((Number) chunk.get(fetched - 1)[0]).longValue();
+                    }
+                } while (fetched == chunkSize);
+            }
+            Files.move(part, path, StandardCopyOption.REPLACE_EXISTING);
+            long bytes = Files.size(path);
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            log.info("Exported {} {} to {} ({} bytes, {} ms)", rows, entity, path, bytes, elapsedMillis);
+            return new ExportResult(entity, effective, path.toString(), rows, bytes, elapsedMillis);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write " + path, e);
+        } finally {
+            try {
+                Files.deleteIfExists(part);
+            } catch (IOException ignored) {
+                // best effort
+            }
+        }
+    }
+
+    private static Object[] row(ResultSet rs, int columns) throws SQLException {
+        Object[] row = new Object[columns];
+        for (int i = 0; i < columns; i++) {
+            Object value = rs.getObject(i + 1);
+            row[i] = value instanceof Timestamp ts ? ts.toLocalDateTime().toString() : value;
+        }
+        return row;
+    }
+
+    private static void write(BufferedWriter writer, JsonGenerator json, TransferFormat format,
+                              List<String> columns, Object[] row) throws IOException {
+        if (format == TransferFormat.CSV) {
+            List<Object> values = new ArrayList<>(columns.size());
+            for (int i = 1; i < row.length; i++) {
+                values.add(row[i]);
+            }
+            writer.write(CsvCodec.format(values));
+            writer.newLine();
+            return;
+        }
+        json.writeStartObject();
+        for (int i = 0; i < columns.size(); i++) {
+            json.writeObjectField(columns.get(i), row[i + 1]);
+        }
+        json.writeEndObject();
+        json.flush();
+        writer.newLine();
+    }
+}
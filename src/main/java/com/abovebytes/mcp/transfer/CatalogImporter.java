@@ -0,0 +1,426 @@
+package com.abovebytes.mcp.transfer;
+
+import com.abovebytes.mcp.catalog.CatalogChangeLog;
+import com.abovebytes.mcp.models.CatalogEntity;
+import com.abovebytes.mcp.models.ImportResult;
+import com.abovebytes.mcp.models.Level;
+import com.abovebytes.mcp.models.Provider;
+import com.abovebytes.mcp.models.RejectedRow;
+import com.abovebytes.mcp.models.RoleValue;
+import com.abovebytes.mcp.models.TransferFormat;
+import com.abovebytes.mcp.utils.CourseUtils;
+import com.abovebytes.mcp.utils.KeyUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Streams NDJSON or CSV rows of courses, users or enrollments into the database.
+ * <p>
+ * Rows are validated and collected into batches of {@code mcp.transfer.batch-size}. Each batch costs
+ * one set-based duplicate check (plus one lookup of referenced users and courses for enrollments)
+ * and one JDBC batch insert, committed in its own transaction. With the MySQL driver's
+ * {@code rewriteBatchedStatements} the batch goes out as multi-row INSERTs, which is what makes
+ * this fast even though ids stay IDENTITY-generated. If a batch fails, its rows are retried one by one
+ * so only the offending rows are rejected.
+ * <p>
+ * Each batch is logged to the catalog change log in the transaction that inserts it, so an import
+ * that fails partway still accounts for the batches it committed.
+ */
+@Component
+public class CatalogImporter {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogImporter.class);
+    private static final int MAX_REPORTED_REJECTIONS = 100;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final CatalogChangeLog changeLog;
+    private final Path directory;
+    private final int batchSize;
+
+    public CatalogImporter(JdbcTemplate jdbcTemplate,
+                           PlatformTransactionManager transactionManager,
+                           ObjectMapper objectMapper,
+                           CatalogChangeLog changeLog,
+                           @Value("${mcp.transfer.directory:${java.io.tmpdir}/mcp-transfer}") Path directory,
+                           @Value("${mcp.transfer.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.changeLog = changeLog;
+        this.directory = directory;
+        this.batchSize = batchSize;
+    }
+
+    public ImportResult importFile(CatalogEntity entity, String file, TransferFormat format) {
+        Path path = TransferFiles.resolve(directory, file);
+        TransferFormat effective = format != null ? format : TransferFormat.fromFileName(path.toString());
+        Target target = switch (entity) {
+            case COURSES -> new CourseTarget();
+            case USERS -> new UserTarget();
+            case ENROLLMENTS -> new EnrollmentTarget();
+        };
+        String source = "file=" + file;
+        long start = System.nanoTime();
+        Summary summary = new Summary();
+        try (BufferedReader reader = Files.newBufferedReader(path)) {
+            RowReader rows = new RowReader(reader, effective, objectMapper);
+            List<Pending> batch = new ArrayList<>(batchSize);
+            RowReader.Row row;
+            while ((row = rows.next()) != null) {
+                summary.read++;
+                if (row.error() != null) {
+                    summary.reject(row.line(), row.error());
+                    continue;
+                }
+                try {
+                    batch.add(target.convert(row));
+                } catch (IllegalArgumentException e) {
+                    summary.reject(row.line(), e.getMessage());
+                }
+                if (batch.size() >= batchSize) {
+                    flush(entity, source, target, batch, summary);
+                    batch.clear();
+                }
+            }
+            flush(entity, source, target, batch, summary);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read " + path, e);
+        }
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        log.info("Imported {} from {}: {} read, {} inserted, {} rejected in {} batches ({} ms)",
+                entity, path, summary.read, summary.inserted, summary.rejected, summary.batches, elapsedMillis);
+        return new ImportResult(entity, effective, path.toString(), summary.read, summary.inserted, summary.rejected,
+                summary.batches, elapsedMillis, List.copyOf(summary.rejections));
+    }
+
+    private void flush(CatalogEntity entity, String source, Target target, List<Pending> batch, Summary summary) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        summary.batches++;
+        Map<String, Pending> unique = new LinkedHashMap<>();
+        for (Pending row : batch) {
+            Pending first = unique.putIfAbsent(row.key(), row);
+            if (first != null) {
+                summary.reject(row.line(), "Duplicate of line " + first.line());
+            }
+        }
+        List<Pending> rows = target.resolve(new ArrayList<>(unique.values()), summary);
+        if (!rows.isEmpty()) {
+            summary.inserted += insert(entity, source, target.insertSql(), rows, summary);
+        }
+    }
+
+    private int insert(CatalogEntity entity, String source, String sql, List<Pending> rows, Summary summary) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(sql, rows.stream().map(Pending::args).toList());
+                changeLog.record(entity, "import", null, source, rows.size());
+            });
+            return rows.size();
+        } catch (DataAccessException e) {
+            log.debug("Batch insert failed, retrying {} rows one by one", rows.size(), e);
+            int inserted = 0;
+            for (Pending row : rows) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(sql, row.args()));
+                    inserted++;
+                } catch (DataAccessException rowError) {
+                    summary.reject(row.line(), NestedExceptionUtils.getMostSpecificCause(rowError).getMessage());
+                }
+            }
+            // One entry for the rows that made it rather than one per row
+            long survivors = inserted;
+            transactionTemplate.executeWithoutResult(status -> changeLog.record(entity, "import", null, source, survivors));
+            return inserted;
+        }
+    }
+
+    /* =============================
+       TARGETS
+       ============================= */
+
+    /**
+     * A validated row: its source line, natural key and INSERT parameters.
+     * {@code refs} holds the natural keys an enrollment row still needs resolved to ids.
+     */
+    private record Pending(long line, String key, Object[] args, String[] refs) {
+    }
+
+    private interface Target {
+
+        String insertSql();
+
+        Pending convert(RowReader.Row row);
+
+        /**
+         * Drop rows that already exist (or reference missing rows) with one query per batch.
+         */
+        List<Pending> resolve(List<Pending> rows, Summary summary);
+    }
+
+    private final class CourseTarget implements Target {
+
+        @Override
+        public String insertSql() {
+            return "INSERT INTO course (course_name, course_name_key, course_url, description, provider, language, level, "
+                    + "duration_minutes, rating, active, deleted, created_at, updated_at, version) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, false, ?, ?, 0)";
+        }
+
+        @Override
+        public Pending convert(RowReader.Row row) {
+            Map<String, String> v = row.values();
+            String title = required(v, "title");
+            Provider provider = enumValue(Provider.class, required(v, "provider"));
+            Level level = enumValue(Level.class, required(v, "level"));
+            String url = optional(v, "url");
+            String language = optional(v, "language");
+            if (language != null && language.length() > 10) {
+                throw new IllegalArgumentException("language must be at most 10 characters");
+            }
+            Double rating = number(v, "rating", Double::valueOf);
+            if (rating != null && (rating < 0 || rating > 5)) {
+                throw new IllegalArgumentException("rating must be between 0 and 5");
+            }
+            Integer duration = number(v, "durationMinutes", Integer::valueOf);
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            String key = KeyUtils.normalize(title);
+            return new Pending(row.line(), key + "|" + provider.name() + "|" + level.name(), new Object[]{
+                    title, key, url != null ? url : CourseUtils.randomCourseUrl(provider.name()), optional(v, "description"),
+                    provider.name(), language, level.name(), duration, rating, bool(v, "active", true), now, now}, null);
+        }
+
+        @Override
+        public List<Pending> resolve(List<Pending> rows, Summary summary) {
+            Set<String> nameKeys = new HashSet<>();
+            rows.forEach(r -> nameKeys.add((String) r.args()[1]));
+            Set<String> existing = new HashSet<>(namedJdbcTemplate.query(
+                    "SELECT course_name_key, provider, level FROM course WHERE course_name_key IN (:keys)",
+                    Map.of("keys", nameKeys),
+                    (rs, i) -> rs.getString(1) + "|" + rs.getString(2) + "|" + rs.getString(3)));
+            return rejectExisting(rows, existing, summary, "Course already exists with this title, provider and level");
+        }
+    }
+
+    private final class UserTarget implements Target {
+
+        @Override
+        public String insertSql() {
+            return "INSERT INTO app_user (full_name, email, email_key, role, active, created_at, updated_at, version) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, 0)";
+        }
+
+        @Override
+        public Pending convert(RowReader.Row row) {
+            Map<String, String> v = row.values();
+            String fullName = required(v, "fullName");
+            String email = required(v, "email");
+            if (email.indexOf('@') < 1) {
+                throw new IllegalArgumentException("email is not a valid address: " + email);
+            }
+            String role = optional(v, "role");
+            RoleValue roleValue = role == null ? RoleValue.UNKNOWN : enumValue(RoleValue.class, role);
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            String key = KeyUtils.normalize(email);
+            return new Pending(row.line(), key, new Object[]{
+                    fullName, email, key, roleValue.name(), bool(v, "active", true), now, now}, null);
+        }
+
+        @Override
+        public List<Pending> resolve(List<Pending> rows, Summary summary) {
+            Set<String> existing = new HashSet<>(namedJdbcTemplate.queryForList(
+                    "SELECT email_key FROM app_user WHERE email_key IN (:keys)",
+                    Map.of("keys", rows.stream().map(Pending::key).toList()), String.class));
+            return rejectExisting(rows, existing, summary, "User already exists with this email");
+        }
+    }
+
+    private final class EnrollmentTarget implements Target {
+
+        @Override
+        public String insertSql() {
+            return "INSERT INTO enrollments (student_id, teacher_id, course_id, enrolled_at, active) VALUES (?, ?, ?, ?, ?)";
+        }
+
+        @Override
+        public Pending convert(RowReader.Row row) {
+            Map<String, String> v = row.values();
+            String student = KeyUtils.normalize(required(v, "studentEmail"));
+            String teacher = KeyUtils.normalize(required(v, "teacherEmail"));
+            String course = KeyUtils.normalize(required(v, "courseTitle"));
+            String enrolledAt = optional(v, "enrolledAt");
+            LocalDateTime at;
+            try {
+                at = enrolledAt == null ? LocalDateTime.now() : LocalDateTime.parse(enrolledAt);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("enrolledAt must be an ISO date-time, e.g. 2024-01-31T09:00:00");
+            }
+            return new Pending(row.line(), student + "|" + teacher + "|" + course,
+                    new Object[]{null, null, null, Timestamp.valueOf(at), bool(v, "active", true)},
+                    new String[]{student, teacher, course});
+        }
+
+        @Override
+        public List<Pending> resolve(List<Pending> rows, Summary summary) {
+            Set<String> emails = new HashSet<>();
+            Set<String> titles = new HashSet<>();
+            for (Pending row : rows) {
+                emails.add(row.refs()[0]);
+                emails.add(row.refs()[1]);
+                titles.add(row.refs()[2]);
+            }
+            Map<String, Long> users = new HashMap<>();
+            namedJdbcTemplate.query("SELECT user_id, email_key FROM app_user WHERE email_key IN (:keys)",
+                    Map.of("keys", emails), rs -> {
+                        users.put(rs.getString(2), rs.getLong(1));
+                    });
+            Map<String, List<Long>> courses = new HashMap<>();
+            namedJdbcTemplate.query("SELECT id, course_name_key FROM course WHERE course_name_key IN (:keys) AND deleted = false",
+                    Map.of("keys", titles), rs -> {
+                        courses.computeIfAbsent(rs.getString(2), k -> new ArrayList<>()).add(rs.getLong(1));
+                    });
+
+            List<Pending> resolved = new ArrayList<>(rows.size());
+            for (Pending row : rows) {
+                Long student = users.get(row.refs()[0]);
+                Long teacher = users.get(row.refs()[1]);
+                List<Long> course = courses.getOrDefault(row.refs()[2], List.of());
+                if (student == null) {
+                    summary.reject(row.line(), "Unknown student email " + row.refs()[0]);
+                } else if (teacher == null) {
+                    summary.reject(row.line(), "Unknown teacher email " + row.refs()[1]);
+                } else if (course.size() != 1) {
+                    summary.reject(row.line(), course.isEmpty()
+                            ? "Unknown course title " + row.refs()[2]
+                            : "Course title " + row.refs()[2] + " matches " + course.size() + " courses");
+                } else {
+                    Object[] args = Arrays.copyOf(row.args(), row.args().length);
+                    args[0] = student;
+                    args[1] = teacher;
+                    args[2] = course.get(0);
+                    resolved.add(new Pending(row.line(), student + "|" + teacher + "|" + course.get(0), args, row.refs()));
+                }
+            }
+            if (resolved.isEmpty()) {
+                return resolved;
+            }
+            Set<String> existing = new HashSet<>(namedJdbcTemplate.query(
+                    "SELECT student_id, teacher_id, course_id FROM enrollments WHERE student_id IN (:students) AND course_id IN (:courses)",
+                    Map.of("students", resolved.stream().map(r -> r.args()[0]).toList(),
+                            "courses", resolved.stream().map(r -> r.args()[2]).toList()),
+                    (rs, i) -> rs.getLong(1) + "|" + rs.getLong(2) + "|" + rs.getLong(3)));
+            return rejectExisting(resolved, existing, summary, "Enrollment already exists");
+        }
+    }
+
+    private static List<Pending> rejectExisting(List<Pending> rows, Set<String> existing, Summary summary, String reason) {
+        if (existing.isEmpty()) {
+            return rows;
+        }
+        List<Pending> fresh = new ArrayList<>(rows.size());
+        for (Pending row : rows) {
+            if (existing.contains(row.key())) {
+                summary.reject(row.line(), reason);
+            } else {
+                fresh.add(row);
+            }
+        }
+        return fresh;
+    }
+
+    /* =============================
+       FIELD PARSING
+       ============================= */
+
+    private static String optional(Map<String, String> values, String column) {
+        String value = values.get(column);
+        return value == null || value.isBlank() ? null : value.strip();
+    }
+
+    private static String required(Map<String, String> values, String column) {
+        String value = optional(values, column);
+        if (value == null) {
+            throw new IllegalArgumentException(column + " is required");
+        }
+        return value;
+    }
+
+    private static <E extends Enum<E>> E enumValue(Class<E> type, String value) {
+        for (E constant : type.getEnumConstants()) {
+            if (constant.name().equalsIgnoreCase(value)) {
+                return constant;
+            }
+        }
+        throw new IllegalArgumentException("Unknown " + type.getSimpleName() + " '" + value + "', expected one of "
+                + Arrays.toString(type.getEnumConstants()));
+    }
+
+    private static <N> N number(Map<String, String> values, String column, Function<String, N> parser) {
+        String value = optional(values, column);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return parser.apply(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column + " is not a number: " + value);
+        }
+    }
+
+    private static boolean bool(Map<String, String> values, String column, boolean defaultValue) {
+        String value = optional(values, column);
+        if (value == null) {
+            return defaultValue;
+        }
+        if (!value.equalsIgnoreCase("true") && !value.equalsIgnoreCase("false")) {
+            throw new IllegalArgumentException(column + " must be true or false");
+        }
+        return Boolean.parseBoolean(value);
+    }
+
+    private static final class Summary {
+        long read;
+        long inserted;
+        long rejected;
+        int batches;
+        final List<RejectedRow> rejections = new ArrayList<>();
+
+        void reject(long line, String reason) {
+            rejected++;
+            if (rejections.size() < MAX_REPORTED_REJECTIONS) {
+                rejections.add(new RejectedRow(line, reason));
+            }
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.abovebytes.mcp.transfer;
+
+import com.abovebytes.mcp.models.TransferFormat;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads one row at a time from an NDJSON or CSV (header line first) stream as column → text.
+ * Blank lines are skipped; a malformed line is returned as a {@link Row} carrying the parse error.
+ * A CSV record whose quoted field spans lines is read as one row, numbered by its first line.
+ */
+class RowReader {
+
+    record Row(long line, Map<String, String> values, String error) {
+    }
+
+    private final BufferedReader reader;
+    private final TransferFormat format;
+    private final ObjectMapper mapper;
+    private List<String> header;
+    private long line;
+
+    RowReader(BufferedReader reader, TransferFormat format, ObjectMapper mapper) {
+        this.reader = reader;
+        this.format = format;
+        this.mapper = mapper;
+    }
+
+    Row next() throws IOException {
+        String text;
+        while ((text = reader.readLine()) != null) {
+            line++;
+            if (text.isBlank()) {
+                continue;
+            }
+            long start = line;
+            if (format == TransferFormat.CSV) {
+                text = wholeRecord(text);
+            }
+            try {
+                if (format == TransferFormat.CSV && header == null) {
+                    header = CsvCodec.parse(text.strip()).stream().map(String::strip).toList();
+                    continue;
+                }
+                return new Row(start, format == TransferFormat.CSV ? csv(text) : json(text), null);
+            } catch (IOException | IllegalArgumentException e) {
+                return new Row(start, Map.of(), "Malformed " + format + " line: " + e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    // Append lines while a quoted field is open; the line breaks belong to the field
+    private String wholeRecord(String text) throws IOException {
+        if (CsvCodec.isComplete(text)) {
+            return text;
+        }
+        StringBuilder record = new StringBuilder(text);
+        boolean open = true;
+        String more;
+        while (open && (more = reader.readLine()) != null) {
+            line++;
+            record.append('\n').append(more);
+            // An odd number of quotes on this line closes the open field
+            open = CsvCodec.isComplete(more);
+        }
+        return record.toString();
+    }
+
+    private Map<String, String> csv(String text) {
+        List<String> fields = CsvCodec.parse(text);
+        Map<String, String> values = new HashMap<>();
+        for (int i = 0; i < header.size() && i < fields.size(); i++) {
+            values.put(header.get(i), fields.get(i));
+        }
+        return values;
+    }
+
+    private Map<String, String> json(String text) throws IOException {
+        JsonNode node = mapper.readTree(text);
+        if (!node.isObject()) {
+            throw new IllegalArgumentException("expected a JSON object");
+        }
+        Map<String, String> values = new HashMap<>();
+        node.fields().forEachRemaining(e -> values.put(e.getKey(), e.getValue().isNull() ? null : e.getValue().asText()));
+        return values;
+    }
+}
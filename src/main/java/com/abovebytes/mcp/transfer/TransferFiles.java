@@ -0,0 +1,24 @@
+package com.abovebytes.mcp.transfer;
+
+import java.nio.file.Path;
+
+final class TransferFiles {
+
+    private TransferFiles() {
+    }
+
+    /**
+     * Resolve a client supplied file name inside the transfer directory; paths escaping it are rejected.
+     */
+    static Path resolve(Path directory, String file) {
+        if (file == null || file.isBlank()) {
+            throw new IllegalArgumentException("A file name is required");
+        }
+        Path base = directory.toAbsolutePath().normalize();
+        Path resolved = base.resolve(file).normalize();
+        if (!resolved.startsWith(base)) {
+            throw new IllegalArgumentException("File must be inside the transfer directory " + base);
+        }
+        return resolved;
+    }
+}
@@ -0,0 +1,18 @@
+package com.abovebytes.mcp.utils;
+
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Locale;
+
+public class ConstraintUtils {
+
+    /**
+     * Whether the violation was raised by the named unique key or index. JDBC reports the constraint
+     * only in the driver's message (MySQL: "for key 'course.uk_...'", H2: the index name), so the most
+     * specific cause's message is searched for the name, ignoring case.
+     */
+    public static boolean violates(DataIntegrityViolationException e, String constraint) {
+        String message = String.valueOf(e.getMostSpecificCause().getMessage()).toLowerCase(Locale.ROOT);
+        return message.contains(constraint.toLowerCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,71 @@
+package com.abovebytes.mcp.utils;
+
+import com.abovebytes.mcp.models.CursorPage;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+public class CursorUtils {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+
+    private static final String PREFIX = "id:";
+
+    /**
+     * Clamp a client supplied page size to [1, MAX_PAGE_SIZE].
+     * A missing or non-positive value falls back to DEFAULT_PAGE_SIZE.
+     */
+    public static int pageSize(Integer requested) {
+        if (requested == null || requested <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(requested, MAX_PAGE_SIZE);
+    }
+
+    /**
+     * First-page limit for a keyset query; one extra row is fetched to know whether a next page exists.
+     */
+    public static Pageable limit(int pageSize) {
+        return PageRequest.ofSize(pageSize + 1);
+    }
+
+    /**
+     * Decode an opaque cursor into the last id seen. A missing cursor starts from the beginning.
+     */
+    public static long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            if (!raw.startsWith(PREFIX)) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            return Long.parseLong(raw.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+
+    public static String encode(long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Build a page from rows fetched with {@link #limit(int)}: trims the look-ahead row and
+     * derives the next cursor from the id of the last returned item.
+     */
+    public static <T> CursorPage<T> page(List<T> rows, int pageSize, Function<T, Long> idOf) {
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(rows, null, pageSize);
+        }
+        List<T> items = rows.subList(0, pageSize);
+        return new CursorPage<>(List.copyOf(items), encode(idOf.apply(items.get(pageSize - 1))), pageSize);
+    }
+}
@@ -0,0 +1,14 @@
+package com.abovebytes.mcp.utils;
+
+import java.util.Locale;
+
+public class KeyUtils {
+
+    /**
+     * Case-fold a title or email into the key used for exact-match lookups.
+     * Returns null for null input.
+     */
+    public static String normalize(String value) {
+        return value == null ? null : value.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,62 @@
+package com.abovebytes.mcp.utils;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.concurrent.Callable;
+
+public class McpSessionUtils {
+
+    public static final String SESSION_HEADER = "Mcp-Session-Id";
+
+    /**
+     * Session key used when there is no HTTP request: a STDIO server has exactly one client.
+     */
+    public static final String STDIO_SESSION = "stdio";
+
+    private static final ThreadLocal<String> BOUND_SESSION = new ThreadLocal<>();
+
+    /**
+     * Identify the MCP session of the current tool call: the session bound by {@link #callInSession},
+     * else the {@code Mcp-Session-Id} header of the HTTP request bound to this thread, or
+     * {@link #STDIO_SESSION} when running over STDIO.
+     */
+    public static String currentSessionId() {
+        String bound = BOUND_SESSION.get();
+        if (bound != null) {
+            return bound;
+        }
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servlet) {
+            HttpServletRequest request = servlet.getRequest();
+            String sessionId = request.getHeader(SESSION_HEADER);
+            if (sessionId != null && !sessionId.isBlank()) {
+                return sessionId;
+            }
+        }
+        return STDIO_SESSION;
+    }
+
+    /**
+     * Run a call with {@code sessionId} as the current session. Used where the call runs off the request
+     * thread (ASYNC mode), so there is no HTTP request to read the header from.
+     */
+    public static <T> T callInSession(String sessionId, Callable<T> call) throws Exception {
+        if (sessionId == null || sessionId.isBlank()) {
+            return call.call();
+        }
+        String previous = BOUND_SESSION.get();
+        BOUND_SESSION.set(sessionId);
+        try {
+            return call.call();
+        } finally {
+            if (previous == null) {
+                BOUND_SESSION.remove();
+            } else {
+                BOUND_SESSION.set(previous);
+            }
+        }
+    }
+}
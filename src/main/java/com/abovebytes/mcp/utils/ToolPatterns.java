@@ -0,0 +1,21 @@
+package com.abovebytes.mcp.utils;
+
+import java.util.Collection;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+public class ToolPatterns {
+
+    /**
+     * Compile tool name globs into one pattern: '*' matches any run of characters, everything else
+     * is literal. No globs match no tool.
+     */
+    public static Pattern compile(Collection<String> globs) {
+        String alternatives = globs.stream()
+                .map(String::trim)
+                .filter(p -> !p.isEmpty())
+                .map(p -> Pattern.quote(p).replace("*", "\\E.*\\Q"))
+                .collect(Collectors.joining("|"));
+        return Pattern.compile(alternatives.isEmpty() ? "(?!)" : alternatives);
+    }
+}
@@ -0,0 +1,82 @@
+-- Baseline: the schema Hibernate generated for the entities at the time migrations were introduced.
+-- Every statement is IF NOT EXISTS, so on a database created earlier by ddl-auto=update only the missing
+-- tables are created here; V2 (BaselineSchemaUpgrade) adds the columns, keys and indexes its tables lack.
+
+CREATE TABLE IF NOT EXISTS app_user (
+    user_id    BIGINT       NOT NULL AUTO_INCREMENT,
+    full_name  VARCHAR(100) NOT NULL,
+    email      VARCHAR(150) NOT NULL,
+    email_key  VARCHAR(150),
+    role       ENUM ('ADMIN', 'INSTRUCTOR', 'STUDENT', 'UNKNOWN'),
+    active     BIT          NOT NULL,
+    created_at DATETIME(6)  NOT NULL,
+    updated_at DATETIME(6),
+    version    BIGINT       DEFAULT 0 NOT NULL,
+    PRIMARY KEY (user_id),
+    CONSTRAINT idx_user_email UNIQUE (email),
+    CONSTRAINT idx_user_email_key UNIQUE (email_key),
+    KEY idx_user_active (active)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS course (
+    id               BIGINT       NOT NULL AUTO_INCREMENT,
+    course_name      VARCHAR(255) NOT NULL,
+    course_name_key  VARCHAR(255),
+    course_url       VARCHAR(255) NOT NULL,
+    description      TEXT,
+    provider         ENUM ('Coursera', 'FreeCodeCamp', 'Udemy', 'YouTube'),
+    language         VARCHAR(10),
+    level            ENUM ('Advanced', 'Beginner', 'Intermediate'),
+    duration_minutes INTEGER,
+    rating           FLOAT(53),
+    active           BIT          NOT NULL,
+    deleted          BIT          NOT NULL,
+    deleted_at       DATETIME(6),
+    created_at       DATETIME(6)  NOT NULL,
+    updated_at       DATETIME(6),
+    version          BIGINT       DEFAULT 0 NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_course_name_key_provider_level UNIQUE (course_name_key, provider, level),
+    KEY idx_course_name (course_name),
+    KEY idx_course_active (active),
+    KEY idx_course_deleted_id (deleted, id),
+    KEY idx_course_deleted_at (deleted, deleted_at)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS course_archive (
+    id               BIGINT       NOT NULL,
+    course_name      VARCHAR(255) NOT NULL,
+    course_name_key  VARCHAR(255),
+    course_url       VARCHAR(255) NOT NULL,
+    description      TEXT,
+    provider         ENUM ('Coursera', 'FreeCodeCamp', 'Udemy', 'YouTube'),
+    language         VARCHAR(10),
+    level            ENUM ('Advanced', 'Beginner', 'Intermediate'),
+    duration_minutes INTEGER,
+    rating           FLOAT(53),
+    active           BIT          NOT NULL,
+    deleted          BIT          NOT NULL,
+    deleted_at       DATETIME(6),
+    created_at       DATETIME(6)  NOT NULL,
+    updated_at       DATETIME(6),
+    archived_at      DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id),
+    KEY idx_course_archive_name_key (course_name_key)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS enrollments (
+    id          BIGINT      NOT NULL AUTO_INCREMENT,
+    student_id  BIGINT      NOT NULL,
+    teacher_id  BIGINT      NOT NULL,
+    course_id   BIGINT      NOT NULL,
+    enrolled_at DATETIME(6),
+    active      BIT         NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_enrollment_student_course_teacher UNIQUE (student_id, course_id, teacher_id),
+    KEY idx_enrollment_student_id (student_id, id),
+    KEY idx_enrollment_teacher_id (teacher_id, id),
+    KEY idx_enrollment_course_id (course_id, id),
+    CONSTRAINT fk_enrollment_course FOREIGN KEY (course_id) REFERENCES course (id),
+    CONSTRAINT fk_enrollment_student FOREIGN KEY (student_id) REFERENCES app_user (user_id),
+    CONSTRAINT fk_enrollment_teacher FOREIGN KEY (teacher_id) REFERENCES app_user (user_id)
+) ENGINE = InnoDB;
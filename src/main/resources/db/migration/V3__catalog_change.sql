@@ -0,0 +1,15 @@
+-- Change log behind the catalog_changes_since tool and the versioned catalog:// resources.
+-- The AUTO_INCREMENT id is the catalog version; one row per write tool call that changed something.
+
+CREATE TABLE IF NOT EXISTS catalog_change (
+    id         BIGINT                                  NOT NULL AUTO_INCREMENT,
+    entity     ENUM ('COURSES', 'USERS', 'ENROLLMENTS') NOT NULL,
+    operation  VARCHAR(30)                             NOT NULL,
+    entity_id  BIGINT,
+    detail     VARCHAR(500),
+    affected   BIGINT                                  NOT NULL,
+    changed_at DATETIME(6)                             NOT NULL,
+    PRIMARY KEY (id),
+    KEY idx_catalog_change_entity_id (entity, id),
+    KEY idx_catalog_change_changed_at (changed_at)
+) ENGINE = InnoDB;
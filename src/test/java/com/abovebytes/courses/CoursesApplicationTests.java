@@ -1,9 +1,12 @@
 package com.abovebytes.courses;
 
+import com.abovebytes.mcp.McpServerApplication;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
 
-@SpringBootTest
+@SpringBootTest(classes = McpServerApplication.class)
+@ActiveProfiles("test")
 class CoursesApplicationTests {
 
 	@Test
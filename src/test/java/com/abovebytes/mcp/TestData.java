@@ -0,0 +1,50 @@
+package com.abovebytes.mcp;
+
+import com.abovebytes.mcp.entities.Course;
+import com.abovebytes.mcp.entities.Enrollment;
+import com.abovebytes.mcp.entities.User;
+import com.abovebytes.mcp.models.Level;
+import com.abovebytes.mcp.models.Provider;
+import com.abovebytes.mcp.models.RoleValue;
+
+import java.time.LocalDateTime;
+
+/**
+ * Unsaved entities for the database tests: live, active rows with the given values and defaults for the rest.
+ */
+public final class TestData {
+
+	private TestData() {
+	}
+
+	public static Course course(String title) {
+		return course(title, Provider.Udemy, Level.Beginner);
+	}
+
+	public static Course course(String title, Provider provider, Level level) {
+		return course(title, provider, level, 4.0);
+	}
+
+	public static Course course(String title, Provider provider, Level level, double rating) {
+		return course(title, provider, level, "en", rating, 60);
+	}
+
+	public static Course course(String title, Provider provider, Level level, String language, double rating, int minutes) {
+		return Course.builder().courseName(title).courseUrl("https://example.com/" + title.hashCode()).description(title)
+				.provider(provider).level(level).language(language).rating(rating).durationMinutes(minutes)
+				.active(true).deleted(false).createdAt(LocalDateTime.now()).build();
+	}
+
+	public static User user(String email) {
+		return user(email, RoleValue.STUDENT);
+	}
+
+	public static User user(String email, RoleValue role) {
+		return User.builder().fullName(email).email(email).role(role).active(true).createdAt(LocalDateTime.now()).build();
+	}
+
+	public static Enrollment enrollment(User student, User teacher, Course course, boolean active) {
+		return Enrollment.builder().student(student).teacher(teacher).course(course)
+				.enrolledAt(LocalDateTime.now()).active(active).build();
+	}
+}
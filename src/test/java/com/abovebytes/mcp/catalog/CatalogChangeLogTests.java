@@ -0,0 +1,189 @@
+package com.abovebytes.mcp.catalog;
+
+import com.abovebytes.mcp.McpServerApplication;
+import com.abovebytes.mcp.config.McpToolBeans;
+import com.abovebytes.mcp.entities.CatalogChange;
+import com.abovebytes.mcp.entities.Course;
+import com.abovebytes.mcp.models.CatalogEntity;
+import com.abovebytes.mcp.models.ChangeFeed;
+import com.abovebytes.mcp.models.Level;
+import com.abovebytes.mcp.models.Provider;
+import com.abovebytes.mcp.models.RoleValue;
+import com.abovebytes.mcp.repositories.CatalogChangeRepository;
+import com.abovebytes.mcp.repositories.CourseRepository;
+import com.abovebytes.mcp.repositories.EnrollmentRepository;
+import com.abovebytes.mcp.repositories.UserRepository;
+import com.abovebytes.mcp.services.CatalogChangeService;
+import com.abovebytes.mcp.services.CatalogTransferService;
+import com.abovebytes.mcp.services.CourseService;
+import com.abovebytes.mcp.services.EnrollmentService;
+import com.abovebytes.mcp.services.UserService;
+import io.modelcontextprotocol.server.McpServerFeatures;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.mcp.annotation.spring.SyncMcpAnnotationProviders;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest(classes = McpServerApplication.class, properties = {
+		"mcp.changes.retention=1d",
+		"mcp.changes.settle=5s",
+		"mcp.transfer.directory=${java.io.tmpdir}/mcp-change-log-tests"
+})
+@ActiveProfiles("test")
+class CatalogChangeLogTests {
+
+	@Autowired
+	private CatalogChangeLog changeLog;
+	@Autowired
+	private CatalogChangeService changeService;
+	@Autowired
+	private CourseService courseService;
+	@Autowired
+	private UserService userService;
+	@Autowired
+	private EnrollmentService enrollmentService;
+	@Autowired
+	private CatalogTransferService transferService;
+	@Autowired
+	private CatalogChangeRepository changeRepository;
+	@Autowired
+	private CourseRepository courseRepository;
+	@Autowired
+	private EnrollmentRepository enrollmentRepository;
+	@Autowired
+	private UserRepository userRepository;
+	@Autowired
+	private McpToolBeans mcpToolBeans;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Value("${mcp.transfer.directory}")
+	private Path transferDirectory;
+
+	@BeforeEach
+	void setUp() {
+		enrollmentRepository.deleteAll();
+		courseRepository.deleteAll();
+		userRepository.deleteAll();
+	}
+
+	@Test
+	void everyWriteToolAppendsOneVersion() {
+		long start = changeLog.currentVersion();
+		Course java = courseService.addCourse("Java Basics", "intro", Provider.Udemy, Level.Beginner);
+		courseService.addCourse("Spring Boot", "web", Provider.Coursera, Level.Intermediate);
+		courseService.updateCourseUrl("java basics", "https://example.com/java", null, null, null);
+		courseService.bulkDeactivateCourses(null, null, null, List.of(java.getCourseId()));
+		courseService.deleteCourseByTitle("No Such Course");
+
+		ChangeFeed first = changeService.changesSinceTool(start, 2);
+		assertThat(first.changes()).extracting(CatalogChange::getOperation).containsExactly("add", "add");
+		assertThat(first.hasMore()).isTrue();
+		assertThat(first.resyncRequired()).isFalse();
+
+		ChangeFeed rest = changeService.changesSinceTool(first.nextVersion(), 10);
+		assertThat(rest.changes()).extracting(CatalogChange::getOperation).containsExactly("update_url", "deactivate");
+		assertThat(rest.changes()).extracting(CatalogChange::getEntityId).containsExactly(java.getCourseId(), java.getCourseId());
+		assertThat(rest.hasMore()).isFalse();
+		assertThat(rest.nextVersion()).isEqualTo(rest.currentVersion()).isEqualTo(changeLog.currentVersion());
+
+		assertThat(changeService.changesSinceTool(rest.nextVersion(), 10).changes()).isEmpty();
+	}
+
+	@Test
+	void userEnrollmentAndImportWritesAreLogged() throws Exception {
+		courseService.addCourse("Java Basics", "intro", Provider.Udemy, Level.Beginner);
+		long start = changeLog.currentVersion();
+		userService.createUser("Alan", "alan@example.com", RoleValue.INSTRUCTOR);
+		userService.createUser("Ada", "ada@example.com", RoleValue.STUDENT);
+		enrollmentService.enrollTool("ada@example.com", "alan@example.com", "Java Basics", null, null);
+		enrollmentService.unenrollTool("ada@example.com", "Java Basics", null, null, null);
+		userService.deactivateUser("ada@example.com");
+		Files.createDirectories(transferDirectory);
+		Files.write(transferDirectory.resolve("users.csv"), List.of("fullName,email", "Grace,grace@example.com", "Ada,ada@example.com"));
+		transferService.importTool(CatalogEntity.USERS, "users.csv", null);
+
+		ChangeFeed feed = changeService.changesSinceTool(start, 20);
+		assertThat(feed.changes()).extracting(CatalogChange::getEntity, CatalogChange::getOperation, CatalogChange::getAffected)
+				.containsExactly(
+						tuple(CatalogEntity.USERS, "create", 1L),
+						tuple(CatalogEntity.USERS, "create", 1L),
+						tuple(CatalogEntity.ENROLLMENTS, "enroll", 1L),
+						tuple(CatalogEntity.ENROLLMENTS, "unenroll", 1L),
+						tuple(CatalogEntity.USERS, "deactivate", 1L),
+						tuple(CatalogEntity.USERS, "import", 1L));
+		assertThat(feed.changes().get(5).getDetail()).isEqualTo("file=users.csv");
+		assertThat(((McpSchema.TextResourceContents) changeService.versionResource()).text())
+				.contains("\"users\":" + feed.nextVersion(), "\"enrollments\":" + (feed.nextVersion() - 2));
+	}
+
+	@Test
+	void resourcesCarryTheVersionAsETag() {
+		Course java = courseService.addCourse("Java Basics", "intro", Provider.Udemy, Level.Beginner);
+		courseService.updateCourseTitle("Java Basics", "Java Fundamentals", null, null, null);
+
+		McpServerFeatures.SyncResourceTemplateSpecification courses = SyncMcpAnnotationProviders
+				.resourceTemplateSpecifications(mcpToolBeans.resources()).stream()
+				.filter(spec -> spec.resourceTemplate().uriTemplate().equals("catalog://courses/{id}"))
+				.findFirst().orElseThrow();
+		McpSchema.ReadResourceResult item = courses.readHandler()
+				.apply(null, new McpSchema.ReadResourceRequest("catalog://courses/" + java.getCourseId()));
+		McpSchema.TextResourceContents contents = (McpSchema.TextResourceContents) item.contents().get(0);
+		assertThat(contents.text()).contains("Java Fundamentals");
+		assertThat(contents.meta()).containsEntry("version", 1L)
+				.containsEntry("etag", "\"course-" + java.getCourseId() + "-1\"");
+
+		McpSchema.TextResourceContents collection = (McpSchema.TextResourceContents) changeService.coursesResource();
+		assertThat(collection.meta()).containsEntry("version", changeLog.currentVersion());
+		assertThat(collection.text()).contains("\"operation\":\"update_title\"");
+	}
+
+	@Test
+	void feedWaitsForAnUncommittedVersionButSkipsOldGaps() {
+		courseService.addCourse("Java Basics", "intro", Provider.Udemy, Level.Beginner);
+		long seen = changeLog.currentVersion();
+		// seen + 1 is still "in flight": the change after it was written just now
+		insertChange(seen + 2, LocalDateTime.now());
+
+		ChangeFeed waiting = changeLog.since(seen, 10);
+		assertThat(waiting.changes()).isEmpty();
+		assertThat(waiting.nextVersion()).isEqualTo(seen);
+		assertThat(waiting.hasMore()).isTrue();
+
+		// Once the gap is older than the settle window it was a rollback
+		jdbcTemplate.update("UPDATE catalog_change SET changed_at = ? WHERE id = ?", LocalDateTime.now().minusMinutes(1), seen + 2);
+		assertThat(changeLog.since(seen, 10).nextVersion()).isEqualTo(seen + 2);
+		changeRepository.deleteById(seen + 2);
+	}
+
+	@Test
+	void pruningKeepsTheNewestChangeAndFlagsAResync() {
+		courseService.addCourse("Java Basics", "intro", Provider.Udemy, Level.Beginner);
+		courseService.addCourse("Spring Boot", "web", Provider.Coursera, Level.Intermediate);
+		long current = changeLog.currentVersion();
+		jdbcTemplate.update("UPDATE catalog_change SET changed_at = ?", LocalDateTime.now().minusDays(2));
+
+		assertThat(changeLog.prune()).isPositive();
+		assertThat(changeRepository.count()).isEqualTo(1);
+		assertThat(changeLog.currentVersion()).isEqualTo(current);
+		assertThat(changeLog.since(current - 2, 10).resyncRequired()).isTrue();
+		assertThat(changeLog.since(current - 1, 10).resyncRequired()).isFalse();
+	}
+
+	private void insertChange(long version, LocalDateTime changedAt) {
+		jdbcTemplate.update("INSERT INTO catalog_change (id, entity, operation, affected, changed_at) VALUES (?, 'COURSES', 'add', 1, ?)",
+				version, changedAt);
+	}
+}
@@ -0,0 +1,167 @@
+package com.abovebytes.mcp.catalog;
+
+import com.abovebytes.mcp.McpServerApplication;
+import com.abovebytes.mcp.entities.Course;
+import com.abovebytes.mcp.models.CourseDto;
+import com.abovebytes.mcp.models.CourseFilterResult;
+import com.abovebytes.mcp.models.CourseSearchHit;
+import com.abovebytes.mcp.models.CourseSort;
+import com.abovebytes.mcp.models.FilteredCourse;
+import com.abovebytes.mcp.models.Level;
+import com.abovebytes.mcp.models.Provider;
+import com.abovebytes.mcp.repositories.CourseRepository;
+import com.abovebytes.mcp.repositories.EnrollmentRepository;
+import com.abovebytes.mcp.search.CourseSearchIndex;
+import com.abovebytes.mcp.services.CourseService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static com.abovebytes.mcp.TestData.course;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = McpServerApplication.class, properties = {
+		"mcp.catalog.snapshot.file=${java.io.tmpdir}/mcp-catalog-tests/catalog.snapshot"
+})
+@ActiveProfiles("test")
+class CatalogSnapshotTests {
+
+	@Autowired
+	private CatalogSnapshot catalogSnapshot;
+	@Autowired
+	private CourseService courseService;
+	@Autowired
+	private CourseSearchIndex searchIndex;
+	@Autowired
+	private CourseRepository courseRepository;
+	@Autowired
+	private EnrollmentRepository enrollmentRepository;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Value("${mcp.catalog.snapshot.file}")
+	private Path file;
+
+	@BeforeEach
+	void setUp() {
+		enrollmentRepository.deleteAll();
+		courseRepository.deleteAll();
+		courseRepository.save(course("Java Basics", Provider.Udemy, Level.Beginner, "en", 4.5, 90));
+		catalogSnapshot.rebuild();
+	}
+
+	@Test
+	void writeToolsKeepTheSnapshotCurrent() {
+		Course added = courseService.addCourse("Spring Boot", "Spring", Provider.Coursera, Level.Advanced);
+		assertThat(titles()).containsExactly("Java Basics", "Spring Boot");
+
+		courseService.updateCourseTitle("spring boot", "Spring Boot 3", null, null, null);
+		courseService.updateCourseUrl("Spring Boot 3", "https://example.com/spring", null, null, null);
+		assertThat(catalogSnapshot.get(added.getCourseId()))
+				.extracting(CourseDto::title, CourseDto::url)
+				.containsExactly("Spring Boot 3", "https://example.com/spring");
+
+		courseService.bulkDeactivateCourses(Provider.Coursera, null, null, null);
+		assertThat(catalogSnapshot.get(added.getCourseId()).active()).isFalse();
+
+		courseService.deleteCourseByTitle("Spring Boot 3");
+		courseService.bulkSoftDeleteCourses(null, null, List.of("JAVA BASICS"), null);
+		assertThat(titles()).isEmpty();
+	}
+
+	@Test
+	void savedSnapshotIsMappedBackInWhileTheTableIsUnchanged() throws Exception {
+		assertThat(Files.exists(file)).isTrue();
+
+		CatalogSnapshot restarted = new CatalogSnapshot(jdbcTemplate, true, file.toString(), Duration.ofMinutes(1));
+		assertThat(restarted.load()).isTrue();
+		assertThat(restarted.page(0, 10)).isEqualTo(catalogSnapshot.page(0, 10));
+		assertThat(restarted.page(0, 10).get(0).rating()).isEqualTo(4.5);
+
+		courseService.updateCourseUrl("Java Basics", "https://example.com/java", null, null, null);
+		assertThat(new CatalogSnapshot(jdbcTemplate, true, file.toString(), Duration.ofMinutes(1)).load()).isFalse();
+	}
+
+	@Test
+	void onlyWritesMadeElsewhereForceARescan() {
+		courseService.addCourse("Local", "l", Provider.Udemy, Level.Beginner);
+		courseService.updateCourseUrl("Local", "https://example.com/local", null, null, null);
+		courseService.bulkDeactivateCourses(null, null, List.of("Local"), null);
+		assertThat(catalogSnapshot.appliedLocally(catalogSnapshot.fingerprint())).isTrue();
+
+		// A row inserted around the server
+		courseRepository.save(course("Elsewhere"));
+		assertThat(catalogSnapshot.appliedLocally(catalogSnapshot.fingerprint())).isFalse();
+
+		// A course change logged by another server
+		catalogSnapshot.rebuild();
+		jdbcTemplate.update("INSERT INTO catalog_change (entity, operation, affected, changed_at) VALUES ('COURSES', 'add', 1, CURRENT_TIMESTAMP)");
+		assertThat(catalogSnapshot.appliedLocally(catalogSnapshot.fingerprint())).isFalse();
+	}
+
+	@Test
+	void filterIntersectsFacetsAndCountsTheAlternatives() {
+		courseRepository.save(course("Java Avance", Provider.Udemy, Level.Advanced, "fr", 4.7, 150));
+		courseRepository.save(course("Spring Avance", Provider.Udemy, Level.Advanced, "fr", 4.4, 170));
+		courseRepository.save(course("Kotlin Avance", Provider.Udemy, Level.Advanced, "fr", 4.9, 400));
+		courseRepository.save(course("Scala Avance", Provider.Coursera, Level.Advanced, "fr", 4.8, 120));
+		catalogSnapshot.rebuild();
+
+		CourseFilterResult result = courseService.filterCoursesTool(Provider.Udemy, Level.Advanced, "FR", null,
+				4.5, null, null, 180, null, null, null);
+
+		assertThat(result.total()).isEqualTo(1);
+		assertThat(result.courses()).extracting(FilteredCourse::title).containsExactly("Java Avance");
+		// Each facet is counted with the other filters kept
+		assertThat(result.facets().get("provider")).containsEntry("Udemy", 1).containsEntry("Coursera", 1);
+		assertThat(result.facets().get("durationMinutes")).containsEntry("120-180", 1).containsEntry("300-600", 1);
+		assertThat(result.facets().get("rating")).containsEntry("4.5+", 1).containsEntry("4-4.5", 1);
+
+		assertThat(courseService.filterCoursesTool(null, null, null, null, null, null, null, null, CourseSort.DURATION, true, 2)
+				.courses()).extracting(FilteredCourse::title).containsExactly("Kotlin Avance", "Spring Avance");
+
+		courseService.bulkDeactivateCourses(null, null, List.of("Java Avance"), null);
+		assertThat(courseService.filterCoursesTool(Provider.Udemy, null, null, true, 4.5, null, null, null, null, null, null)
+				.courses()).extracting(FilteredCourse::title).containsExactly("Kotlin Avance", "Java Basics");
+	}
+
+	@Test
+	void searchSkipsDeletedCoursesAndStillFillsTopK() throws Exception {
+		for (int i = 0; i < 50 && !searchIndex.isReady(); i++) {
+			Thread.sleep(100);
+		}
+		for (int i = 0; i < 8; i++) {
+			courseService.addCourse("Kotlin Deep " + i, "Kotlin coroutines, Kotlin flows", Provider.Udemy, Level.Advanced);
+		}
+		for (int i = 0; i < 3; i++) {
+			courseService.addCourse("Intro " + i, "A little kotlin", Provider.Udemy, Level.Beginner);
+		}
+
+		courseService.bulkSoftDeleteCourses(null, Level.Advanced, null, null);
+		assertThat(courseService.searchByDescriptionTool("kotlin", 3, null, null))
+				.extracting(CourseSearchHit::title).containsExactlyInAnyOrder("Intro 0", "Intro 1", "Intro 2");
+
+		// Rows removed behind the tools' back outrank the live ones by more than the over-fetch
+		for (int i = 0; i < 8; i++) {
+			courseService.addCourse("Kotlin Gone " + i, "Kotlin coroutines, Kotlin flows", Provider.Udemy, Level.Advanced);
+		}
+		int indexed = searchIndex.size();
+		jdbcTemplate.update("DELETE FROM course WHERE course_name LIKE 'Kotlin Gone%'");
+		catalogSnapshot.rebuild();
+		assertThat(courseService.searchByDescriptionTool("kotlin", 3, null, null))
+				.extracting(CourseSearchHit::title).containsExactlyInAnyOrder("Intro 0", "Intro 1", "Intro 2");
+		assertThat(searchIndex.size()).isEqualTo(indexed - 8);
+	}
+
+	private List<String> titles() {
+		return courseService.listCoursesCompactTool(null, 10).items().stream().map(CourseDto::title).toList();
+	}
+}
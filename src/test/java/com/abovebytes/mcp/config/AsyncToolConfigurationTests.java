@@ -0,0 +1,68 @@
+package com.abovebytes.mcp.config;
+
+import com.abovebytes.mcp.services.EnrollmentPrompts;
+import com.abovebytes.mcp.utils.McpSessionUtils;
+import io.modelcontextprotocol.server.McpAsyncServerExchange;
+import io.modelcontextprotocol.server.McpServerFeatures;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springaicommunity.mcp.annotation.McpTool;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AsyncToolConfigurationTests {
+
+	private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+	public static class Tools {
+		@McpTool(name = "whoami", description = "Session of the call")
+		public String whoami() {
+			return McpSessionUtils.currentSessionId();
+		}
+	}
+
+	@AfterEach
+	void tearDown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	void toolCallsSeeTheSessionOfTheirExchange() {
+		McpServerFeatures.AsyncToolSpecification whoami = new AsyncToolConfiguration()
+				.asyncToolSpecifications(new McpToolBeans(List.of(new Tools()), List.of(), List.of()), executor)
+				.get(0);
+
+		assertThat(call(whoami, "session-a")).isEqualTo("session-a");
+		assertThat(call(whoami, "session-b")).isEqualTo("session-b");
+		// Nothing leaks onto the (single, reused) executor thread
+		assertThat(call(whoami, null)).isEqualTo(McpSessionUtils.STDIO_SESSION);
+	}
+
+	@Test
+	void promptsAreRegistered() {
+		List<McpServerFeatures.AsyncPromptSpecification> prompts = new AsyncToolConfiguration()
+				.asyncPromptSpecifications(new McpToolBeans(List.of(), List.of(new EnrollmentPrompts()), List.of()), executor);
+
+		assertThat(prompts).extracting(spec -> spec.prompt().name()).containsExactly("enroll_student_prompt");
+		McpSchema.GetPromptResult result = prompts.get(0).promptHandler()
+				.apply(new McpAsyncServerExchange("session-a", null, null, null, null), new McpSchema.GetPromptRequest("enroll_student_prompt",
+						Map.of("studentEmail", "ada@example.com", "teacherEmail", "alan@example.com", "courseTitle", "Java Basics")))
+				.block(Duration.ofSeconds(5));
+		assertThat(((McpSchema.TextContent) result.messages().get(0).content()).text()).contains("ada@example.com", "enrollments_enroll");
+	}
+
+	private static String call(McpServerFeatures.AsyncToolSpecification spec, String sessionId) {
+		McpAsyncServerExchange exchange = new McpAsyncServerExchange(sessionId, null, null, null, null);
+		McpSchema.CallToolResult result = spec.callHandler()
+				.apply(exchange, new McpSchema.CallToolRequest("whoami", Map.of()))
+				.block(Duration.ofSeconds(5));
+		return ((McpSchema.TextContent) result.content().get(0)).text();
+	}
+}
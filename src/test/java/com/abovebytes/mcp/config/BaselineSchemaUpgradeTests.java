@@ -0,0 +1,68 @@
+package com.abovebytes.mcp.config;
+
+import com.abovebytes.mcp.McpServerApplication;
+import com.abovebytes.mcp.models.Level;
+import com.abovebytes.mcp.models.Provider;
+import com.abovebytes.mcp.services.CourseService;
+import com.abovebytes.mcp.services.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * A database created by ddl-auto=update before the migrations existed: the context only starts
+ * (ddl-auto=validate) once V1 and V2 have brought it up to the entity mappings.
+ */
+@SpringBootTest(classes = McpServerApplication.class, properties = {
+		"spring.datasource.url=" + BaselineSchemaUpgradeTests.URL,
+		"spring.jpa.hibernate.ddl-auto=validate"
+})
+@ActiveProfiles("test")
+class BaselineSchemaUpgradeTests {
+
+	static final String URL = "jdbc:h2:mem:baseline-era;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+	static {
+		new ResourceDatabasePopulator(new ClassPathResource("db/baseline-era-schema.sql"))
+				.execute(new DriverManagerDataSource(URL, "sa", ""));
+	}
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private CourseService courseService;
+	@Autowired
+	private UserService userService;
+
+	@Test
+	void existingRowsGetTheirKeysAndVersions() {
+		assertThat(jdbcTemplate.queryForList("SELECT version FROM schema_version ORDER BY version", Integer.class))
+				.containsExactly(1, 2, 3);
+		assertThat(jdbcTemplate.queryForObject("SELECT course_name_key FROM course WHERE id = 1", String.class)).isEqualTo("java basics");
+		assertThat(jdbcTemplate.queryForObject("SELECT email_key FROM app_user WHERE user_id = 1", String.class)).isEqualTo("ada@example.com");
+		assertThat(jdbcTemplate.queryForObject("SELECT version FROM course WHERE id = 1", Long.class)).isZero();
+
+		assertThat(courseService.getCourseByTitleTool("JAVA BASICS", List.of("courseName"), null)).contains("Java Basics");
+		assertThat(userService.getUserByEmailTool("ada@example.com", List.of("fullName"))).contains("Ada");
+	}
+
+	@Test
+	void newUniqueKeysAreEnforced() {
+		assertThatThrownBy(() -> courseService.addCourse("java basics", "again", Provider.Udemy, Level.Beginner))
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessageContaining("already exists");
+		assertThatThrownBy(() -> jdbcTemplate.update(
+				"INSERT INTO enrollments (active, enrolled_at, course_id, student_id, teacher_id) VALUES (TRUE, NULL, 1, 1, 2)"))
+				.hasMessageContaining("uk_enrollment_student_course_teacher");
+	}
+}
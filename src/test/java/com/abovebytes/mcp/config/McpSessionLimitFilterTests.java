@@ -0,0 +1,80 @@
+package com.abovebytes.mcp.config;
+
+import com.abovebytes.mcp.utils.McpSessionUtils;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class McpSessionLimitFilterTests {
+
+	private final McpSessionLimitFilter filter = new McpSessionLimitFilter("/mcp", 1, 4, Duration.ofMinutes(30));
+
+	@Test
+	void initializeReservesTheSlotUntilItAnswers() throws Exception {
+		CountDownLatch entered = new CountDownLatch(1);
+		CountDownLatch answer = new CountDownLatch(1);
+		CompletableFuture<Integer> first = CompletableFuture.supplyAsync(() -> post(null, (request, response) -> {
+			entered.countDown();
+			await(answer);
+			((HttpServletResponse) response).setHeader(McpSessionUtils.SESSION_HEADER, "s-1");
+		}));
+		assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+		// The first initialize has not answered yet, but its slot is taken
+		assertThat(post(null, (request, response) -> { })).isEqualTo(503);
+		answer.countDown();
+		assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo(200);
+		assertThat(filter.liveSessions()).isEqualTo(1);
+		assertThat(post(null, (request, response) -> { })).isEqualTo(503);
+	}
+
+	@Test
+	void failedInitializeReleasesItsSlot() {
+		assertThat(post(null, (request, response) -> ((HttpServletResponse) response).setStatus(400))).isEqualTo(400);
+		assertThat(filter.liveSessions()).isZero();
+		assertThat(post(null, (request, response) ->
+				((HttpServletResponse) response).setHeader(McpSessionUtils.SESSION_HEADER, "s-1"))).isEqualTo(200);
+		assertThat(filter.liveSessions()).isEqualTo(1);
+	}
+
+	@Test
+	void madeUpSessionIdsAreNotTracked() {
+		for (int i = 0; i < 10; i++) {
+			assertThat(post("made-up-" + i, (request, response) -> ((HttpServletResponse) response).setStatus(404))).isEqualTo(404);
+		}
+		assertThat(filter.liveSessions()).isZero();
+		assertThat(post(null, (request, response) ->
+				((HttpServletResponse) response).setHeader(McpSessionUtils.SESSION_HEADER, "s-1"))).isEqualTo(200);
+	}
+
+	private int post(String sessionId, FilterChain chain) {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/mcp");
+		if (sessionId != null) {
+			request.addHeader(McpSessionUtils.SESSION_HEADER, sessionId);
+		}
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		try {
+			filter.doFilter(request, response, chain);
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+		return response.getStatus();
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
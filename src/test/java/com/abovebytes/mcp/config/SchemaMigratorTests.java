@@ -0,0 +1,56 @@
+package com.abovebytes.mcp.config;
+
+import com.abovebytes.mcp.McpServerApplication;
+import com.abovebytes.mcp.models.Level;
+import com.abovebytes.mcp.models.Provider;
+import com.abovebytes.mcp.services.CourseService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = McpServerApplication.class, properties = {
+		"spring.jpa.hibernate.ddl-auto=validate"
+})
+@ActiveProfiles("test")
+class SchemaMigratorTests {
+
+	@Autowired
+	private SchemaMigrator schemaMigrator;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private CourseService courseService;
+	@Autowired
+	private McpToolBeans mcpToolBeans;
+
+	@Test
+	void scriptsAreAppliedOnceAndMatchTheEntities() throws Exception {
+		// ddl-auto=validate: the context only starts if the migrated schema matches the entity mappings
+		assertThat(jdbcTemplate.queryForList("SELECT version FROM schema_version ORDER BY version", Integer.class))
+				.containsExactly(1, 2, 3);
+
+		schemaMigrator.afterPropertiesSet();
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM schema_version", Integer.class)).isEqualTo(3);
+	}
+
+	@Test
+	void toolsWorkAgainstTheMigratedSchema() {
+		courseService.addCourse("Migrated Java", "baseline schema", Provider.Udemy, Level.Beginner);
+
+		assertThat(courseService.getCourseByTitleTool("migrated java", List.of("courseName", "version"), null))
+				.contains("Migrated Java");
+	}
+
+	@Test
+	void registryListsEveryToolService() {
+		assertThat(mcpToolBeans.tools()).hasSize(7);
+		assertThat(mcpToolBeans.prompts()).hasSize(1);
+		assertThat(mcpToolBeans.resources()).hasSize(1);
+	}
+}
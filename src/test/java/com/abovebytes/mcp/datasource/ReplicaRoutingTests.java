@@ -0,0 +1,106 @@
+package com.abovebytes.mcp.datasource;
+
+import com.abovebytes.mcp.McpServerApplication;
+import com.abovebytes.mcp.cache.LookupCache;
+import com.abovebytes.mcp.models.Level;
+import com.abovebytes.mcp.models.Provider;
+import com.abovebytes.mcp.repositories.CourseRepository;
+import com.abovebytes.mcp.repositories.EnrollmentRepository;
+import com.abovebytes.mcp.services.CourseService;
+import com.abovebytes.mcp.utils.McpSessionUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static com.abovebytes.mcp.TestData.course;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Primary and replica are two separate in-memory H2 databases with no replication between them,
+ * so which one served a read shows in what it returns. The first replica URL points at nothing to
+ * exercise the fallback.
+ */
+@SpringBootTest(classes = McpServerApplication.class, properties = {
+		"mcp.datasource.replica-urls=jdbc:h2:tcp://localhost:1/nowhere," + ReplicaRoutingTests.REPLICA_URL,
+		"mcp.datasource.replica-connection-timeout=2s",
+		"mcp.datasource.sticky-window=1m"
+})
+@ActiveProfiles("test")
+class ReplicaRoutingTests {
+
+	static final String REPLICA_URL = "jdbc:h2:mem:routing_replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+	@Autowired
+	private CourseService courseService;
+	@Autowired
+	private CourseRepository courseRepository;
+	@Autowired
+	private EnrollmentRepository enrollmentRepository;
+	@Autowired
+	private LookupCache lookupCache;
+	@Autowired
+	private JdbcTemplate primary;
+
+	// Created before the context starts: startup reads already go to the replica. setUp() replaces
+	// this placeholder with the primary's real schema.
+	private static final JdbcTemplate replica = placeholderReplica();
+
+	@BeforeEach
+	void setUp() {
+		enrollmentRepository.deleteAll();
+		courseRepository.deleteAll();
+		lookupCache.invalidateAllCourses();
+		replica.execute("DROP ALL OBJECTS");
+		primary.queryForList("SCRIPT NODATA", String.class).forEach(replica::execute);
+
+		courseRepository.save(course("Primary Only"));
+		replica.update("INSERT INTO course (id, course_name, course_name_key, course_url, provider, level, active, deleted, created_at) "
+				+ "VALUES (1000, 'Replica Copy', 'replica copy', 'https://example.com', 'Udemy', 'Beginner', true, false, CURRENT_TIMESTAMP)");
+	}
+
+	@AfterEach
+	void tearDown() {
+		RequestContextHolder.resetRequestAttributes();
+	}
+
+	@Test
+	void readToolsGoToTheReplica() {
+		inSession("reader");
+
+		assertThat(courseService.getCourseByTitleTool("Replica Copy", null, null)).contains("Replica Copy");
+		assertThat(courseService.getCourseByTitleTool("Primary Only", null, null)).isNull();
+	}
+
+	@Test
+	void aSessionReadsItsOwnWritesFromThePrimary() {
+		inSession("writer");
+		courseService.addCourse("Fresh", "just written", Provider.Udemy, Level.Beginner);
+
+		inSession("reader");
+		assertThat(courseService.getCourseByTitleTool("Fresh", null, null)).isNull();
+
+		inSession("writer");
+		assertThat(courseService.getCourseByTitleTool("Fresh", null, null)).contains("just written");
+		assertThat(courseService.getCourseByTitleTool("Replica Copy", null, null)).isNull();
+	}
+
+	private static JdbcTemplate placeholderReplica() {
+		JdbcTemplate jdbc = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+		jdbc.execute("CREATE TABLE IF NOT EXISTS course (id BIGINT PRIMARY KEY)");
+		return jdbc;
+	}
+
+	private static void inSession(String sessionId) {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.addHeader(McpSessionUtils.SESSION_HEADER, sessionId);
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+	}
+}
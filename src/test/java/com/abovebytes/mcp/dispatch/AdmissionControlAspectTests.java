@@ -0,0 +1,156 @@
+package com.abovebytes.mcp.dispatch;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springaicommunity.mcp.annotation.McpTool;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdmissionControlAspectTests {
+
+	private final MeterRegistry registry = new SimpleMeterRegistry();
+	private final CountDownLatch release = new CountDownLatch(1);
+	private final AtomicInteger started = new AtomicInteger();
+
+	public static class Tools {
+		private final CountDownLatch release;
+		private final AtomicInteger started;
+
+		public Tools() {
+			this(new CountDownLatch(0), new AtomicInteger());
+		}
+
+		Tools(CountDownLatch release, AtomicInteger started) {
+			this.release = release;
+			this.started = started;
+		}
+
+		@McpTool(name = "courses_list")
+		public String list() throws InterruptedException {
+			started.incrementAndGet();
+			release.await(5, TimeUnit.SECONDS);
+			return "page";
+		}
+
+		@McpTool(name = "courses_get_by_id")
+		public String get() throws InterruptedException {
+			started.incrementAndGet();
+			release.await(5, TimeUnit.SECONDS);
+			return "course";
+		}
+	}
+
+	@AfterEach
+	void tearDown() {
+		release.countDown();
+	}
+
+	@Test
+	void expensiveCallsQueueThenShedWithoutStarvingCheapOnes() throws Exception {
+		Tools tools = proxy(8, Duration.ofMillis(300));
+
+		CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> call(tools::list));
+		awaitGauge("mcp.admission.active", "expensive", 1);
+		CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> call(tools::list));
+		awaitGauge("mcp.admission.queued", "expensive", 1);
+
+		// Queue full: rejected at once, with a retryable message
+		assertThatThrownBy(tools::list).isInstanceOf(ToolOverloadedException.class)
+				.hasMessageContaining("1 EXPENSIVE tool calls are running and 1 more are queued")
+				.hasMessageContaining("retry it after 300 ms");
+		// The queued call is shed when its deadline passes
+		assertThatThrownBy(() -> queued.get(5, TimeUnit.SECONDS)).hasRootCauseInstanceOf(ToolOverloadedException.class)
+				.rootCause().hasMessageContaining("no EXPENSIVE tool slot became free within 300 ms");
+
+		// The cheap lane is untouched by the saturated expensive one
+		CompletableFuture<String> cheap = CompletableFuture.supplyAsync(() -> call(tools::get));
+		release.countDown();
+		assertThat(cheap.get(5, TimeUnit.SECONDS)).isEqualTo("course");
+		assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("page");
+		assertThat(registry.get("mcp.admission.rejected").tag("class", "expensive").tag("reason", "queue_full")
+				.counter().count()).isEqualTo(1);
+	}
+
+	@Test
+	void aSessionCannotRunMoreThanItsLimit() throws Exception {
+		Tools tools = proxy(1, Duration.ofMillis(200));
+
+		CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> call(tools::get));
+		// Past both the lane and the session
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (started.get() < 1 && System.nanoTime() < deadline) {
+			Thread.sleep(10);
+		}
+
+		// The expensive lane is free, the session is not
+		assertThatThrownBy(tools::list).isInstanceOf(ToolOverloadedException.class)
+				.hasMessageContaining("this session already has 1 tool calls running");
+		release.countDown();
+		assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("course");
+		assertThat(tools.get()).isEqualTo("course");
+	}
+
+	@Test
+	void callsQueuedInALaneHoldNoSessionSlot() throws Exception {
+		Tools tools = proxy(2, Duration.ofSeconds(2));
+
+		CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> call(tools::list));
+		awaitGauge("mcp.admission.active", "expensive", 1);
+		CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> call(tools::list));
+		awaitGauge("mcp.admission.queued", "expensive", 1);
+
+		// Two session slots: one is taken by the running call, the queued one leaves the other free
+		CompletableFuture<String> cheap = CompletableFuture.supplyAsync(() -> call(tools::get));
+		awaitGauge("mcp.admission.active", "cheap", 1);
+		release.countDown();
+		assertThat(cheap.get(5, TimeUnit.SECONDS)).isEqualTo("course");
+		assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("page");
+		assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("page");
+	}
+
+	private Tools proxy(int sessionConcurrency, Duration maxWait) {
+		Map<CostClass, AdmissionLane> lanes = new EnumMap<>(CostClass.class);
+		for (CostClass costClass : CostClass.values()) {
+			lanes.put(costClass, new AdmissionLane(costClass, 1, 1, maxWait, registry));
+		}
+		AspectJProxyFactory factory = new AspectJProxyFactory(new Tools(release, started));
+		factory.setProxyTargetClass(true);
+		factory.addAspect(new AdmissionControlAspect(lanes, List.of("*_get_by_*"), List.of("*_list"), sessionConcurrency, registry));
+		return factory.getProxy();
+	}
+
+	private void awaitGauge(String name, String costClass, double expected) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (registry.get(name).tag("class", costClass).gauge().value() < expected && System.nanoTime() < deadline) {
+			Thread.sleep(10);
+		}
+		assertThat(registry.get(name).tag("class", costClass).gauge().value()).isEqualTo(expected);
+	}
+
+	private interface Call {
+		String run() throws Exception;
+	}
+
+	private static String call(Call call) {
+		try {
+			return call.run();
+		} catch (RuntimeException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -0,0 +1,164 @@
+package com.abovebytes.mcp.dispatch;
+
+import com.abovebytes.mcp.metrics.ToolMetrics;
+import com.abovebytes.mcp.models.ToolMetricsSnapshot;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springaicommunity.mcp.annotation.McpTool;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightAspectTests {
+
+	private ToolMetrics toolMetrics;
+	private SlowTools target;
+	private SlowTools tools;
+
+	public static class SlowTools {
+		final AtomicInteger executions = new AtomicInteger();
+		final CountDownLatch started = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+
+		@McpTool(name = "slow_lookup")
+		public String lookup(String title) throws InterruptedException {
+			executions.incrementAndGet();
+			started.countDown();
+			release.await(5, TimeUnit.SECONDS);
+			if (title.contains("missing")) {
+				throw new IllegalArgumentException("No course " + title);
+			}
+			return "result #" + executions.get();
+		}
+
+		@McpTool(name = "slow_write")
+		public String write(String title) throws InterruptedException {
+			return lookup(title);
+		}
+	}
+
+	@BeforeEach
+	void setUp() {
+		toolMetrics = new ToolMetrics(new SimpleMeterRegistry());
+		target = new SlowTools();
+		tools = proxy(Duration.ofSeconds(5));
+	}
+
+	private SlowTools proxy(Duration maxWait) {
+		AspectJProxyFactory factory = new AspectJProxyFactory(target);
+		factory.setProxyTargetClass(true);
+		factory.addAspect(new SingleFlightAspect(Set.of("slow_lookup"), toolMetrics, new ObjectMapper(), maxWait));
+		return factory.getProxy();
+	}
+
+	@Test
+	void identicalConcurrentCallsShareOneExecution() throws Exception {
+		CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> call(() -> tools.lookup("Java Basics")));
+		target.started.await(5, TimeUnit.SECONDS);
+		CompletableFuture<String> second = CompletableFuture.supplyAsync(() -> call(() -> tools.lookup("JAVA BASICS")));
+		awaitCoalesced("slow_lookup", 1);
+		// Surrounding spaces are part of the title for the lookups, so they are for the key too
+		CompletableFuture<String> padded = CompletableFuture.supplyAsync(() -> call(() -> tools.lookup("Java Basics ")));
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (target.executions.get() < 2 && System.nanoTime() < deadline) {
+			Thread.sleep(10);
+		}
+		target.release.countDown();
+
+		assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo(first.get(5, TimeUnit.SECONDS));
+		assertThat(padded.get(5, TimeUnit.SECONDS)).isNotNull();
+		assertThat(target.executions.get()).isEqualTo(2);
+		assertThat(coalesced("slow_lookup")).isEqualTo(1);
+
+		// Once the call finished, the next identical one executes again
+		assertThat(tools.lookup("Java Basics")).isEqualTo("result #3");
+	}
+
+	@Test
+	void followersGetTheLeadersErrorAndToolsNotListedAreNotCoalesced() throws Exception {
+		CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> call(() -> tools.lookup("missing")));
+		target.started.await(5, TimeUnit.SECONDS);
+		CompletableFuture<String> second = CompletableFuture.supplyAsync(() -> call(() -> tools.lookup("MISSING")));
+		CompletableFuture<String> third = CompletableFuture.supplyAsync(() -> call(() -> tools.lookup("Missing")));
+		awaitCoalesced("slow_lookup", 2);
+		target.release.countDown();
+
+		assertThatThrownBy(() -> first.get(5, TimeUnit.SECONDS)).hasRootCauseInstanceOf(IllegalArgumentException.class);
+		// Each follower gets its own exception around the leader's error
+		Throwable secondError = failure(second);
+		Throwable thirdError = failure(third);
+		assertThat(secondError).isInstanceOf(CoalescedCallException.class).hasMessage("No course missing")
+				.hasRootCauseInstanceOf(IllegalArgumentException.class);
+		assertThat(thirdError).isInstanceOf(CoalescedCallException.class).isNotSameAs(secondError);
+
+		tools.write("Java");
+		tools.write("Java");
+		assertThat(target.executions.get()).isEqualTo(3);
+	}
+
+	@Test
+	void followersStopWaitingAfterMaxWaitAndExecuteThemselves() throws Exception {
+		SlowTools impatient = proxy(Duration.ofMillis(100));
+		CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> call(() -> impatient.lookup("Java Basics")));
+		target.started.await(5, TimeUnit.SECONDS);
+		CompletableFuture<String> second = CompletableFuture.supplyAsync(() -> call(() -> impatient.lookup("java basics")));
+
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (target.executions.get() < 2 && System.nanoTime() < deadline) {
+			Thread.sleep(10);
+		}
+		assertThat(target.executions.get()).isEqualTo(2);
+		target.release.countDown();
+		assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("result #2");
+		assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("result #2");
+	}
+
+	private static Throwable failure(CompletableFuture<String> call) {
+		try {
+			call.get(5, TimeUnit.SECONDS);
+		} catch (ExecutionException e) {
+			return e.getCause();
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+		throw new AssertionError("expected the call to fail");
+	}
+
+	private void awaitCoalesced(String tool, long expected) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (coalesced(tool) < expected && System.nanoTime() < deadline) {
+			Thread.sleep(10);
+		}
+		assertThat(coalesced(tool)).isEqualTo(expected);
+	}
+
+	private long coalesced(String tool) {
+		return toolMetrics.snapshot().stream().filter(s -> s.tool().equals(tool))
+				.mapToLong(ToolMetricsSnapshot::coalesced).sum();
+	}
+
+	private interface Call {
+		String run() throws Exception;
+	}
+
+	private static String call(Call call) {
+		try {
+			return call.run();
+		} catch (RuntimeException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -0,0 +1,80 @@
+package com.abovebytes.mcp.lifecycle;
+
+import com.abovebytes.mcp.McpServerApplication;
+import com.abovebytes.mcp.entities.Course;
+import com.abovebytes.mcp.repositories.ArchivedCourseRepository;
+import com.abovebytes.mcp.repositories.CourseRepository;
+import com.abovebytes.mcp.repositories.EnrollmentRepository;
+import com.abovebytes.mcp.services.CourseService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.abovebytes.mcp.TestData.course;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = McpServerApplication.class, properties = {
+		"mcp.archive.after=1d"
+})
+@ActiveProfiles("test")
+class CourseArchiverTests {
+
+	@Autowired
+	private CourseArchiver archiver;
+	@Autowired
+	private CourseService courseService;
+	@Autowired
+	private CourseRepository courseRepository;
+	@Autowired
+	private ArchivedCourseRepository archivedCourseRepository;
+	@Autowired
+	private EnrollmentRepository enrollmentRepository;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private Course old;
+
+	@BeforeEach
+	void setUp() {
+		enrollmentRepository.deleteAll();
+		archivedCourseRepository.deleteAll();
+		courseRepository.deleteAll();
+		old = courseRepository.save(course("Old Java"));
+		courseRepository.save(course("Recent Java"));
+		courseRepository.save(course("Live Java"));
+		courseService.bulkSoftDeleteCourses(null, null, List.of("Old Java", "Recent Java"), null);
+		jdbcTemplate.update("UPDATE course SET deleted_at = ? WHERE id = ?", LocalDateTime.now().minusDays(3), old.getCourseId());
+	}
+
+	@Test
+	void onlyCoursesDeletedPastTheCutoffAreMoved() {
+		assertThat(archiver.archive()).isEqualTo(1);
+
+		assertThat(courseRepository.findById(old.getCourseId())).isEmpty();
+		assertThat(archivedCourseRepository.findById(old.getCourseId())).get()
+				.satisfies(a -> assertThat(a.getCourseName()).isEqualTo("Old Java"));
+		assertThat(courseRepository.count()).isEqualTo(2);
+		assertThat(archiver.archive()).isZero();
+	}
+
+	@Test
+	void archivedCoursesAreOnlyReturnedWhenAsked() {
+		archiver.archive();
+
+		assertThat(courseService.getCourseByIdTool(old.getCourseId(), null, null)).isNull();
+		assertThat(courseService.getCourseByIdTool(old.getCourseId(), List.of("courseName"), true)).contains("Old Java");
+		assertThat(courseService.getCourseByTitleTool("old java", List.of("courseName"), true)).contains("Old Java");
+
+		assertThat(courseService.listCoursesTool(null, 10, List.of("courseName"), null))
+				.contains("Live Java").doesNotContain("Old Java", "Recent Java");
+		assertThat(courseService.listCoursesTool(null, 10, List.of("courseName"), true))
+				.contains("Live Java", "Old Java", "Recent Java");
+		assertThat(courseService.countCoursesTool()).isEqualTo(1);
+	}
+}
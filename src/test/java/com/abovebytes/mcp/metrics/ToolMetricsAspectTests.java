@@ -0,0 +1,33 @@
+package com.abovebytes.mcp.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ToolMetricsAspectTests {
+
+	private final ToolMetrics metrics = new ToolMetrics(new SimpleMeterRegistry());
+
+	@Test
+	void resultSizeIsCountedInUtf8Bytes() {
+		ToolMetricsAspect aspect = new ToolMetricsAspect(metrics, new ObjectMapper(), true, 1.0);
+
+		for (String text : List.of("plain", "Café crème", "日本語", "emoji 🎓 ok")) {
+			assertThat(aspect.resultBytes(text)).isEqualTo(text.getBytes(StandardCharsets.UTF_8).length);
+		}
+		assertThat(aspect.resultBytes(Map.of("title", "Café"))).isEqualTo("{\"title\":\"Café\"}".getBytes(StandardCharsets.UTF_8).length);
+		assertThat(aspect.resultBytes(null)).isZero();
+	}
+
+	@Test
+	void resultSizeIsOptInAndSampled() {
+		assertThat(new ToolMetricsAspect(metrics, new ObjectMapper(), false, 1.0).resultBytes("text")).isEqualTo(-1);
+		assertThat(new ToolMetricsAspect(metrics, new ObjectMapper(), true, 0.0).resultBytes("text")).isEqualTo(-1);
+	}
+}
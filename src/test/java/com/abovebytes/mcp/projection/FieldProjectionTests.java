@@ -0,0 +1,57 @@
+package com.abovebytes.mcp.projection;
+
+import com.abovebytes.mcp.entities.Course;
+import com.abovebytes.mcp.models.CursorPage;
+import com.abovebytes.mcp.models.Level;
+import com.abovebytes.mcp.models.Provider;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FieldProjectionTests {
+
+	private final ObjectMapper mapper = new ObjectMapper().findAndRegisterModules();
+	private final FieldProjection projection = new FieldProjection(mapper);
+
+	@Test
+	void keepsOnlyRequestedFieldsOfTheItemType() throws Exception {
+		CursorPage<Course> page = new CursorPage<>(List.of(course()), "next", 1);
+
+		JsonNode json = mapper.readTree(projection.write(page, Course.class, List.of("courseId", "courseName")));
+
+		assertThat(json.get("nextCursor").asText()).isEqualTo("next");
+		assertThat(json.get("items").get(0).fieldNames()).toIterable().containsExactlyInAnyOrder("courseId", "courseName");
+	}
+
+	@Test
+	void writesEverythingWithoutFields() throws Exception {
+		JsonNode json = mapper.readTree(projection.write(course(), Course.class, null));
+
+		assertThat(json.has("description")).isTrue();
+		assertThat(projection.variant(null)).isEqualTo(FieldProjection.ALL_FIELDS);
+		assertThat(projection.variant(List.of("b", "a", "b"))).isEqualTo("a,b");
+	}
+
+	@Test
+	void rejectsUnknownFields() {
+		assertThatThrownBy(() -> projection.write(course(), Course.class, List.of("nope")))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("nope");
+	}
+
+	private static Course course() {
+		return Course.builder()
+				.courseId(1L)
+				.courseName("Java Basics")
+				.courseUrl("https://example.com/java")
+				.description("A long description")
+				.provider(Provider.Udemy)
+				.level(Level.Beginner)
+				.build();
+	}
+}
@@ -0,0 +1,102 @@
+package com.abovebytes.mcp.search;
+
+import com.abovebytes.mcp.entities.Course;
+import com.abovebytes.mcp.models.CourseSelector;
+import com.abovebytes.mcp.models.Level;
+import com.abovebytes.mcp.models.Provider;
+import com.abovebytes.mcp.repositories.CourseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CourseSearchIndexTests {
+
+	private CourseSearchIndex index;
+
+	@BeforeEach
+	void setUp() {
+		index = new CourseSearchIndex(null);
+		index.index(course(1L, "Java Basics", "Learn the fundamentals of the Java language", Provider.Udemy, Level.Beginner));
+		index.index(course(2L, "Spring Boot in Depth", "Build Java services with Spring Boot and JPA", Provider.Coursera, Level.Advanced));
+		index.index(course(3L, "Python for Data", "Pandas, numpy and a little Java interop", Provider.Udemy, Level.Intermediate));
+	}
+
+	@Test
+	void titleMatchesRankFirst() {
+		List<CourseSearchIndex.Hit> hits = index.search("java", 10, null, null);
+
+		assertThat(hits).extracting(CourseSearchIndex.Hit::courseId).containsExactlyInAnyOrder(1L, 2L, 3L);
+		assertThat(hits.get(0).courseId()).isEqualTo(1L);
+	}
+
+	@Test
+	void filtersAndTopKAreApplied() {
+		assertThat(index.search("java", 10, Provider.Udemy, null))
+				.extracting(CourseSearchIndex.Hit::courseId).containsExactlyInAnyOrder(1L, 3L);
+		assertThat(index.search("java", 1, null, Level.Advanced))
+				.extracting(CourseSearchIndex.Hit::courseId).containsExactly(2L);
+	}
+
+	@Test
+	void reindexAndRemoveKeepPostingsCurrent() {
+		index.index(course(1L, "Kotlin Basics", "Learn the fundamentals of Kotlin", Provider.Udemy, Level.Beginner));
+		index.remove(2L);
+
+		assertThat(index.search("java", 10, null, null)).extracting(CourseSearchIndex.Hit::courseId).containsExactly(3L);
+		assertThat(index.search("kotlin", 10, null, null)).extracting(CourseSearchIndex.Hit::courseId).containsExactly(1L);
+		assertThat(index.size()).isEqualTo(2);
+	}
+
+	@Test
+	void selectorRemovalMatchesLikeTheBulkOperations() {
+		index.remove(new CourseSelector(Provider.Udemy, null, List.of("JAVA BASICS", "Spring Boot in Depth"), null));
+
+		assertThat(index.search("java", 10, null, null)).extracting(CourseSearchIndex.Hit::courseId).containsExactlyInAnyOrder(2L, 3L);
+
+		index.remove(new CourseSelector(null, null, null, null));
+		assertThat(index.size()).isEqualTo(2);
+	}
+
+	@Test
+	void writesDuringARebuildSurviveTheSwap() {
+		// The table as the rebuild reads it, before the writes below are applied
+		List<Course> table = List.of(
+				course(1L, "Java Basics", "Learn the fundamentals of the Java language", Provider.Udemy, Level.Beginner),
+				course(2L, "Spring Boot in Depth", "Build Java services with Spring Boot and JPA", Provider.Coursera, Level.Advanced));
+		CourseSearchIndex[] rebuilding = new CourseSearchIndex[1];
+		CourseRepository repository = (CourseRepository) Proxy.newProxyInstance(getClass().getClassLoader(),
+				new Class<?>[]{CourseRepository.class}, (proxy, method, args) -> {
+					if (!method.getName().equals("findByDeletedFalseAndCourseIdGreaterThanOrderByCourseIdAsc")) {
+						throw new UnsupportedOperationException(method.getName());
+					}
+					// Writes that commit while the page is being read
+					rebuilding[0].index(course(1L, "Kotlin Basics", "Learn the fundamentals of Kotlin", Provider.Udemy, Level.Beginner));
+					rebuilding[0].remove(2L);
+					rebuilding[0].index(course(4L, "Go Basics", "Learn Go", Provider.Udemy, Level.Beginner));
+					return table;
+				});
+		rebuilding[0] = new CourseSearchIndex(repository);
+
+		rebuilding[0].rebuild();
+
+		assertThat(rebuilding[0].search("kotlin", 10, null, null)).extracting(CourseSearchIndex.Hit::courseId).containsExactly(1L);
+		assertThat(rebuilding[0].search("java", 10, null, null)).isEmpty();
+		assertThat(rebuilding[0].search("go", 10, null, null)).extracting(CourseSearchIndex.Hit::courseId).containsExactly(4L);
+		assertThat(rebuilding[0].size()).isEqualTo(2);
+	}
+
+	private static Course course(Long id, String title, String description, Provider provider, Level level) {
+		return Course.builder()
+				.courseId(id)
+				.courseName(title)
+				.description(description)
+				.provider(provider)
+				.level(level)
+				.deleted(false)
+				.build();
+	}
+}
@@ -0,0 +1,92 @@
+package com.abovebytes.mcp.services;
+
+import com.abovebytes.mcp.McpServerApplication;
+import com.abovebytes.mcp.entities.Course;
+import com.abovebytes.mcp.entities.User;
+import com.abovebytes.mcp.models.CourseDimension;
+import com.abovebytes.mcp.models.CourseEnrollmentCount;
+import com.abovebytes.mcp.models.DistributionBucket;
+import com.abovebytes.mcp.models.Level;
+import com.abovebytes.mcp.models.Provider;
+import com.abovebytes.mcp.models.RoleValue;
+import com.abovebytes.mcp.repositories.CourseRepository;
+import com.abovebytes.mcp.repositories.EnrollmentRepository;
+import com.abovebytes.mcp.repositories.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static com.abovebytes.mcp.TestData.course;
+import static com.abovebytes.mcp.TestData.user;
+import static com.abovebytes.mcp.TestData.enrollment;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest(classes = McpServerApplication.class)
+@ActiveProfiles("test")
+class AnalyticsServiceTests {
+
+	@Autowired
+	private AnalyticsService analyticsService;
+	@Autowired
+	private CourseService courseService;
+	@Autowired
+	private CourseRepository courseRepository;
+	@Autowired
+	private UserRepository userRepository;
+	@Autowired
+	private EnrollmentRepository enrollmentRepository;
+
+	private Course java;
+	private Course spring;
+
+	@BeforeEach
+	void setUp() {
+		enrollmentRepository.deleteAll();
+		courseRepository.deleteAll();
+		userRepository.deleteAll();
+		java = courseRepository.save(course("Java Basics", Provider.Udemy, Level.Beginner, 4.1));
+		spring = courseRepository.save(course("Spring Boot", Provider.Udemy, Level.Advanced, 4.8));
+		courseRepository.save(course("Python", Provider.Coursera, Level.Beginner, 3.9));
+		User teacher = userRepository.save(user("teacher@example.com", RoleValue.INSTRUCTOR));
+		for (int i = 0; i < 3; i++) {
+			User student = userRepository.save(user("student" + i + "@example.com", RoleValue.STUDENT));
+			enrollmentRepository.save(enrollment(student, teacher, java, i != 0));
+			if (i == 0) {
+				enrollmentRepository.save(enrollment(student, teacher, spring, true));
+			}
+		}
+	}
+
+	@Test
+	void enrollmentsAreCountedPerCourseBusiestFirst() {
+		List<CourseEnrollmentCount> counts = analyticsService.enrollmentsPerCourseTool(null);
+
+		assertThat(counts).containsExactly(
+				new CourseEnrollmentCount(java.getCourseId(), "Java Basics", 3, 2),
+				new CourseEnrollmentCount(spring.getCourseId(), "Spring Boot", 1, 1));
+		assertThat(analyticsService.enrollmentsPerTeacherTool(1).get(0).courses()).isEqualTo(2);
+	}
+
+	@Test
+	void distributionAndTopRatedRunInTheDatabase() {
+		assertThat(analyticsService.courseDistributionTool(CourseDimension.PROVIDER))
+				.extracting(DistributionBucket::value, DistributionBucket::courses)
+				.containsExactly(tuple("Udemy", 2L), tuple("Coursera", 1L));
+		assertThat(analyticsService.topRatedCoursesTool(1, Provider.Udemy, null).get(0).title()).isEqualTo("Spring Boot");
+	}
+
+	@Test
+	void countersFollowWriteTools() {
+		long before = courseService.countCoursesTool();
+		courseService.addCourse("Kotlin", "Kotlin for Java developers", Provider.Udemy, Level.Intermediate);
+		courseService.deleteCourseByTitle("Python");
+		courseService.addCourse("Go", "Go in practice", Provider.Udemy, Level.Beginner);
+
+		assertThat(courseService.countCoursesTool()).isEqualTo(before + 1);
+	}
+}
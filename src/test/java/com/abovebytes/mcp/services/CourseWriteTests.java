@@ -0,0 +1,173 @@
+package com.abovebytes.mcp.services;
+
+import com.abovebytes.mcp.McpServerApplication;
+import com.abovebytes.mcp.entities.Course;
+import com.abovebytes.mcp.models.BulkResult;
+import com.abovebytes.mcp.models.Level;
+import com.abovebytes.mcp.models.Provider;
+import com.abovebytes.mcp.models.RoleValue;
+import com.abovebytes.mcp.repositories.CourseRepository;
+import com.abovebytes.mcp.repositories.EnrollmentRepository;
+import com.abovebytes.mcp.repositories.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(classes = McpServerApplication.class)
+@ActiveProfiles("test")
+class CourseWriteTests {
+
+	@Autowired
+	private CourseService courseService;
+	@Autowired
+	private UserService userService;
+	@Autowired
+	private CourseRepository courseRepository;
+	@Autowired
+	private UserRepository userRepository;
+	@Autowired
+	private EnrollmentRepository enrollmentRepository;
+
+	@BeforeEach
+	void setUp() {
+		enrollmentRepository.deleteAll();
+		courseRepository.deleteAll();
+		userRepository.deleteAll();
+	}
+
+	@Test
+	void concurrentAddsOfTheSameCourseCreateExactlyOne() throws Exception {
+		int callers = 8;
+		ExecutorService pool = Executors.newFixedThreadPool(callers);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<Boolean>> results = new ArrayList<>();
+		for (int i = 0; i < callers; i++) {
+			results.add(pool.submit(() -> {
+				start.await();
+				try {
+					courseService.addCourse("Race", "same course", Provider.Udemy, Level.Beginner);
+					return true;
+				} catch (IllegalStateException conflict) {
+					assertThat(conflict).hasMessageContaining("already exists");
+					return false;
+				}
+			}));
+		}
+		start.countDown();
+		int created = 0;
+		for (Future<Boolean> result : results) {
+			created += result.get() ? 1 : 0;
+		}
+		pool.shutdown();
+
+		assertThat(created).isEqualTo(1);
+		assertThat(courseRepository.count()).isEqualTo(1);
+	}
+
+	@Test
+	void staleVersionIsReportedAsConflict() {
+		Course course = courseService.addCourse("Versioned", "v", Provider.Udemy, Level.Beginner);
+		assertThat(course.getVersion()).isZero();
+
+		assertThat(courseService.updateCourseUrl("Versioned", "https://example.com/1", 0L, null, null)).isEqualTo(new BulkResult("update_url", 1));
+		assertThatThrownBy(() -> courseService.updateCourseUrl("Versioned", "https://example.com/2", 0L, null, null))
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessageContaining("version 1, not 0");
+		assertThat(courseService.updateCourseTitle("Versioned", "Renamed", null, null, null)).isEqualTo(new BulkResult("update_title", 1));
+
+		Course renamed = courseRepository.findByCourseNameKeyAndDeletedFalse("renamed").orElseThrow();
+		assertThat(renamed.getCourseUrl()).isEqualTo("https://example.com/1");
+		assertThat(renamed.getVersion()).isEqualTo(2);
+		assertThat(courseService.updateCourseUrl("Versioned", "https://example.com/3", 2L, null, null).affectedRows()).isZero();
+	}
+
+	@Test
+	void updatesTouchOnlyTheChosenCourse() {
+		Course udemy = courseService.addCourse("Shared", "u", Provider.Udemy, Level.Beginner);
+		Course coursera = courseService.addCourse("Shared", "c", Provider.Coursera, Level.Beginner);
+
+		assertThatThrownBy(() -> courseService.updateCourseUrl("Shared", "https://example.com/x", null, null, null))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("pass provider");
+		assertThat(courseService.updateCourseUrl("Shared", "https://example.com/x", 0L, Provider.Coursera, null))
+				.isEqualTo(new BulkResult("update_url", 1));
+		assertThat(courseService.updateCourseTitle("shared", "Shared Udemy", null, Provider.Udemy, Level.Beginner))
+				.isEqualTo(new BulkResult("update_title", 1));
+
+		// Each update changed only the course it picked
+		Course renamed = courseRepository.findById(udemy.getCourseId()).orElseThrow();
+		assertThat(renamed.getCourseName()).isEqualTo("Shared Udemy");
+		assertThat(renamed.getCourseUrl()).isNotEqualTo("https://example.com/x");
+		Course moved = courseRepository.findById(coursera.getCourseId()).orElseThrow();
+		assertThat(moved.getCourseName()).isEqualTo("Shared");
+		assertThat(moved.getCourseUrl()).isEqualTo("https://example.com/x");
+		assertThat(moved.getVersion()).isEqualTo(1);
+	}
+
+	@Test
+	void renamesAreValidated() {
+		courseService.addCourse("Original", "o", Provider.Udemy, Level.Beginner);
+		courseService.addCourse("Taken", "t", Provider.Udemy, Level.Beginner);
+
+		assertThatThrownBy(() -> courseService.updateCourseTitle("Original", " ", null, null, null))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("newTitle is required");
+		assertThatThrownBy(() -> courseService.updateCourseTitle("Original", "x".repeat(256), null, null, null))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("at most 255");
+		assertThatThrownBy(() -> courseService.updateCourseTitle("Original", "TAKEN", null, null, null))
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessageContaining("already exists");
+		assertThat(courseService.updateCourseTitle("Original", "x".repeat(255), null, null, null))
+				.isEqualTo(new BulkResult("update_title", 1));
+	}
+
+	@Test
+	void addsAreValidatedAndOnlyKeyViolationsAreDuplicates() {
+		assertThatThrownBy(() -> courseService.addCourse(" ", "d", Provider.Udemy, Level.Beginner))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("title is required");
+		assertThatThrownBy(() -> courseService.addCourse("x".repeat(256), "d", Provider.Udemy, Level.Beginner))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("at most 255");
+		assertThatThrownBy(() -> courseService.addCourse("No level", "d", Provider.Udemy, null))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("provider and level are required");
+		assertThatThrownBy(() -> userService.createUser("x".repeat(101), "long@example.com", RoleValue.STUDENT))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("at most 100");
+		assertThat(courseRepository.count()).isZero();
+		assertThat(userRepository.count()).isZero();
+
+		Course added = courseService.addCourse("Once", "d", Provider.Udemy, Level.Beginner);
+		assertThatThrownBy(() -> courseService.addCourse("ONCE", "d", Provider.Udemy, Level.Beginner))
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessageContaining("already exists (ID: " + added.getCourseId() + ")");
+	}
+
+	@Test
+	void duplicateUsersAreRejected() {
+		userService.createUser("Ada", "ada@example.com", RoleValue.STUDENT);
+
+		assertThatThrownBy(() -> userService.createUser("Ada again", "ADA@example.com", RoleValue.STUDENT))
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessageContaining("already exists");
+		assertThatThrownBy(() -> userService.createUser("Ada again", "ada@example.com", RoleValue.STUDENT))
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessageContaining("already exists");
+		assertThat(userService.deactivateUser("ada@example.com")).endsWith("deactivated");
+		assertThat(userService.deactivateUser("ada@example.com")).startsWith("No active user");
+	}
+}
@@ -0,0 +1,126 @@
+package com.abovebytes.mcp.services;
+
+import com.abovebytes.mcp.McpServerApplication;
+import com.abovebytes.mcp.models.EnrollmentBatchResult;
+import com.abovebytes.mcp.models.Level;
+import com.abovebytes.mcp.models.Provider;
+import com.abovebytes.mcp.repositories.CourseRepository;
+import com.abovebytes.mcp.repositories.EnrollmentRepository;
+import com.abovebytes.mcp.repositories.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.abovebytes.mcp.TestData.course;
+import static com.abovebytes.mcp.TestData.user;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(classes = McpServerApplication.class)
+@ActiveProfiles("test")
+class EnrollmentWriteTests {
+
+	@Autowired
+	private EnrollmentService enrollmentService;
+	@Autowired
+	private CourseRepository courseRepository;
+	@Autowired
+	private UserRepository userRepository;
+	@Autowired
+	private EnrollmentRepository enrollmentRepository;
+
+	@BeforeEach
+	void setUp() {
+		enrollmentRepository.deleteAll();
+		courseRepository.deleteAll();
+		userRepository.deleteAll();
+		courseRepository.save(course("Java Basics", Provider.Udemy, Level.Beginner));
+		courseRepository.save(course("Shared Title", Provider.Udemy, Level.Beginner));
+		courseRepository.save(course("Shared Title", Provider.Coursera, Level.Beginner));
+		userRepository.save(user("teacher@example.com"));
+		for (int i = 0; i < 3; i++) {
+			userRepository.save(user("s" + i + "@example.com"));
+		}
+	}
+
+	@Test
+	void cohortEnrollmentIsIdempotent() {
+		List<String> cohort = List.of("s0@example.com", "S1@example.com", "s2@example.com", "Ghost@Example.com");
+
+		EnrollmentBatchResult first = enrollmentService.enrollBatchTool(cohort, "teacher@example.com", "java basics", null, null);
+		assertThat(first.affected()).isEqualTo(3);
+		assertThat(first.unknownStudents()).containsExactly("Ghost@Example.com");
+
+		EnrollmentBatchResult again = enrollmentService.enrollBatchTool(cohort, "teacher@example.com", "Java Basics", null, null);
+		assertThat(again.affected()).isZero();
+		assertThat(again.unchanged()).isEqualTo(3);
+		assertThat(enrollmentRepository.count()).isEqualTo(3);
+	}
+
+	@Test
+	void unenrollThenReenrollReactivates() {
+		enrollmentService.enrollTool("s0@example.com", "teacher@example.com", "Java Basics", null, null);
+
+		assertThat(enrollmentService.unenrollTool("s0@example.com", "Java Basics", null, null, null).affected()).isEqualTo(1);
+		assertThat(enrollmentService.unenrollTool("s0@example.com", "Java Basics", null, null, null).unchanged()).isEqualTo(1);
+		assertThat(enrollmentService.enrollTool("s0@example.com", "teacher@example.com", "Java Basics", null, null).affected()).isEqualTo(1);
+		assertThat(enrollmentRepository.findAll()).singleElement().matches(e -> e.isActive());
+	}
+
+	@Test
+	void concurrentEnrollmentsOfTheSameCohortDoNotFail() throws Exception {
+		List<String> cohort = List.of("s0@example.com", "s1@example.com", "s2@example.com");
+		ExecutorService pool = Executors.newFixedThreadPool(6);
+		try {
+			CountDownLatch start = new CountDownLatch(1);
+			List<Future<EnrollmentBatchResult>> calls = new ArrayList<>();
+			for (int i = 0; i < 6; i++) {
+				calls.add(pool.submit(() -> {
+					start.await();
+					return enrollmentService.enrollBatchTool(cohort, "teacher@example.com", "Java Basics", null, null);
+				}));
+			}
+			start.countDown();
+			int affected = 0;
+			for (Future<EnrollmentBatchResult> call : calls) {
+				affected += call.get(30, TimeUnit.SECONDS).affected();
+			}
+			assertThat(affected).isEqualTo(3);
+			assertThat(enrollmentRepository.count()).isEqualTo(3);
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	@Test
+	void unenrollWithoutTeacherCountsStudentsAndRowsSeparately() {
+		userRepository.save(user("teacher2@example.com"));
+		enrollmentService.enrollTool("s0@example.com", "teacher@example.com", "Java Basics", null, null);
+		enrollmentService.enrollTool("s0@example.com", "teacher2@example.com", "Java Basics", null, null);
+
+		EnrollmentBatchResult result = enrollmentService.unenrollBatchTool(List.of("s0@example.com", "s1@example.com"), "Java Basics", null, null, null);
+		assertThat(result.affected()).isEqualTo(1);
+		assertThat(result.unchanged()).isEqualTo(1);
+		assertThat(result.affectedRows()).isEqualTo(2);
+	}
+
+	@Test
+	void ambiguousOrUnknownKeysFailClearly() {
+		assertThatThrownBy(() -> enrollmentService.enrollTool("s0@example.com", "teacher@example.com", "Shared Title", null, null))
+				.hasMessageContaining("pass provider");
+		assertThat(enrollmentService.enrollTool("s0@example.com", "teacher@example.com", "Shared Title", Provider.Coursera, null).affected())
+				.isEqualTo(1);
+		assertThatThrownBy(() -> enrollmentService.enrollTool("s0@example.com", "nobody@example.com", "Java Basics", null, null))
+				.hasMessageContaining("teacher email");
+	}
+}
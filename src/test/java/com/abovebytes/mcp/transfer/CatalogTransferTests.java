@@ -0,0 +1,148 @@
+package com.abovebytes.mcp.transfer;
+
+import com.abovebytes.mcp.McpServerApplication;
+import com.abovebytes.mcp.entities.CatalogChange;
+import com.abovebytes.mcp.models.CatalogEntity;
+import com.abovebytes.mcp.models.ExportResult;
+import com.abovebytes.mcp.models.ImportResult;
+import com.abovebytes.mcp.models.RejectedRow;
+import com.abovebytes.mcp.models.TransferFormat;
+import com.abovebytes.mcp.repositories.CatalogChangeRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(classes = McpServerApplication.class, properties = {
+		"mcp.transfer.directory=${java.io.tmpdir}/mcp-transfer-tests",
+		"mcp.transfer.batch-size=2"
+})
+@ActiveProfiles("test")
+class CatalogTransferTests {
+
+	@Autowired
+	private CatalogImporter importer;
+	@Autowired
+	private CatalogExporter exporter;
+	@Autowired
+	private CatalogChangeRepository changeRepository;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Value("${mcp.transfer.directory}")
+	private Path directory;
+
+	@Test
+	void importsInBatchesAndReportsRejectedRows() throws Exception {
+		write("courses.csv",
+				"title,description,provider,level,rating",
+				"Java Basics,\"Variables, loops and classes\",Udemy,Beginner,4.5",
+				"Spring Boot,Web apps,coursera,Advanced,",
+				"java basics,Same course again,Udemy,Beginner,4.0",
+				"Broken,No level,Udemy,,",
+				"Python,Data,Udemy,Beginner,9");
+		write("users.ndjson",
+				"{\"fullName\":\"Ada\",\"email\":\"ada@example.com\",\"role\":\"STUDENT\"}",
+				"{\"fullName\":\"Alan\",\"email\":\"alan@example.com\",\"role\":\"INSTRUCTOR\"}",
+				"not json");
+		write("enrollments.ndjson",
+				"{\"studentEmail\":\"ADA@example.com\",\"teacherEmail\":\"alan@example.com\",\"courseTitle\":\"Java Basics\"}",
+				"{\"studentEmail\":\"ada@example.com\",\"teacherEmail\":\"alan@example.com\",\"courseTitle\":\"Java Basics\"}",
+				"{\"studentEmail\":\"nobody@example.com\",\"teacherEmail\":\"alan@example.com\",\"courseTitle\":\"Java Basics\"}");
+
+		ImportResult courses = importer.importFile(CatalogEntity.COURSES, "courses.csv", null);
+		assertThat(courses.inserted()).isEqualTo(2);
+		assertThat(courses.rejections()).extracting(RejectedRow::line).containsExactlyInAnyOrder(4L, 5L, 6L);
+		assertThat(courses.batches()).isEqualTo(2);
+
+		assertThat(importer.importFile(CatalogEntity.USERS, "users.ndjson", null).inserted()).isEqualTo(2);
+		ImportResult enrollments = importer.importFile(CatalogEntity.ENROLLMENTS, "enrollments.ndjson", TransferFormat.NDJSON);
+		assertThat(enrollments.inserted()).isEqualTo(1);
+		assertThat(enrollments.rejected()).isEqualTo(2);
+
+		ExportResult export = exporter.exportFile(CatalogEntity.COURSES, "out/courses.ndjson", null);
+		assertThat(export.rows()).isEqualTo(2);
+		List<String> lines = Files.readAllLines(directory.resolve("out/courses.ndjson"));
+		assertThat(lines).hasSize(2);
+		assertThat(lines.get(0)).contains("\"title\":\"Java Basics\"", "\"provider\":\"Udemy\"");
+
+		ExportResult csv = exporter.exportFile(CatalogEntity.ENROLLMENTS, "out/enrollments.csv", null);
+		assertThat(Files.readAllLines(directory.resolve("out/enrollments.csv")))
+				.first().isEqualTo("studentEmail,teacherEmail,courseTitle,enrolledAt,active");
+		assertThat(csv.rows()).isEqualTo(1);
+	}
+
+	@Test
+	void batchesCommittedBeforeAFailedReadAreLogged() throws Exception {
+		long before = changeRepository.currentVersion();
+		Files.createDirectories(directory);
+		// Enough good rows to commit batches before the reader buffer reaches the bytes that are not UTF-8
+		StringBuilder good = new StringBuilder();
+		for (int i = 0; i < 400; i++) {
+			good.append("{\"fullName\":\"Bulk ").append(i).append("\",\"email\":\"bulk").append(i).append("@example.com\"}\n");
+		}
+		byte[] text = good.toString().getBytes(StandardCharsets.UTF_8);
+		byte[] file = Arrays.copyOf(text, text.length + 2);
+		file[text.length] = (byte) 0xC3;
+		file[text.length + 1] = (byte) 0x28;
+		Files.write(directory.resolve("broken.ndjson"), file);
+
+		assertThatThrownBy(() -> importer.importFile(CatalogEntity.USERS, "broken.ndjson", null))
+				.isInstanceOf(UncheckedIOException.class);
+		List<CatalogChange> logged = changeRepository.findAll().stream()
+				.filter(change -> change.getVersion() > before)
+				.toList();
+		assertThat(logged).isNotEmpty().allMatch(change -> change.getOperation().equals("import")
+				&& change.getDetail().equals("file=broken.ndjson"));
+		Long inserted = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM app_user WHERE email LIKE 'bulk%'", Long.class);
+		assertThat(logged.stream().mapToLong(CatalogChange::getAffected).sum()).isEqualTo(inserted).isPositive();
+	}
+
+	@Test
+	void quotedLineBreaksSurviveACsvRoundTrip() throws Exception {
+		String description = "Line one,\nline \"two\"\r\nline three";
+		String csv = String.join("\n",
+				CsvCodec.format(List.of("title", "description")),
+				CsvCodec.format(List.of("Java Basics", description)),
+				CsvCodec.format(List.of("Spring Boot", "web")),
+				"\"Broken,never closed");
+
+		RowReader rows = new RowReader(new BufferedReader(new StringReader(csv)), TransferFormat.CSV, new ObjectMapper());
+		RowReader.Row first = rows.next();
+		assertThat(first.line()).isEqualTo(2);
+		assertThat(first.values()).containsEntry("title", "Java Basics")
+				.containsEntry("description", "Line one,\nline \"two\"\nline three");
+		RowReader.Row second = rows.next();
+		assertThat(second.line()).isEqualTo(5);
+		assertThat(second.values()).containsEntry("title", "Spring Boot");
+		RowReader.Row broken = rows.next();
+		assertThat(broken.line()).isEqualTo(6);
+		assertThat(broken.error()).contains("Unterminated quoted field");
+		assertThat(rows.next()).isNull();
+	}
+
+	@Test
+	void filesOutsideTheTransferDirectoryAreRejected() {
+		assertThatThrownBy(() -> importer.importFile(CatalogEntity.USERS, "../etc/passwd", null))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private void write(String file, String... lines) throws Exception {
+		Files.createDirectories(directory);
+		Files.write(directory.resolve(file), List.of(lines));
+	}
+}
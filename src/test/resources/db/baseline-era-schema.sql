@@ -0,0 +1,55 @@
+-- Schema ddl-auto=update generated for the entities before db/migration existed, with a few rows.
+
+CREATE TABLE app_user (
+    user_id    BIGINT       NOT NULL AUTO_INCREMENT,
+    active     BIT          NOT NULL,
+    created_at DATETIME(6)  NOT NULL,
+    email      VARCHAR(150) NOT NULL,
+    full_name  VARCHAR(100) NOT NULL,
+    role       ENUM ('ADMIN', 'INSTRUCTOR', 'STUDENT', 'UNKNOWN'),
+    updated_at DATETIME(6),
+    PRIMARY KEY (user_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE course (
+    id               BIGINT       NOT NULL AUTO_INCREMENT,
+    active           BIT          NOT NULL,
+    course_name      VARCHAR(255) NOT NULL,
+    course_url       VARCHAR(255) NOT NULL,
+    created_at       DATETIME(6)  NOT NULL,
+    deleted          BIT          NOT NULL,
+    description      TEXT,
+    duration_minutes INTEGER,
+    language         VARCHAR(10),
+    level            ENUM ('Advanced', 'Beginner', 'Intermediate'),
+    provider         ENUM ('Coursera', 'FreeCodeCamp', 'Udemy', 'YouTube'),
+    rating           FLOAT(53),
+    updated_at       DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE enrollments (
+    id          BIGINT NOT NULL AUTO_INCREMENT,
+    active      BIT    NOT NULL,
+    enrolled_at DATETIME(6),
+    course_id   BIGINT NOT NULL,
+    student_id  BIGINT NOT NULL,
+    teacher_id  BIGINT NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE INDEX idx_course_name ON course (course_name);
+CREATE INDEX idx_course_active ON course (active);
+ALTER TABLE app_user ADD CONSTRAINT idx_user_email UNIQUE (email);
+CREATE INDEX idx_user_active ON app_user (active);
+ALTER TABLE enrollments ADD CONSTRAINT FK6lp4v0h8uycpt0s3tgoy63bxp FOREIGN KEY (course_id) REFERENCES course (id);
+ALTER TABLE enrollments ADD CONSTRAINT FKkp2m0q4u7sbcg4yj1v0cq0k8b FOREIGN KEY (student_id) REFERENCES app_user (user_id);
+ALTER TABLE enrollments ADD CONSTRAINT FKq1b9vx3ubu2q2hrxbgns6x1fl FOREIGN KEY (teacher_id) REFERENCES app_user (user_id);
+
+INSERT INTO app_user (active, created_at, email, full_name, role) VALUES
+    (TRUE, '2024-01-01 00:00:00', 'Ada@Example.com', 'Ada', 'STUDENT'),
+    (TRUE, '2024-01-01 00:00:00', 'Grace@Example.com', 'Grace', 'INSTRUCTOR');
+INSERT INTO course (active, course_name, course_url, created_at, deleted, provider, level, rating) VALUES
+    (TRUE, 'Java Basics', 'https://example.com/java', '2024-01-01 00:00:00', FALSE, 'Udemy', 'Beginner', 4.5);
+INSERT INTO enrollments (active, enrolled_at, course_id, student_id, teacher_id) VALUES
+    (TRUE, '2024-01-02 00:00:00', 1, 1, 2);